@@ -0,0 +1,97 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.entity.Certificate;
+import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import com.onlinecourses.OnlineCourseSystem.entity.Enrollment;
+import com.onlinecourses.OnlineCourseSystem.entity.User;
+import com.onlinecourses.OnlineCourseSystem.entity.UserRole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Deterministic in-memory entities for the benchmarks (no database, no Spring context)
+final class BenchmarkData {
+
+    private static final String[] CATEGORIES = {"Programming", "Design", "Business", "Data Science", "Marketing"};
+    private static final String[] LEVELS = {"Beginner", "Intermediate", "Advanced"};
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private BenchmarkData() {}
+
+    static List<Course> courses(int size) {
+        List<User> instructors = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            User instructor = new User("Instructor " + i, "instructor" + i + "@example.com", "secret", UserRole.INSTRUCTOR);
+            instructor.setId((long) i + 1);
+            instructors.add(instructor);
+        }
+        List<Course> courses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Course course = new Course();
+            course.setId((long) i + 1);
+            course.setTitle("Course " + i);
+            course.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            course.setDuration((4 + i % 8) + " weeks");
+            course.setBatch("Batch " + (i % 12));
+            course.setLevel(LEVELS[i % LEVELS.length]);
+            course.setPrice(BigDecimal.valueOf(1999 + (i % 100) * 100L, 2));
+            // Every 10th course has no instructor to exercise the fallback naming path
+            course.setInstructor(i % 10 == 0 ? null : instructors.get(i % instructors.size()));
+            int ratings = i % 40;
+            course.setTotalRatings(ratings);
+            course.setRatingSum(ratings * 4L);
+            course.setAverageRating(ratings > 0 ? new BigDecimal("4.00") : BigDecimal.ZERO);
+            course.setEnrolledStudents(ratings * 3);
+            course.setCreatedAt(BASE_TIME.plusMinutes(i));
+            course.setUpdatedAt(BASE_TIME.plusMinutes(i));
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    static List<Enrollment> enrollments(int size) {
+        List<Course> courses = courses(Math.min(size, 1_000));
+        List<Enrollment> enrollments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User student = new User("Student " + i, "student" + i + "@example.com", "secret", UserRole.STUDENT);
+            student.setId(10_000L + i);
+            Enrollment enrollment = new Enrollment(student, courses.get(i % courses.size()));
+            enrollment.setId((long) i + 1);
+            enrollment.setEnrollmentDate(BASE_TIME.plusHours(i));
+            boolean completed = i % 3 == 0;
+            enrollment.setCompleted(completed);
+            if (completed) {
+                enrollment.setCompletionDate(BASE_TIME.plusDays(30).plusHours(i));
+                enrollment.setRating(1 + i % 5);
+                enrollment.setFeedback("Feedback for enrollment " + i);
+                enrollment.setTestScore(7 + i % 4);
+                enrollment.setTotalQuestions(10);
+                enrollment.setPercentage((7 + i % 4) * 10.0);
+                enrollment.setPassed(true);
+            }
+            enrollments.add(enrollment);
+        }
+        return enrollments;
+    }
+
+    static List<Certificate> certificates(int size) {
+        List<Certificate> certificates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Certificate certificate = new Certificate();
+            certificate.setId((long) i + 1);
+            certificate.setCertificateId("CERT-" + (100_000 + i));
+            certificate.setStudentName("Student " + i);
+            certificate.setCourseTitle("Course " + (i % 1_000));
+            certificate.setCourseCategory(CATEGORIES[i % CATEGORIES.length]);
+            certificate.setInstructorName("Instructor " + (i % 50));
+            certificate.setIssueDate(BASE_TIME.plusDays(31).plusHours(i));
+            certificate.setCompletionDate(BASE_TIME.plusDays(30).plusHours(i));
+            certificate.setScore(70 + i % 31);
+            certificate.setCertificateUrl("/certificates/CERT-" + (100_000 + i));
+            certificates.add(certificate);
+        }
+        return certificates;
+    }
+}
@@ -0,0 +1,69 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.dto.CertificateResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.CourseResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.EnrollmentResponse;
+import com.onlinecourses.OnlineCourseSystem.entity.Certificate;
+import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import com.onlinecourses.OnlineCourseSystem.entity.Enrollment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> DTO conversion cost per list, as done by the list endpoints.
+// Run with -prof gc to see allocation per operation next to the throughput numbers.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DtoConversionBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private final CourseService courseService = new CourseService();
+    private final EnrollmentService enrollmentService = new EnrollmentService();
+    private final CertificateService certificateService = new CertificateService();
+
+    private List<Course> courses;
+    private List<Enrollment> enrollments;
+    private List<Certificate> certificates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        courses = BenchmarkData.courses(size);
+        enrollments = BenchmarkData.enrollments(size);
+        certificates = BenchmarkData.certificates(size);
+    }
+
+    @Benchmark
+    public List<CourseResponse> courseConvertToResponse() {
+        List<CourseResponse> responses = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            responses.add(courseService.convertToResponse(course));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<EnrollmentResponse> enrollmentConvertToResponse() {
+        List<EnrollmentResponse> responses = new ArrayList<>(enrollments.size());
+        for (Enrollment enrollment : enrollments) {
+            responses.add(enrollmentService.convertToResponse(enrollment));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<CertificateResponse> certificateConvertToResponse() {
+        List<CertificateResponse> responses = new ArrayList<>(certificates.size());
+        for (Certificate certificate : certificates) {
+            responses.add(certificateService.convertToResponse(certificate));
+        }
+        return responses;
+    }
+}
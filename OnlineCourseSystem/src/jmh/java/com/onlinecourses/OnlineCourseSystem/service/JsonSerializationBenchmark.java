@@ -0,0 +1,65 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.onlinecourses.OnlineCourseSystem.dto.CourseResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.EnrollmentResponse;
+import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import com.onlinecourses.OnlineCourseSystem.entity.Enrollment;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson cost of the response bodies, with a mapper configured like Spring Boot's
+// (JavaTimeModule, ISO dates). Output goes to a null stream so only serialization is measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<CourseResponse> courseResponses;
+    private List<EnrollmentResponse> enrollmentResponses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        writer = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+
+        CourseService courseService = new CourseService();
+        courseResponses = new ArrayList<>(size);
+        for (Course course : BenchmarkData.courses(size)) {
+            courseResponses.add(courseService.convertToResponse(course));
+        }
+
+        EnrollmentService enrollmentService = new EnrollmentService();
+        enrollmentResponses = new ArrayList<>(size);
+        for (Enrollment enrollment : BenchmarkData.enrollments(size)) {
+            enrollmentResponses.add(enrollmentService.convertToResponse(enrollment));
+        }
+    }
+
+    @Benchmark
+    public void serializeCourseResponses() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), courseResponses);
+    }
+
+    @Benchmark
+    public void serializeEnrollmentResponses() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), enrollmentResponses);
+    }
+}
@@ -0,0 +1,41 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// bcrypt cost per login (matches) and per signup / password change / rehash (encode) around the
+// configured app.security.password.bcrypt-strength. One login costs about one matches() of CPU; a core
+// therefore serves 1000 / (ms per op) logins per second, which is what the hashing pool size is sized against.
+//   mvn -Pbenchmarks compile exec:exec -Djmh.args="PasswordHashingBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @Param({"10", "11", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String storedHash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        storedHash = encoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("correct horse battery staple", storedHash);
+    }
+}
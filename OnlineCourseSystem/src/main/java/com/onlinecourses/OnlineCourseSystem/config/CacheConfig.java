@@ -0,0 +1,74 @@
+package com.onlinecourses.OnlineCourseSystem.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String COURSE_CATALOG = "courseCatalog";
+    public static final String COURSES_BY_CATEGORY = "coursesByCategory";
+    public static final String COURSE_DETAIL = "courseDetail";
+    // ✅ ADD: Public certificate verification (CertificateVerificationService): found ids, and ids known not to exist
+    public static final String CERTIFICATE_VERIFICATION = "certificateVerification";
+    public static final String CERTIFICATE_VERIFICATION_MISSES = "certificateVerificationMisses";
+
+    @Value("${app.cache.course-catalog.max-size:16}")
+    private long catalogMaxSize;
+
+    @Value("${app.cache.course-catalog.ttl:60s}")
+    private Duration catalogTtl;
+
+    @Value("${app.cache.courses-by-category.max-size:500}")
+    private long categoryMaxSize;
+
+    @Value("${app.cache.courses-by-category.ttl:60s}")
+    private Duration categoryTtl;
+
+    @Value("${app.cache.course-detail.max-size:10000}")
+    private long detailMaxSize;
+
+    @Value("${app.cache.course-detail.ttl:5m}")
+    private Duration detailTtl;
+
+    @Value("${app.cache.certificate-verification.max-size:100000}")
+    private long verificationMaxSize;
+
+    @Value("${app.cache.certificate-verification.ttl:1h}")
+    private Duration verificationTtl;
+
+    @Value("${app.cache.certificate-verification-misses.max-size:100000}")
+    private long verificationMissesMaxSize;
+
+    @Value("${app.cache.certificate-verification-misses.ttl:5m}")
+    private Duration verificationMissesTtl;
+
+    // Each cache is size-bounded (W-TinyLFU eviction) with its own TTL and records hit/miss/eviction stats
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(COURSE_CATALOG, buildCache(catalogMaxSize, catalogTtl));
+        cacheManager.registerCustomCache(COURSES_BY_CATEGORY, buildCache(categoryMaxSize, categoryTtl));
+        cacheManager.registerCustomCache(COURSE_DETAIL, buildCache(detailMaxSize, detailTtl));
+        cacheManager.registerCustomCache(CERTIFICATE_VERIFICATION, buildCache(verificationMaxSize, verificationTtl));
+        cacheManager.registerCustomCache(CERTIFICATE_VERIFICATION_MISSES, buildCache(verificationMissesMaxSize, verificationMissesTtl));
+        return cacheManager;
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> buildCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.onlinecourses.OnlineCourseSystem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends connections for @Transactional(readOnly = true) work to an available replica (round robin)
+// and everything else - writes, non-transactional calls, read-only calls joined to a read-write
+// transaction - to the primary. If no replica is available, or the chosen one refuses a connection,
+// the read falls back to the primary.
+// Must sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for a connection
+// before the read-only flag is bound, the proxy defers that until the first statement.
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    // One replica pool plus its last health check result, written by ReplicaHealthMonitor
+    public static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean available;
+        private volatile long lagSeconds = -1;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() { return name; }
+        public DataSource getDataSource() { return dataSource; }
+        public boolean isAvailable() { return available; }
+        public long getLagSeconds() { return lagSeconds; }
+
+        void update(boolean available, long lagSeconds, String reason) {
+            if (this.available != available) {
+                if (available) {
+                    log.info("Replica {} is available again (lag {}s)", name, lagSeconds);
+                } else {
+                    log.warn("Replica {} taken out of read rotation: {}", name, reason);
+                }
+            }
+            this.available = available;
+            this.lagSeconds = lagSeconds;
+        }
+    }
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<Replica> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    // Replica pools belong to this datasource; the primary is a bean of its own
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Replica replica = readReplica();
+        return replica != null ? replica.getName() : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = readReplica();
+        if (replica != null) {
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException e) {
+                // Don't fail the read; the monitor re-admits the replica once it answers again
+                replica.update(false, replica.getLagSeconds(), e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    // The replica for the current call, or null when it has to go to the primary
+    private Replica readReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicas.isEmpty()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica candidate = replicas.get((start + i) % replicas.size());
+            if (candidate.isAvailable()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,116 @@
+package com.onlinecourses.OnlineCourseSystem.config;
+
+import com.onlinecourses.OnlineCourseSystem.config.ReadReplicaRoutingDataSource.Replica;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Periodically checks each replica: can we get a valid connection, and is its replication lag
+// within maxLag? Replicas start out of rotation and join after their first good check.
+public class ReplicaHealthMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final String lagQuery;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaHealthMonitor(List<Replica> replicas, Duration maxLag, Duration checkInterval, String lagQuery) {
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        this.lagQuery = lagQuery;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkAll, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public void checkAll() {
+        for (Replica replica : replicas) {
+            try {
+                check(replica);
+            } catch (RuntimeException e) {
+                replica.update(false, replica.getLagSeconds(), e.getMessage());
+            }
+        }
+    }
+
+    private void check(Replica replica) {
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                replica.update(false, -1, "connection is not valid");
+                return;
+            }
+            if (lagQuery == null || lagQuery.isBlank()) {
+                replica.update(true, 0, null);
+                return;
+            }
+            Long lag = readLagSeconds(connection);
+            if (lag == null) {
+                replica.update(false, -1, "replication is not running");
+            } else if (lag > maxLag.toSeconds()) {
+                replica.update(false, lag, "lag " + lag + "s exceeds " + maxLag.toSeconds() + "s");
+            } else {
+                replica.update(true, lag, null);
+            }
+        } catch (SQLException e) {
+            log.debug("Replica {} check failed: {}", replica.getName(), e.getMessage());
+            replica.update(false, -1, e.getMessage());
+        }
+    }
+
+    // null = replication stopped/broken; an empty status (not configured as a replica) counts as no lag
+    private Long readLagSeconds(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return 0L;
+            }
+            Object value;
+            if (lagQuery.trim().toUpperCase().startsWith("SHOW")) {
+                value = hasColumn(rs, "Seconds_Behind_Source") ? rs.getObject("Seconds_Behind_Source")
+                        : rs.getObject("Seconds_Behind_Master");
+            } else {
+                value = rs.getObject(1);
+            }
+            if (value == null) {
+                return null;
+            }
+            return value instanceof Number number ? number.longValue() : Long.parseLong(value.toString().trim());
+        }
+    }
+
+    private static boolean hasColumn(ResultSet rs, String column) throws SQLException {
+        for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+            if (column.equalsIgnoreCase(rs.getMetaData().getColumnLabel(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,116 @@
+package com.onlinecourses.OnlineCourseSystem.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Startup drift check: every @Index declared on an entity's @Table must exist in the live schema
+// with the same columns in the same order. The migrations create them; this catches a database that
+// was restored, hand-edited or migrated out of band.
+//   app.schema.index-check=fail|warn|off
+@Component
+public class SchemaIndexVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaIndexVerifier.class);
+
+    // Injecting the EntityManagerFactory makes this run after Flyway has migrated the schema
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.schema.index-check:fail}")
+    private String mode;
+
+    @PostConstruct
+    public void verify() {
+        String checkMode = mode.trim().toLowerCase(Locale.ROOT);
+        if ("off".equals(checkMode)) {
+            return;
+        }
+
+        List<String> problems = new ArrayList<>();
+        int checked = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+                Table table = entity.getJavaType().getAnnotation(Table.class);
+                if (table == null || table.indexes().length == 0) {
+                    continue;
+                }
+                Map<String, List<String>> liveIndexes = readIndexes(connection, metaData, table.name());
+                for (Index index : table.indexes()) {
+                    checked++;
+                    List<String> expected = parseColumns(index.columnList());
+                    List<String> actual = liveIndexes.get(index.name().toLowerCase(Locale.ROOT));
+                    if (actual == null) {
+                        problems.add(table.name() + "." + index.name() + " is missing");
+                    } else if (!actual.equals(expected)) {
+                        problems.add(table.name() + "." + index.name() + " is on " + actual + ", expected " + expected);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read index metadata: " + e.getMessage(), e);
+        }
+
+        if (problems.isEmpty()) {
+            log.info("Schema index check passed ({} indexes)", checked);
+            return;
+        }
+        String message = "Schema has drifted from the declared indexes: " + String.join("; ", problems);
+        if ("warn".equals(checkMode)) {
+            log.warn(message);
+        } else {
+            throw new IllegalStateException(message + " - run the pending migrations or set app.schema.index-check=warn");
+        }
+    }
+
+    // index name (lower case) -> columns in key order (lower case)
+    private static Map<String, List<String>> readIndexes(Connection connection, DatabaseMetaData metaData,
+                                                         String tableName) throws SQLException {
+        String table = metaData.storesUpperCaseIdentifiers() ? tableName.toUpperCase(Locale.ROOT) : tableName;
+        Map<String, TreeMap<Short, String>> columnsByIndex = new TreeMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, false)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String columnName = rs.getString("COLUMN_NAME");
+                if (indexName == null || columnName == null) {
+                    continue;
+                }
+                columnsByIndex.computeIfAbsent(indexName.toLowerCase(Locale.ROOT), name -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), columnName.toLowerCase(Locale.ROOT));
+            }
+        }
+        Map<String, List<String>> indexes = new TreeMap<>();
+        columnsByIndex.forEach((name, columns) -> indexes.put(name, new ArrayList<>(columns.values())));
+        return indexes;
+    }
+
+    // "student_id, passed DESC" -> [student_id, passed]
+    private static List<String> parseColumns(String columnList) {
+        return Arrays.stream(columnList.split(","))
+                .map(column -> column.trim().split("\\s+")[0].toLowerCase(Locale.ROOT))
+                .toList();
+    }
+}
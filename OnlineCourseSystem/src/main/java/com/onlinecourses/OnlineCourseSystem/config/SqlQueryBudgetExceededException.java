@@ -0,0 +1,9 @@
+package com.onlinecourses.OnlineCourseSystem.config;
+
+public class SqlQueryBudgetExceededException extends RuntimeException {
+
+    public SqlQueryBudgetExceededException(int budget, int count, String sql) {
+        super("SQL budget exceeded: statement " + count + " of at most " + budget + " for this request: " +
+              (sql.length() > 200 ? sql.substring(0, 200) + "..." : sql));
+    }
+}
@@ -0,0 +1,70 @@
+package com.onlinecourses.OnlineCourseSystem.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Per-endpoint SQL statement budgets, e.g.
+//   app.sql-budget.mode=log|reject|off
+//   app.sql-budget.limits=GET /api/courses=3,GET /api/enrollments/student/{studentId}=3
+// 'log' warns (and counts sql.budget.exceeded) after the request; 'reject' fails the first
+// statement over the budget, so an N+1 loop aborts the request instead of hammering the database.
+@Component
+public class SqlQueryBudgetInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlQueryBudgetInterceptor.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final String mode;
+    private final Map<String, Integer> budgets = new HashMap<>();
+
+    public SqlQueryBudgetInterceptor(@Value("${app.sql-budget.mode:log}") String mode,
+                                     @Value("${app.sql-budget.limits:}") String limits) {
+        this.mode = mode.trim().toLowerCase();
+        for (String entry : limits.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator > 0) {
+                budgets.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+            }
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"off".equals(mode)) {
+            Integer budget = budgets.get(endpoint(request));
+            if (budget != null) {
+                SqlStatementCounter.setBudget(budget, "reject".equals(mode));
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int budget = SqlStatementCounter.budget();
+        int statements = SqlStatementCounter.current();
+        if (budget != SqlStatementCounter.NO_BUDGET && statements > budget) {
+            String endpoint = endpoint(request);
+            log.warn("SQL budget exceeded for {}: {} statements (budget {})", endpoint, statements, budget);
+            meterRegistry.counter("http.server.requests.sql.budget.exceeded", "endpoint", endpoint).increment();
+        }
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
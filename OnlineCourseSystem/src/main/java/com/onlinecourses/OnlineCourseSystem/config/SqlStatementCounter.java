@@ -0,0 +1,61 @@
+package com.onlinecourses.OnlineCourseSystem.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Counts the SQL statements Hibernate prepares on the current thread between begin() and end().
+// Registered as Hibernate's statement inspector in MetricsConfig; SqlStatementMetricsFilter opens a
+// scope per HTTP request. Statements outside a scope (startup, scheduled jobs) are not counted.
+// A scope can carry a budget: with failFast the statement that goes over it is refused
+// (SqlQueryBudgetExceededException) before it reaches the database.
+public class SqlStatementCounter implements StatementInspector {
+
+    public static final int NO_BUDGET = -1;
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.count++;
+            if (scope.failFast && scope.budget != NO_BUDGET && scope.count > scope.budget) {
+                throw new SqlQueryBudgetExceededException(scope.budget, scope.count, sql);
+            }
+        }
+        return sql;
+    }
+
+    public static void begin() {
+        CURRENT.set(new Scope());
+    }
+
+    public static void setBudget(int budget, boolean failFast) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.budget = budget;
+            scope.failFast = failFast;
+        }
+    }
+
+    public static int current() {
+        Scope scope = CURRENT.get();
+        return scope != null ? scope.count : 0;
+    }
+
+    public static int budget() {
+        Scope scope = CURRENT.get();
+        return scope != null ? scope.budget : NO_BUDGET;
+    }
+
+    public static int end() {
+        int count = current();
+        CURRENT.remove();
+        return count;
+    }
+
+    private static final class Scope {
+        private int count;
+        private int budget = NO_BUDGET;
+        private boolean failFast;
+    }
+}
@@ -5,81 +5,78 @@ import com.onlinecourses.OnlineCourseSystem.dto.AuthResponse;
 import com.onlinecourses.OnlineCourseSystem.dto.SignupRequest;
 import com.onlinecourses.OnlineCourseSystem.entity.User;
 import com.onlinecourses.OnlineCourseSystem.entity.UserRole;
+import com.onlinecourses.OnlineCourseSystem.service.PasswordHashingBusyException;
 import com.onlinecourses.OnlineCourseSystem.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "http://localhost:5173")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private UserService userService;
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
         try {
-            System.out.println("🔍 === LOGIN ATTEMPT STARTED ===");
-            System.out.println("📨 Request received - LoginRequest object: " + loginRequest);
-            System.out.println("👤 Username value: '" + loginRequest.getUsername() + "'");
-            System.out.println("🔐 Password present: " + (loginRequest.getPassword() != null));
+            log.debug("LOGIN ATTEMPT STARTED");
+            log.debug("Request received - LoginRequest object: {}", loginRequest);
+            log.debug("Username value: '{}'", loginRequest.getUsername());
+            log.debug("Password present: {}", (loginRequest.getPassword() != null));
             
             // Check for null values
             if (loginRequest.getUsername() == null || loginRequest.getUsername().trim().isEmpty()) {
-                System.out.println("❌ Username is null or empty");
+                log.warn("Username is null or empty");
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "Username is required");
                 return ResponseEntity.badRequest().body(error);
             }
             
             if (loginRequest.getPassword() == null || loginRequest.getPassword().trim().isEmpty()) {
-                System.out.println("❌ Password is null or empty");
+                log.warn("Password is null or empty");
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "Password is required");
                 return ResponseEntity.badRequest().body(error);
             }
 
-            System.out.println("🔎 Searching for user: " + loginRequest.getUsername());
-            Optional<User> user = userService.findByEmail(loginRequest.getUsername());
+            // ✅ CHANGED: bcrypt check on the password hashing pool; never log the passwords themselves
+            Optional<User> user = userService.authenticate(loginRequest.getUsername(), loginRequest.getPassword());
             
             if (user.isPresent()) {
-                System.out.println("✅ User found in database: " + user.get().getEmail());
-                System.out.println("🖼️ User's avatar index in DB: " + user.get().getAvatarIndex()); // ✅ ADD: Debug avatar
+                log.debug("Login successful: {}", user.get().getEmail());
+                
+                AuthResponse response = new AuthResponse();
+                response.setUserId(user.get().getId());
+                response.setUsername(user.get().getName());
+                response.setEmail(user.get().getEmail());
+                response.setRole(user.get().getRole().name());
+                response.setAvatarIndex(user.get().getAvatarIndex()); // ✅ CRITICAL: Add avatarIndex
                 
-                // Simple password check (no encoding for demo)
-                if (user.get().getPassword().equals(loginRequest.getPassword())) {
-                    System.out.println("🎉 Password matches - login successful");
-                    
-                    AuthResponse response = new AuthResponse();
-                    response.setUserId(user.get().getId());
-                    response.setUsername(user.get().getName());
-                    response.setEmail(user.get().getEmail());
-                    response.setRole(user.get().getRole().name());
-                    response.setAvatarIndex(user.get().getAvatarIndex()); // ✅ CRITICAL: Add avatarIndex
-                    
-                    System.out.println("📤 Sending AuthResponse with avatarIndex: " + response.getAvatarIndex());
-                    return ResponseEntity.ok(response);
-                } else {
-                    System.out.println("❌ Password does not match");
-                    System.out.println("Expected: " + user.get().getPassword());
-                    System.out.println("Received: " + loginRequest.getPassword());
-                }
-            } else {
-                System.out.println("❌ User not found with email: " + loginRequest.getUsername());
+                log.debug("Sending AuthResponse with avatarIndex: {}", response.getAvatarIndex());
+                return ResponseEntity.ok(response);
             }
+            log.warn("Login failed for: {}", loginRequest.getUsername());
             
             Map<String, String> error = new HashMap<>();
             error.put("error", "Invalid username or password");
             return ResponseEntity.badRequest().body(error);
             
+        } catch (PasswordHashingBusyException e) {
+            return tooManyRequests(e);
         } catch (Exception e) {
-            System.out.println("💥 LOGIN EXCEPTION: " + e.getMessage());
-            e.printStackTrace();
+            log.error("LOGIN EXCEPTION: {}", e.getMessage(), e);
             Map<String, String> error = new HashMap<>();
             error.put("error", "Login failed: " + e.getMessage());
             return ResponseEntity.badRequest().body(error);
@@ -111,12 +108,23 @@ public class AuthController {
             response.setRole(savedUser.getRole().name());
             response.setAvatarIndex(savedUser.getAvatarIndex()); // ✅ CRITICAL: Add avatarIndex
 
-            System.out.println("👤 Signup successful - Avatar index: " + response.getAvatarIndex());
+            log.debug("Signup successful - Avatar index: {}", response.getAvatarIndex());
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return tooManyRequests(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Signup failed: " + e.getMessage());
             return ResponseEntity.badRequest().body(error);
         }
     }
+
+    // ✅ ADD: Password hashing pool is saturated (e.g. a credential-stuffing burst)
+    private ResponseEntity<?> tooManyRequests(PasswordHashingBusyException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(error);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.onlinecourses.OnlineCourseSystem.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "http://localhost:5173")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Hit/miss/eviction counters per cache
+    @GetMapping("/stats")
+    public ResponseEntity<?> getCacheStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                CacheStats stats = caffeineCache.getNativeCache().stats();
+                Map<String, Object> cacheStats = new LinkedHashMap<>();
+                cacheStats.put("size", caffeineCache.getNativeCache().estimatedSize());
+                cacheStats.put("hits", stats.hitCount());
+                cacheStats.put("misses", stats.missCount());
+                cacheStats.put("hitRate", stats.hitRate());
+                cacheStats.put("evictions", stats.evictionCount());
+                response.put(name, cacheStats);
+            }
+        }
+        return ResponseEntity.ok(response);
+    }
+}
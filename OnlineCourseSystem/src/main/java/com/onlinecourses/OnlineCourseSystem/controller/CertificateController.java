@@ -1,28 +1,78 @@
 package com.onlinecourses.OnlineCourseSystem.controller;
 
+import com.onlinecourses.OnlineCourseSystem.dto.CertificateBatchResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.CertificateJobResponse;
 import com.onlinecourses.OnlineCourseSystem.dto.CertificateRequest;
 import com.onlinecourses.OnlineCourseSystem.dto.CertificateResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.CertificateVerificationResponse;
+import com.onlinecourses.OnlineCourseSystem.service.CertificateJobService;
+import com.onlinecourses.OnlineCourseSystem.service.CertificateQueueFullException;
 import com.onlinecourses.OnlineCourseSystem.service.CertificateService;
+import com.onlinecourses.OnlineCourseSystem.service.CertificateSigner;
+import com.onlinecourses.OnlineCourseSystem.service.CertificateVerificationService;
+import com.onlinecourses.OnlineCourseSystem.service.FileResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/certificates")
 @CrossOrigin(origins = "http://localhost:5173")
 public class CertificateController {
 
+    private static final Logger log = LoggerFactory.getLogger(CertificateController.class);
+
     @Autowired
     private CertificateService certificateService;
 
-    // Generate certificate
+    @Autowired
+    private CertificateJobService certificateJobService;
+
+    @Autowired
+    private CertificateVerificationService certificateVerificationService;
+
+    @Autowired
+    private CertificateSigner certificateSigner;
+
+    // Verification answers may also be cached by browsers and proxies in front of us
+    private static final CacheControl VERIFIED_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+    private static final CacheControl MISS_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+
+    // ✅ CHANGED: Generate certificate - queues a background render instead of rendering in the request.
+    // 200 with the job when the certificate already exists, otherwise 202 and the job to poll.
     @PostMapping("/generate")
     public ResponseEntity<?> generateCertificate(@RequestBody CertificateRequest request) {
+        return submitJob(request);
+    }
+
+    // ✅ ADD: Certificate jobs (see CertificateJobService)
+    @PostMapping("/jobs")
+    public ResponseEntity<?> submitJob(@RequestBody CertificateRequest request) {
         try {
-            CertificateResponse certificate = certificateService.generateCertificate(request);
-            return ResponseEntity.ok(certificate);
+            CertificateJobResponse job = certificateJobService.submit(request);
+            if ("DONE".equals(job.getStatus())) {
+                return ResponseEntity.ok(job);
+            }
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/certificates/jobs/" + job.getJobId()))
+                    .body(job);
+        } catch (CertificateQueueFullException e) {
+            return queueFull(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of(
                 "error", "Failed to generate certificate: " + e.getMessage()
@@ -30,6 +80,63 @@ public class CertificateController {
         }
     }
 
+    // Queue certificates for every completed enrollment of a course
+    @PostMapping("/jobs/course/{courseId}")
+    public ResponseEntity<?> submitCourseJobs(@PathVariable Long courseId) {
+        try {
+            CertificateBatchResponse batch = certificateJobService.submitCourse(courseId);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/certificates/jobs/course/" + courseId))
+                    .body(batch);
+        } catch (CertificateQueueFullException e) {
+            return queueFull(e);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Failed to queue certificates: " + e.getMessage()
+            ));
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<CertificateJobResponse> getJob(@PathVariable Long jobId) {
+        try {
+            return certificateJobService.getJob(jobId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/jobs/enrollment/{enrollmentId}")
+    public ResponseEntity<CertificateJobResponse> getJobByEnrollment(@PathVariable Long enrollmentId) {
+        try {
+            return certificateJobService.getJobByEnrollment(enrollmentId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Job counts by status for a course's batch
+    @GetMapping("/jobs/course/{courseId}")
+    public ResponseEntity<CertificateBatchResponse> getCourseJobs(@PathVariable Long courseId) {
+        try {
+            return certificateJobService.getCourseSummary(courseId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    private ResponseEntity<?> queueFull(CertificateQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(Map.of("error", e.getMessage()));
+    }
+
     // Get all certificates for a student
     @GetMapping("/student/{studentId}")
     public ResponseEntity<List<CertificateResponse>> getStudentCertificates(@PathVariable Long studentId) {
@@ -53,18 +160,55 @@ public class CertificateController {
         }
     }
 
-    // Get certificate by certificate ID
+    // ✅ CHANGED: Get certificate by certificate ID - the public lookup, served from the verification cache
     @GetMapping("/certificate-id/{certificateId}")
     public ResponseEntity<CertificateResponse> getCertificateByCertificateId(@PathVariable String certificateId) {
         try {
-            return certificateService.getCertificateByCertificateId(certificateId)
-                    .map(ResponseEntity::ok)
-                    .orElse(ResponseEntity.notFound().build());
+            CertificateVerificationResponse verification = certificateVerificationService.verify(certificateId);
+            if (verification.getCertificate() == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).cacheControl(MISS_CACHE_CONTROL).build();
+            }
+            return ResponseEntity.ok().cacheControl(VERIFIED_CACHE_CONTROL).body(verification.getCertificate());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // ✅ ADD: Verify a certificate: its record plus the Ed25519 signature check, with everything needed to
+    // repeat the check offline. 404 for unknown or malformed ids.
+    @GetMapping("/verify/{certificateId}")
+    public ResponseEntity<CertificateVerificationResponse> verifyCertificate(@PathVariable String certificateId) {
+        try {
+            CertificateVerificationResponse verification = certificateVerificationService.verify(certificateId);
+            if (verification.getCertificate() == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).cacheControl(MISS_CACHE_CONTROL).body(verification);
+            }
+            // An unsigned certificate becomes VALID once the legacy signing job reaches it
+            return ResponseEntity.ok()
+                    .cacheControl(verification.isValid() ? VERIFIED_CACHE_CONTROL : MISS_CACHE_CONTROL)
+                    .body(verification);
         } catch (Exception e) {
+            log.error("Failed to verify certificate {}: {}", certificateId, e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    // ✅ ADD: Public key for offline verification (X.509 SubjectPublicKeyInfo, base64)
+    // ?keyId= returns a retired key, for certificates signed before a key rotation
+    @GetMapping("/signing-key")
+    public ResponseEntity<Map<String, String>> getSigningKey(@RequestParam(required = false) String keyId) {
+        String id = keyId != null ? keyId : certificateSigner.getKeyId();
+        return certificateSigner.getPublicKey(id)
+                .map(publicKey -> ResponseEntity.ok()
+                        .cacheControl(VERIFIED_CACHE_CONTROL)
+                        .body(Map.of(
+                            "algorithm", CertificateSigner.ALGORITHM,
+                            "keyId", id,
+                            "publicKey", publicKey
+                        )))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     // Get certificate by enrollment ID
     @GetMapping("/enrollment/{enrollmentId}")
     public ResponseEntity<CertificateResponse> getCertificateByEnrollment(@PathVariable Long enrollmentId) {
@@ -101,22 +245,25 @@ public class CertificateController {
         }
     }
 
-    // Download certificate (mock endpoint)
+    // Download the certificate PDF. Served from the file store, never re-rendered; supports byte ranges
+    // (resumable downloads) and If-None-Match against the content hash.
     @GetMapping("/{id}/download")
-    public ResponseEntity<?> downloadCertificate(@PathVariable Long id) {
+    public void downloadCertificate(@PathVariable Long id, HttpServletRequest request,
+                                    HttpServletResponse response) throws IOException {
+        Optional<CertificateService.CertificateFile> file;
         try {
-            // In a real application, this would return the actual PDF file
-            // For now, return the certificate URL
-            return certificateService.getCertificateById(id)
-                    .map(cert -> ResponseEntity.ok(Map.of(
-                        "downloadUrl", cert.getCertificateUrl(),
-                        "message", "Certificate download ready"
-                    )))
-                    .orElse(ResponseEntity.notFound().build());
+            file = certificateService.getCertificateFile(id);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of(
-                "error", "Failed to download certificate"
-            ));
+            log.error("Failed to prepare certificate {} for download: {}", id, e.getMessage(), e);
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to download certificate");
+            return;
+        }
+        if (file.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+        CertificateService.CertificateFile certificate = file.get();
+        FileResponses.send(certificate.path(), MediaType.APPLICATION_PDF_VALUE, certificate.certificateId() + ".pdf",
+                "\"" + certificate.contentHash() + "\"", request, response);
     }
-}
\ No newline at end of file
+}
@@ -1,115 +1,229 @@
 package com.onlinecourses.OnlineCourseSystem.controller;
 
+import com.onlinecourses.OnlineCourseSystem.dto.CourseCatalogFilter;
+import com.onlinecourses.OnlineCourseSystem.dto.CourseCatalogResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.CoursePageResponse;
 import com.onlinecourses.OnlineCourseSystem.dto.CourseRequest;
 import com.onlinecourses.OnlineCourseSystem.dto.CourseResponse;
 import com.onlinecourses.OnlineCourseSystem.entity.Course;
 import com.onlinecourses.OnlineCourseSystem.entity.User;
+import com.onlinecourses.OnlineCourseSystem.service.CourseFacetService;
+import com.onlinecourses.OnlineCourseSystem.service.CourseSearchIndex;
 import com.onlinecourses.OnlineCourseSystem.service.CourseService;
+import com.onlinecourses.OnlineCourseSystem.service.ResourceVersion;
 import com.onlinecourses.OnlineCourseSystem.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @RestController
 @RequestMapping("/api/courses")
 @CrossOrigin(origins = "http://localhost:5173")
 public class CourseController {
 
+    private static final Logger log = LoggerFactory.getLogger(CourseController.class);
+
     @Autowired
     private CourseService courseService;
     @Autowired
     private UserService userService;
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+    @Autowired
+    private CourseFacetService courseFacetService;
+
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    // ✅ ADD: ?page=&size=&sort=field,dir for offset pages, ?size=&sort= then ?cursor= for keyset pages.
+    // Without any of these the full list is returned as before.
+    private static boolean isPaged(Integer page, Integer size, String sort, String cursor) {
+        return page != null || size != null || sort != null || cursor != null;
+    }
+
+    private ResponseEntity<?> getCoursePage(String category, Long instructorId, Integer page, Integer size,
+                                            String sort, String cursor) {
+        try {
+            CoursePageResponse coursePage = courseService.getCoursePage(category, instructorId, page, size, sort, cursor);
+            return ResponseEntity.ok(coursePage);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid paging parameters: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("ERROR in getCoursePage: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Error loading courses: " + e.getMessage());
+        }
+    }
 
     @GetMapping
-    public ResponseEntity<?> getAllCourses() {
+    public ResponseEntity<?> getAllCourses(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            WebRequest webRequest) {
+        if (isPaged(page, size, sort, cursor)) {
+            return getCoursePage(null, null, page, size, sort, cursor);
+        }
         try {
-            System.out.println("🔍 === GET ALL COURSES REQUESTED ===");
+            log.debug("GET ALL COURSES REQUESTED");
+            
+            // ✅ ADD: Conditional GET - answer 304 from a COUNT/MAX probe before building the list
+            ResourceVersion version = courseService.getCatalogVersion();
+            if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+                return null;
+            }
+            
             List<CourseResponse> courses = courseService.getAllCourses();
             
-            // ✅ ADD: Debug logging for course data
-            courses.forEach(course -> {
-                System.out.println("📊 Course: " + course.getTitle() + 
-                                 " | Avg Rating: " + course.getAverageRating() + 
-                                 " | Total Ratings: " + course.getTotalRatings() + 
-                                 " | Students: " + course.getEnrolledStudents() +
-                                 " | Instructor: " + course.getInstructorName());
-            });
+            // ✅ Per-course trace lines, skipped entirely unless TRACE is on for this controller
+            if (log.isTraceEnabled()) {
+                courses.forEach(course -> log.trace("Course: {} | Avg Rating: {} | Total Ratings: {} | Students: {} | Instructor: {}",
+                    course.getTitle(), course.getAverageRating(), course.getTotalRatings(),
+                    course.getEnrolledStudents(), course.getInstructorName()));
+            }
             
-            System.out.println("✅ Successfully retrieved " + courses.size() + " courses");
-            return ResponseEntity.ok(courses);
+            log.debug("Successfully retrieved {} courses", courses.size());
+            return ResponseEntity.ok()
+                    .eTag(version.getEtag())
+                    .lastModified(version.getLastModified())
+                    .body(courses);
         } catch (Exception e) {
-            System.out.println("💥 ERROR in getAllCourses: " + e.getMessage());
+            log.error("ERROR in getAllCourses: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Error loading courses: " + e.getMessage());
         }
     }
 
+    // ✅ ADD: Filtered catalog page with facet counts, e.g.
+    // ?category=Programming&category=Design&level=Beginner&minPrice=10&maxPrice=50&minRating=4&instructorId=3&page=0&size=20
+    @GetMapping("/catalog")
+    public ResponseEntity<?> getCatalog(CourseCatalogFilter filter) {
+        try {
+            CourseCatalogResponse catalog = courseFacetService.getCatalog(filter);
+            log.debug("CATALOG page {} -> {} of {} courses", catalog.getPage(), catalog.getContent().size(), catalog.getTotalElements());
+            return ResponseEntity.ok(catalog);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid catalog filter: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("ERROR in getCatalog: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Error loading catalog: " + e.getMessage());
+        }
+    }
+
+    // ✅ ADD: Ranked search over title, category, level and instructor name (prefix and typo tolerant)
+    @GetMapping("/search")
+    public ResponseEntity<?> searchCourses(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        if (q == null || q.isBlank()) {
+            return ResponseEntity.badRequest().body("Search query 'q' is required");
+        }
+        if (limit != null && limit < 1) {
+            return ResponseEntity.badRequest().body("limit must be at least 1");
+        }
+        try {
+            int effectiveLimit = limit == null ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+            List<CourseResponse> courses = courseSearchIndex.search(q, effectiveLimit);
+            log.debug("SEARCH '{}' -> {} courses", q, courses.size());
+            return ResponseEntity.ok(courses);
+        } catch (Exception e) {
+            log.error("ERROR in searchCourses: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Error searching courses: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/{courseId}")
-    public ResponseEntity<?> getCourseById(@PathVariable Long courseId) {
+    public ResponseEntity<?> getCourseById(@PathVariable Long courseId, WebRequest webRequest) {
         try {
-            System.out.println("🔍 === GET COURSE BY ID: " + courseId + " ===");
+            log.debug("GET COURSE BY ID: {}", courseId);
+            
+            // ✅ ADD: Conditional GET on the course's updated_at
+            Optional<ResourceVersion> version = courseService.getCourseVersion(courseId);
+            if (version.isPresent()
+                    && webRequest.checkNotModified(version.get().getEtag(), version.get().getLastModified())) {
+                return null;
+            }
+            
             Optional<CourseResponse> courseResponse = courseService.getCourseResponseById(courseId);
             
             if (courseResponse.isPresent()) {
                 CourseResponse course = courseResponse.get();
-                System.out.println("✅ Course found: " + course.getTitle());
-                System.out.println("📊 Course Details - Avg Rating: " + course.getAverageRating() + 
-                                 ", Total Ratings: " + course.getTotalRatings() + 
-                                 ", Students: " + course.getEnrolledStudents());
-                return ResponseEntity.ok(course);
+                log.debug("Course found: {}", course.getTitle());
+                log.debug("Course Details - Avg Rating: {}, Total Ratings: {}, Students: {}",
+                        course.getAverageRating(), course.getTotalRatings(), course.getEnrolledStudents());
+                ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+                version.ifPresent(v -> ok.eTag(v.getEtag()).lastModified(v.getLastModified()));
+                return ok.body(course);
             } else {
                 // Fallback: try to get raw Course entity
                 Optional<Course> course = courseService.getCourseById(courseId);
                 if (course.isPresent()) {
-                    System.out.println("⚠️ Using fallback Course entity for: " + course.get().getTitle());
+                    log.warn("Using fallback Course entity for: {}", course.get().getTitle());
                     return ResponseEntity.ok(course.get());
                 } else {
-                    System.out.println("❌ Course not found: " + courseId);
+                    log.warn("Course not found: {}", courseId);
                     return ResponseEntity.notFound().build();
                 }
             }
         } catch (Exception e) {
-            System.out.println("💥 ERROR in getCourseById: " + e.getMessage());
+            log.error("ERROR in getCourseById: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Error getting course: " + e.getMessage());
         }
     }
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<?> getCoursesByCategory(@PathVariable String category) {
+    public ResponseEntity<?> getCoursesByCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor) {
+        if (isPaged(page, size, sort, cursor)) {
+            return getCoursePage(category, null, page, size, sort, cursor);
+        }
         try {
-            System.out.println("🔍 === GET COURSES BY CATEGORY: " + category + " ===");
+            log.debug("GET COURSES BY CATEGORY: {}", category);
             List<CourseResponse> courses = courseService.getCoursesByCategory(category);
             
-            // ✅ ADD: Debug logging
-            courses.forEach(course -> {
-                System.out.println("📊 " + category + " Course: " + course.getTitle() + 
-                                 " | Rating: " + course.getAverageRating());
-            });
+            // ✅ Per-course trace lines, skipped entirely unless TRACE is on for this controller
+            if (log.isTraceEnabled()) {
+                courses.forEach(course -> log.trace("{} Course: {} | Rating: {}", category, course.getTitle(), course.getAverageRating()));
+            }
             
             return ResponseEntity.ok(courses);
         } catch (Exception e) {
-            System.out.println("💥 ERROR in getCoursesByCategory: " + e.getMessage());
+            log.error("ERROR in getCoursesByCategory: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
 
     @GetMapping("/instructor/{instructorId}")
-    public ResponseEntity<?> getInstructorCourses(@PathVariable Long instructorId) {
+    public ResponseEntity<?> getInstructorCourses(
+            @PathVariable Long instructorId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor) {
+        if (isPaged(page, size, sort, cursor)) {
+            return getCoursePage(null, instructorId, page, size, sort, cursor);
+        }
         try {
-            System.out.println("🔍 === GET INSTRUCTOR COURSES: " + instructorId + " ===");
+            log.debug("GET INSTRUCTOR COURSES: {}", instructorId);
             List<CourseResponse> courses = courseService.getInstructorCourses(instructorId);
             
-            // ✅ ADD: Debug logging
-            courses.forEach(course -> {
-                System.out.println("📊 Instructor Course: " + course.getTitle() + 
-                                 " | Avg Rating: " + course.getAverageRating() + 
-                                 " | Students: " + course.getEnrolledStudents());
-            });
+            // ✅ Per-course trace lines, skipped entirely unless TRACE is on for this controller
+            if (log.isTraceEnabled()) {
+                courses.forEach(course -> log.trace("Instructor Course: {} | Avg Rating: {} | Students: {}",
+                    course.getTitle(), course.getAverageRating(), course.getEnrolledStudents()));
+            }
             
             return ResponseEntity.ok(courses);
         } catch (Exception e) {
-            System.out.println("💥 ERROR in getInstructorCourses: " + e.getMessage());
+            log.error("ERROR in getInstructorCourses: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
@@ -117,7 +231,7 @@ public class CourseController {
     @PostMapping
     public ResponseEntity<?> createCourse(@RequestBody CourseRequest courseRequest) {
         try {
-            System.out.println("🔍 === CREATE COURSE REQUESTED ===");
+            log.debug("CREATE COURSE REQUESTED");
             Optional<User> instructor = userService.findById(courseRequest.getInstructorId());
             if (instructor.isEmpty()) {
                 return ResponseEntity.badRequest().body("Instructor not found");
@@ -136,11 +250,11 @@ public class CourseController {
             
             // ✅ ADD: Convert to CourseResponse for consistent response
             CourseResponse response = courseService.convertToResponse(savedCourse);
-            System.out.println("✅ Course created successfully: " + response.getTitle());
+            log.debug("Course created successfully: {}", response.getTitle());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.out.println("💥 ERROR in createCourse: " + e.getMessage());
+            log.error("ERROR in createCourse: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Failed to create course: " + e.getMessage());
         }
     }
@@ -151,31 +265,30 @@ public class CourseController {
             @RequestBody Course updatedCourse) {
         
         try {
-            System.out.println("🔄 === UPDATE COURSE REQUESTED ===");
-            System.out.println("📝 Course ID: " + courseId);
-            System.out.println("📝 Update Data - Title: " + updatedCourse.getTitle() + 
-                             ", Duration: " + updatedCourse.getDuration() + 
-                             ", Category: " + updatedCourse.getCategory());
+            log.debug("UPDATE COURSE REQUESTED");
+            log.debug("Course ID: {}", courseId);
+            log.debug("Update Data - Title: {}, Duration: {}, Category: {}",
+                    updatedCourse.getTitle(), updatedCourse.getDuration(), updatedCourse.getCategory());
             
             Course updated = courseService.updateCourse(courseId, updatedCourse);
             
             // ✅ ADD: Convert to CourseResponse for consistent response
             CourseResponse response = courseService.convertToResponse(updated);
             
-            System.out.println("✅ Course updated successfully: " + response.getTitle());
-            System.out.println("📊 Updated Course Stats - Avg Rating: " + response.getAverageRating() + 
-                             ", Total Ratings: " + response.getTotalRatings());
+            log.debug("Course updated successfully: {}", response.getTitle());
+            log.debug("Updated Course Stats - Avg Rating: {}, Total Ratings: {}",
+                    response.getAverageRating(), response.getTotalRatings());
             
             return ResponseEntity.ok(response);
             
         } catch (RuntimeException e) {
-            System.out.println("❌ ERROR updating course: " + e.getMessage());
+            log.warn("ERROR updating course: {}", e.getMessage());
             if (e.getMessage().contains("not found")) {
                 return ResponseEntity.notFound().build();
             }
             return ResponseEntity.badRequest().body("Failed to update course: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println("💥 UNEXPECTED ERROR updating course: " + e.getMessage());
+            log.error("UNEXPECTED ERROR updating course: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Internal server error: " + e.getMessage());
         }
     }
@@ -183,12 +296,12 @@ public class CourseController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteCourse(@PathVariable Long id) {
         try {
-            System.out.println("🗑️ === DELETE COURSE REQUESTED: " + id + " ===");
+            log.debug("DELETE COURSE REQUESTED: {}", id);
             courseService.deleteCourse(id);
-            System.out.println("✅ Course deleted successfully: " + id);
+            log.debug("Course deleted successfully: {}", id);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
-            System.out.println("💥 ERROR in deleteCourse: " + e.getMessage());
+            log.error("ERROR in deleteCourse: {}", e.getMessage());
             return ResponseEntity.badRequest().body("Failed to delete course");
         }
     }
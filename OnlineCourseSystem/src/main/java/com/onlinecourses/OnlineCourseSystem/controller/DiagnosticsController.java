@@ -0,0 +1,52 @@
+package com.onlinecourses.OnlineCourseSystem.controller;
+
+import com.onlinecourses.OnlineCourseSystem.service.ConnectionPoolMonitor;
+import com.onlinecourses.OnlineCourseSystem.service.PayloadDiagnostics;
+import com.onlinecourses.OnlineCourseSystem.service.VirtualThreadPinningMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+@CrossOrigin(origins = "http://localhost:5173")
+public class DiagnosticsController {
+
+    @Autowired
+    private PayloadDiagnostics payloadDiagnostics;
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+    @Autowired
+    private ConnectionPoolMonitor connectionPoolMonitor;
+
+    @GetMapping("/payloads")
+    public ResponseEntity<?> getPayloadStats() {
+        return ResponseEntity.ok(payloadDiagnostics.snapshot());
+    }
+
+    // e.g. PUT /api/diagnostics/payloads?enabled=true&sampleEvery=5
+    @PutMapping("/payloads")
+    public ResponseEntity<?> configurePayloadSampling(@RequestParam boolean enabled,
+                                                      @RequestParam(required = false) Integer sampleEvery) {
+        payloadDiagnostics.configure(enabled, sampleEvery);
+        return ResponseEntity.ok(payloadDiagnostics.snapshot());
+    }
+
+    @DeleteMapping("/payloads")
+    public ResponseEntity<?> resetPayloadStats() {
+        payloadDiagnostics.reset();
+        return ResponseEntity.ok(payloadDiagnostics.snapshot());
+    }
+
+    // Request thread mode plus JFR-recorded virtual thread pinning sites (most frequent first)
+    @GetMapping("/virtual-threads")
+    public ResponseEntity<?> getVirtualThreadStats() {
+        return ResponseEntity.ok(pinningMonitor.snapshot());
+    }
+
+    // Primary pool occupancy, acquire/usage times and the adaptive sizer's last decision
+    @GetMapping("/connection-pool")
+    public ResponseEntity<?> getConnectionPoolStats() {
+        return ResponseEntity.ok(connectionPoolMonitor.snapshot());
+    }
+}
@@ -3,68 +3,65 @@ package com.onlinecourses.OnlineCourseSystem.controller;
 import com.onlinecourses.OnlineCourseSystem.dto.*;
 import com.onlinecourses.OnlineCourseSystem.entity.Enrollment;
 import com.onlinecourses.OnlineCourseSystem.service.EnrollmentService;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.onlinecourses.OnlineCourseSystem.service.ExportFormat;
+import com.onlinecourses.OnlineCourseSystem.service.PayloadDiagnostics;
+import com.onlinecourses.OnlineCourseSystem.service.ResourceVersion;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
 
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @RestController
 @RequestMapping("/api/enrollments")
 @CrossOrigin(origins = "http://localhost:5173")
 public class EnrollmentController {
 
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentController.class);
+
     @Autowired
     private EnrollmentService enrollmentService;
+    @Autowired
+    private PayloadDiagnostics payloadDiagnostics;
+
+    @Value("${app.enrollments.bulk.max-pairs:10000}")
+    private int bulkMaxPairs;
 
     
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<?> getStudentEnrollments(@PathVariable Long studentId) {
+    public ResponseEntity<?> getStudentEnrollments(@PathVariable Long studentId, WebRequest webRequest) {
         try {
-            System.out.println("🔍 === CONTROLLER: GET ENROLLMENTS FOR STUDENT " + studentId + " ===");
+            log.debug("CONTROLLER: GET ENROLLMENTS FOR STUDENT {}", studentId);
             
-            List<EnrollmentResponse> enrollments = enrollmentService.getStudentEnrollments(studentId);
-            System.out.println("✅ Controller: Successfully retrieved " + enrollments.size() + " enrollments");
+            // ✅ ADD: Conditional GET - unchanged enrollment lists are answered with 304 and no body
+            ResourceVersion version = enrollmentService.getStudentEnrollmentsVersion(studentId);
+            if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+                return null;
+            }
             
-            // Test JSON serialization
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.registerModule(new JavaTimeModule());
-            mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+            List<EnrollmentResponse> enrollments = enrollmentService.getStudentEnrollments(studentId);
+            log.debug("Controller: Successfully retrieved {} enrollments", enrollments.size());
             
-            try {
-                String json = mapper.writeValueAsString(enrollments);
-                System.out.println("🔍 JSON response length: " + json.length());
-                
-                if (json.length() > 1000) {
-                    System.out.println("🔍 First 500 chars: " + json.substring(0, 500));
-                    System.out.println("🔍 Last 500 chars: " + json.substring(json.length() - 500));
-                } else {
-                    System.out.println("🔍 Full JSON: " + json);
-                }
-                
-                // Validate JSON is parseable
-                mapper.readValue(json, new TypeReference<List<EnrollmentResponse>>() {});
-                System.out.println("✅ JSON validation passed");
-                
-            } catch (Exception jsonError) {
-                System.out.println("💥 JSON Error: " + jsonError.getMessage());
-                jsonError.printStackTrace();
-                return ResponseEntity.internalServerError()
-                    .body("JSON serialization error: " + jsonError.getMessage());
-            }
+            // ✅ ADD: Optional size sampling with the shared mapper; Spring serializes the body once
+            payloadDiagnostics.sample("GET /api/enrollments/student/{studentId}", enrollments);
             
-            return ResponseEntity.ok(enrollments);
+            return ResponseEntity.ok()
+                    .eTag(version.getEtag())
+                    .lastModified(version.getLastModified())
+                    .body(enrollments);
             
         } catch (Exception e) {
-            System.out.println("💥 CONTROLLER ERROR: " + e.getMessage());
-            e.printStackTrace();
+            log.error("CONTROLLER ERROR: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError()
                 .body("Error loading enrollments: " + e.getMessage());
         }
@@ -80,6 +77,23 @@ public class EnrollmentController {
         }
     }
 
+    // ✅ ADD: Streaming roster download - ?format=csv (default) or ndjson
+    @GetMapping("/course/{courseId}/export")
+    public void exportCourseEnrollments(@PathVariable Long courseId,
+                                        @RequestParam(required = false) String format,
+                                        HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.parse(format);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        exportFormat.prepare(response, "course-" + courseId + "-enrollments");
+        long rows = enrollmentService.exportCourseEnrollments(courseId, exportFormat, response.getOutputStream());
+        log.debug("Exported {} enrollments for course {} as {}", rows, courseId, exportFormat);
+    }
+
     @PostMapping("/enroll")
     public ResponseEntity<?> enroll(@RequestBody EnrollmentRequest enrollmentRequest) {
         try {
@@ -93,6 +107,27 @@ public class EnrollmentController {
         }
     }
 
+    // ✅ ADD: Bulk import, e.g. a whole cohort at term start: {"enrollments":[{"studentId":1,"courseId":2}, ...]}
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulkEnroll(@RequestBody BulkEnrollmentRequest bulkRequest) {
+        List<EnrollmentRequest> pairs = bulkRequest.getEnrollments();
+        if (pairs == null || pairs.isEmpty()) {
+            return ResponseEntity.badRequest().body("Bulk enrollment failed: no enrollments given");
+        }
+        if (pairs.size() > bulkMaxPairs) {
+            return ResponseEntity.badRequest().body("Bulk enrollment failed: at most " + bulkMaxPairs + " enrollments per request");
+        }
+        try {
+            BulkEnrollmentResponse result = enrollmentService.bulkEnroll(pairs);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Bulk enrollment failed: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("ERROR in bulkEnroll: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Bulk enrollment failed: " + e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{enrollmentId}")
     public ResponseEntity<?> unenroll(@PathVariable Long enrollmentId) {
         try {
@@ -107,21 +142,20 @@ public class EnrollmentController {
     @PutMapping("/{enrollmentId}/complete")
     public ResponseEntity<?> completeCourse(@PathVariable Long enrollmentId, @RequestBody CourseCompletionRequest completionRequest) {
         try {
-            System.out.println("🎯 === COMPLETE COURSE REQUEST ===");
-            System.out.println("📥 Enrollment ID: " + enrollmentId);
-            System.out.println("📥 Completion Request: " + completionRequest);
+            log.debug("COMPLETE COURSE REQUEST");
+            log.debug("Enrollment ID: {}", enrollmentId);
+            log.debug("Completion Request: {}", completionRequest);
             
             Enrollment enrollment = enrollmentService.completeCourse(
                 enrollmentId, 
                 completionRequest
             );
             
-            System.out.println("✅ Course completion successful for enrollment: " + enrollmentId);
+            log.debug("Course completion successful for enrollment: {}", enrollmentId);
             return ResponseEntity.ok(enrollment);
             
         } catch (Exception e) {
-            System.out.println("💥 Course completion failed: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Course completion failed: {}", e.getMessage(), e);
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to complete course: " + e.getMessage());
             return ResponseEntity.badRequest().body(errorResponse);
@@ -132,10 +166,10 @@ public class EnrollmentController {
     @PutMapping("/{enrollmentId}/rate")
     public ResponseEntity<?> rateCourse(@PathVariable Long enrollmentId, @RequestBody RatingRequest ratingRequest) {
         try {
-            System.out.println("⭐ === RATING COURSE ===");
-            System.out.println("📥 Enrollment ID: " + enrollmentId);
-            System.out.println("📥 Rating: " + ratingRequest.getRating());
-            System.out.println("📥 Feedback: " + ratingRequest.getFeedback());
+            log.debug("RATING COURSE");
+            log.debug("Enrollment ID: {}", enrollmentId);
+            log.debug("Rating: {}", ratingRequest.getRating());
+            log.debug("Feedback: {}", ratingRequest.getFeedback());
             
             Enrollment enrollment = enrollmentService.rateCourse(
                 enrollmentId, 
@@ -143,12 +177,11 @@ public class EnrollmentController {
                 ratingRequest.getFeedback()
             );
             
-            System.out.println("✅ Course rated successfully");
+            log.debug("Course rated successfully");
             return ResponseEntity.ok(enrollment);
             
         } catch (Exception e) {
-            System.out.println("💥 Course rating failed: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Course rating failed: {}", e.getMessage(), e);
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to rate course: " + e.getMessage());
             return ResponseEntity.badRequest().body(errorResponse);
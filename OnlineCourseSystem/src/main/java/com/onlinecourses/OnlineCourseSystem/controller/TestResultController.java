@@ -2,20 +2,27 @@ package com.onlinecourses.OnlineCourseSystem.controller;
 
 import com.onlinecourses.OnlineCourseSystem.dto.TestResultRequest;
 import com.onlinecourses.OnlineCourseSystem.entity.TestResult;
+import com.onlinecourses.OnlineCourseSystem.service.ExportFormat;
 import com.onlinecourses.OnlineCourseSystem.service.TestResultService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @RestController
 @RequestMapping("/api/test-results")
 @CrossOrigin(origins = "http://localhost:3000")
 public class TestResultController {
+
+    private static final Logger log = LoggerFactory.getLogger(TestResultController.class);
     
     @Autowired
     private TestResultService testResultService;
@@ -24,7 +31,7 @@ public class TestResultController {
     @PostMapping("/save")
     public ResponseEntity<?> saveTestResult(@RequestBody TestResultRequest request) {
         try {
-            System.out.println("💾 Saving test result: " + request);
+            log.debug("Saving test result: {}", request);
             
             // Create entity from request
             TestResult testResult = new TestResult(
@@ -45,12 +52,11 @@ public class TestResultController {
             response.put("message", "Test results saved successfully");
             response.put("testResult", savedResult);
             
-            System.out.println("✅ Test result saved: " + savedResult.getId());
+            log.debug("Test result saved: {}", savedResult.getId());
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            System.err.println("❌ Error saving test result: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error saving test result: {}", e.getMessage(), e);
             
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -104,6 +110,23 @@ public class TestResultController {
         }
     }
     
+    // Stream all results of a course - ?format=csv (default) or ndjson
+    @GetMapping("/course/{courseId}/export")
+    public void exportCourseTestResults(@PathVariable Long courseId,
+                                        @RequestParam(required = false) String format,
+                                        HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.parse(format);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        exportFormat.prepare(response, "course-" + courseId + "-test-results");
+        long rows = testResultService.exportCourseTestResults(courseId, exportFormat, response.getOutputStream());
+        log.debug("Exported {} test results for course {} as {}", rows, courseId, exportFormat);
+    }
+    
     // Check if student passed a course
     @GetMapping("/check-passed/{courseId}/{studentId}")
     public ResponseEntity<?> checkCoursePassed(@PathVariable Long courseId, @PathVariable Long studentId) {
@@ -3,8 +3,11 @@ package com.onlinecourses.OnlineCourseSystem.controller;
 import com.onlinecourses.OnlineCourseSystem.dto.ChangePasswordRequest;
 import com.onlinecourses.OnlineCourseSystem.dto.UpdateProfileRequest;
 import com.onlinecourses.OnlineCourseSystem.entity.User;
+import com.onlinecourses.OnlineCourseSystem.service.PasswordHashingBusyException;
 import com.onlinecourses.OnlineCourseSystem.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -103,6 +106,11 @@ public class UserController {
             } else {
                 return ResponseEntity.badRequest().body("{\"message\": \"Current password is incorrect\", \"success\": false}");
             }
+        } catch (PasswordHashingBusyException e) {
+            // ✅ ADD: Password hashing pool is saturated
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                    .body("{\"message\": \"" + e.getMessage() + "\", \"success\": false}");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("{\"message\": \"Failed to change password: " + e.getMessage() + "\", \"success\": false}");
         }
@@ -0,0 +1,11 @@
+package com.onlinecourses.OnlineCourseSystem.dto;
+
+import java.util.List;
+
+public class BulkEnrollmentRequest {
+    private List<EnrollmentRequest> enrollments;   // studentId/courseId pairs
+
+    // Getters and Setters
+    public List<EnrollmentRequest> getEnrollments() { return enrollments; }
+    public void setEnrollments(List<EnrollmentRequest> enrollments) { this.enrollments = enrollments; }
+}
@@ -0,0 +1,39 @@
+package com.onlinecourses.OnlineCourseSystem.dto;
+
+import java.util.List;
+
+public class BulkEnrollmentResponse {
+    private int requested;
+    private int enrolled;
+    private int alreadyEnrolled;       // pairs that existed before this request
+    private int duplicatesInRequest;   // repeated pairs within the request, counted once
+    private List<Long> unknownStudentIds;
+    private List<Long> unknownCourseIds;
+
+    // Constructors
+    public BulkEnrollmentResponse() {}
+
+    public BulkEnrollmentResponse(int requested, int enrolled, int alreadyEnrolled, int duplicatesInRequest,
+                                  List<Long> unknownStudentIds, List<Long> unknownCourseIds) {
+        this.requested = requested;
+        this.enrolled = enrolled;
+        this.alreadyEnrolled = alreadyEnrolled;
+        this.duplicatesInRequest = duplicatesInRequest;
+        this.unknownStudentIds = unknownStudentIds;
+        this.unknownCourseIds = unknownCourseIds;
+    }
+
+    // Getters and Setters
+    public int getRequested() { return requested; }
+    public void setRequested(int requested) { this.requested = requested; }
+    public int getEnrolled() { return enrolled; }
+    public void setEnrolled(int enrolled) { this.enrolled = enrolled; }
+    public int getAlreadyEnrolled() { return alreadyEnrolled; }
+    public void setAlreadyEnrolled(int alreadyEnrolled) { this.alreadyEnrolled = alreadyEnrolled; }
+    public int getDuplicatesInRequest() { return duplicatesInRequest; }
+    public void setDuplicatesInRequest(int duplicatesInRequest) { this.duplicatesInRequest = duplicatesInRequest; }
+    public List<Long> getUnknownStudentIds() { return unknownStudentIds; }
+    public void setUnknownStudentIds(List<Long> unknownStudentIds) { this.unknownStudentIds = unknownStudentIds; }
+    public List<Long> getUnknownCourseIds() { return unknownCourseIds; }
+    public void setUnknownCourseIds(List<Long> unknownCourseIds) { this.unknownCourseIds = unknownCourseIds; }
+}
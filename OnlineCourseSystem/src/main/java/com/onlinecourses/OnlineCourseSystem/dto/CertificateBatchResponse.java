@@ -0,0 +1,30 @@
+package com.onlinecourses.OnlineCourseSystem.dto;
+
+import java.util.Map;
+
+public class CertificateBatchResponse {
+    private Long courseId;
+    private int queued;                  // completed enrollments newly queued by this request
+    private int requeued;                // failed jobs of the course sent back to the queue
+    private Map<String, Long> jobs;      // all of the course's jobs by status, after this request
+
+    // Constructors
+    public CertificateBatchResponse() {}
+
+    public CertificateBatchResponse(Long courseId, int queued, int requeued, Map<String, Long> jobs) {
+        this.courseId = courseId;
+        this.queued = queued;
+        this.requeued = requeued;
+        this.jobs = jobs;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+    public int getQueued() { return queued; }
+    public void setQueued(int queued) { this.queued = queued; }
+    public int getRequeued() { return requeued; }
+    public void setRequeued(int requeued) { this.requeued = requeued; }
+    public Map<String, Long> getJobs() { return jobs; }
+    public void setJobs(Map<String, Long> jobs) { this.jobs = jobs; }
+}
@@ -0,0 +1,38 @@
+package com.onlinecourses.OnlineCourseSystem.dto;
+
+public class CertificateVerificationResponse {
+    private String certificateId;
+    private String status;                   // VALID, INVALID_SIGNATURE, NOT_FOUND or MALFORMED
+    private boolean valid;
+    private CertificateResponse certificate; // null unless found
+    private String algorithm;                // Ed25519
+    private String keyId;                    // see GET /api/certificates/signing-key
+    private String signature;                // base64, over signedPayload
+    private String signedPayload;            // the exact UTF-8 text that was signed
+
+    // Constructors
+    public CertificateVerificationResponse() {}
+
+    public CertificateVerificationResponse(String certificateId, String status) {
+        this.certificateId = certificateId;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public String getCertificateId() { return certificateId; }
+    public void setCertificateId(String certificateId) { this.certificateId = certificateId; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public boolean isValid() { return valid; }
+    public void setValid(boolean valid) { this.valid = valid; }
+    public CertificateResponse getCertificate() { return certificate; }
+    public void setCertificate(CertificateResponse certificate) { this.certificate = certificate; }
+    public String getAlgorithm() { return algorithm; }
+    public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+    public String getKeyId() { return keyId; }
+    public void setKeyId(String keyId) { this.keyId = keyId; }
+    public String getSignature() { return signature; }
+    public void setSignature(String signature) { this.signature = signature; }
+    public String getSignedPayload() { return signedPayload; }
+    public void setSignedPayload(String signedPayload) { this.signedPayload = signedPayload; }
+}
@@ -0,0 +1,38 @@
+package com.onlinecourses.OnlineCourseSystem.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Query parameters for GET /api/courses/catalog. Repeated (or comma separated) category/level values are OR-ed,
+// different filters are AND-ed. Unset fields don't filter.
+public class CourseCatalogFilter {
+    private List<String> category;
+    private List<String> level;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private BigDecimal minRating;
+    private Long instructorId;
+    private Integer page;
+    private Integer size;
+
+    // Constructors
+    public CourseCatalogFilter() {}
+
+    // Getters and Setters
+    public List<String> getCategory() { return category; }
+    public void setCategory(List<String> category) { this.category = category; }
+    public List<String> getLevel() { return level; }
+    public void setLevel(List<String> level) { this.level = level; }
+    public BigDecimal getMinPrice() { return minPrice; }
+    public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+    public BigDecimal getMinRating() { return minRating; }
+    public void setMinRating(BigDecimal minRating) { this.minRating = minRating; }
+    public Long getInstructorId() { return instructorId; }
+    public void setInstructorId(Long instructorId) { this.instructorId = instructorId; }
+    public Integer getPage() { return page; }
+    public void setPage(Integer page) { this.page = page; }
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+}
@@ -0,0 +1,46 @@
+package com.onlinecourses.OnlineCourseSystem.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class CourseCatalogResponse {
+    private List<CourseResponse> content;
+    private Integer page;
+    private Integer size;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean hasNext;
+    // facet name ("category", "level", "price") -> value/bucket label -> matching course count.
+    // Each facet is counted with every other active filter applied but not its own, so the UI can offer alternatives.
+    private Map<String, Map<String, Integer>> facets;
+
+    // Constructors
+    public CourseCatalogResponse() {}
+
+    public CourseCatalogResponse(List<CourseResponse> content, Integer page, Integer size, Long totalElements,
+                                 Integer totalPages, boolean hasNext, Map<String, Map<String, Integer>> facets) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+        this.hasNext = hasNext;
+        this.facets = facets;
+    }
+
+    // Getters and Setters
+    public List<CourseResponse> getContent() { return content; }
+    public void setContent(List<CourseResponse> content) { this.content = content; }
+    public Integer getPage() { return page; }
+    public void setPage(Integer page) { this.page = page; }
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+    public Long getTotalElements() { return totalElements; }
+    public void setTotalElements(Long totalElements) { this.totalElements = totalElements; }
+    public Integer getTotalPages() { return totalPages; }
+    public void setTotalPages(Integer totalPages) { this.totalPages = totalPages; }
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+    public Map<String, Map<String, Integer>> getFacets() { return facets; }
+    public void setFacets(Map<String, Map<String, Integer>> facets) { this.facets = facets; }
+}
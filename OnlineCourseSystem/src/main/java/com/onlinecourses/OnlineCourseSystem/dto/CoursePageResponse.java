@@ -0,0 +1,43 @@
+package com.onlinecourses.OnlineCourseSystem.dto;
+
+import java.util.List;
+
+public class CoursePageResponse {
+    private List<CourseResponse> content;
+    private Integer page;              // null for cursor (keyset) pages
+    private Integer size;
+    private Long totalElements;        // null for cursor (keyset) pages - no COUNT query is run
+    private Integer totalPages;
+    private boolean hasNext;
+    private String nextCursor;         // opaque, pass back as ?cursor= to get the following page
+
+    // Constructors
+    public CoursePageResponse() {}
+
+    public CoursePageResponse(List<CourseResponse> content, Integer page, Integer size, Long totalElements,
+                              Integer totalPages, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<CourseResponse> getContent() { return content; }
+    public void setContent(List<CourseResponse> content) { this.content = content; }
+    public Integer getPage() { return page; }
+    public void setPage(Integer page) { this.page = page; }
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+    public Long getTotalElements() { return totalElements; }
+    public void setTotalElements(Long totalElements) { this.totalElements = totalElements; }
+    public Integer getTotalPages() { return totalPages; }
+    public void setTotalPages(Integer totalPages) { this.totalPages = totalPages; }
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,21 @@
+package com.onlinecourses.OnlineCourseSystem.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Read-only projection row for catalog queries (course + instructor + stored rating/enrollment counters)
+public interface CourseSummaryView {
+    Long getId();
+    String getTitle();
+    String getCategory();
+    String getDuration();
+    String getBatch();
+    String getLevel();
+    BigDecimal getPrice();
+    LocalDateTime getCreatedAt();
+    Long getInstructorId();
+    String getInstructorName();
+    BigDecimal getAverageRating();
+    Integer getTotalRatings();
+    Integer getEnrolledStudents();
+}
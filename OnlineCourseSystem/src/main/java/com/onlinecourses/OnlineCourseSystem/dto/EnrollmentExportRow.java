@@ -0,0 +1,51 @@
+package com.onlinecourses.OnlineCourseSystem.dto;
+
+import java.time.LocalDateTime;
+
+// Flat roster row for exports - built by a constructor expression, so streamed rows never enter the persistence context
+public class EnrollmentExportRow {
+    private final Long enrollmentId;
+    private final Long studentId;
+    private final String studentName;
+    private final String studentEmail;
+    private final LocalDateTime enrollmentDate;
+    private final Boolean completed;
+    private final LocalDateTime completionDate;
+    private final Integer rating;
+    private final Integer testScore;
+    private final Integer totalQuestions;
+    private final Double percentage;
+    private final Boolean passed;
+
+    public EnrollmentExportRow(Long enrollmentId, Long studentId, String studentName, String studentEmail,
+                               LocalDateTime enrollmentDate, Boolean completed, LocalDateTime completionDate,
+                               Integer rating, Integer testScore, Integer totalQuestions, Double percentage,
+                               Boolean passed) {
+        this.enrollmentId = enrollmentId;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.studentEmail = studentEmail;
+        this.enrollmentDate = enrollmentDate;
+        this.completed = completed;
+        this.completionDate = completionDate;
+        this.rating = rating;
+        this.testScore = testScore;
+        this.totalQuestions = totalQuestions;
+        this.percentage = percentage;
+        this.passed = passed;
+    }
+
+    // Getters
+    public Long getEnrollmentId() { return enrollmentId; }
+    public Long getStudentId() { return studentId; }
+    public String getStudentName() { return studentName; }
+    public String getStudentEmail() { return studentEmail; }
+    public LocalDateTime getEnrollmentDate() { return enrollmentDate; }
+    public Boolean getCompleted() { return completed; }
+    public LocalDateTime getCompletionDate() { return completionDate; }
+    public Integer getRating() { return rating; }
+    public Integer getTestScore() { return testScore; }
+    public Integer getTotalQuestions() { return totalQuestions; }
+    public Double getPercentage() { return percentage; }
+    public Boolean getPassed() { return passed; }
+}
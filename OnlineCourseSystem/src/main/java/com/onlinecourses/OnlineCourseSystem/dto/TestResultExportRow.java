@@ -0,0 +1,44 @@
+package com.onlinecourses.OnlineCourseSystem.dto;
+
+import java.time.LocalDateTime;
+
+// Flat test result row for exports, with the student's name joined in
+public class TestResultExportRow {
+    private final Long id;
+    private final Long enrollmentId;
+    private final Long studentId;
+    private final String studentName;
+    private final Integer testScore;
+    private final Integer totalQuestions;
+    private final Double percentage;
+    private final Boolean passed;
+    private final Boolean completed;
+    private final LocalDateTime createdAt;
+
+    public TestResultExportRow(Long id, Long enrollmentId, Long studentId, String studentName,
+                               Integer testScore, Integer totalQuestions, Double percentage, Boolean passed,
+                               Boolean completed, LocalDateTime createdAt) {
+        this.id = id;
+        this.enrollmentId = enrollmentId;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.testScore = testScore;
+        this.totalQuestions = totalQuestions;
+        this.percentage = percentage;
+        this.passed = passed;
+        this.completed = completed;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getEnrollmentId() { return enrollmentId; }
+    public Long getStudentId() { return studentId; }
+    public String getStudentName() { return studentName; }
+    public Integer getTestScore() { return testScore; }
+    public Integer getTotalQuestions() { return totalQuestions; }
+    public Double getPercentage() { return percentage; }
+    public Boolean getPassed() { return passed; }
+    public Boolean getCompleted() { return completed; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,10 @@
+package com.onlinecourses.OnlineCourseSystem.dto;
+
+import java.time.LocalDateTime;
+
+// Cheap change-detection row: row count plus the newest modification timestamps
+public interface VersionView {
+    Long getRowCount();
+    LocalDateTime getLastModified();
+    LocalDateTime getRelatedLastModified();
+}
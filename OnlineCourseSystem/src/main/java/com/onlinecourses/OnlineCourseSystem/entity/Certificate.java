@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "certificates")
+@Table(name = "certificates", indexes = {
+    @Index(name = "idx_certificates_enrollment", columnList = "enrollment_id")
+})
 public class Certificate {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -38,12 +40,23 @@ public class Certificate {
     @Column(length = 1000)
     private String certificateUrl;
 
+    // ✅ ADD: SHA-256 of the rendered PDF in the certificate file store (null until first rendered)
+    @Column(length = 64)
+    private String contentHash;
+
+    // ✅ ADD: Ed25519 signature of the printed fields (base64) and the signing key's id, see CertificateSigner
+    @Column(length = 128)
+    private String signature;
+
+    @Column(length = 16)
+    private String signingKeyId;
+
+    // ✅ CHANGED: certificateId is assigned by CertificateIdGenerator before saving (it is printed on the PDF);
+    // the old time + random suffix collided under concurrent issuance
     @PrePersist
     protected void onCreate() {
-        issueDate = LocalDateTime.now();
-        // Generate unique certificate ID
-        if (certificateId == null) {
-            certificateId = "CERT-" + System.currentTimeMillis() + "-" + (int)(Math.random() * 1000);
+        if (issueDate == null) {
+            issueDate = LocalDateTime.now();
         }
     }
 
@@ -84,4 +97,10 @@ public class Certificate {
     public void setScore(Integer score) { this.score = score; }
     public String getCertificateUrl() { return certificateUrl; }
     public void setCertificateUrl(String certificateUrl) { this.certificateUrl = certificateUrl; }
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+    public String getSignature() { return signature; }
+    public void setSignature(String signature) { this.signature = signature; }
+    public String getSigningKeyId() { return signingKeyId; }
+    public void setSigningKeyId(String signingKeyId) { this.signingKeyId = signingKeyId; }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.onlinecourses.OnlineCourseSystem.entity;
+
+public enum CertificateJobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -3,13 +3,19 @@ package com.onlinecourses.OnlineCourseSystem.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "courses")
+// Indexes are created by db/migration/V2 - keep both in sync (SchemaIndexVerifier checks at startup)
+@Table(name = "courses", indexes = {
+    @Index(name = "idx_courses_category", columnList = "category"),
+    @Index(name = "idx_courses_instructor", columnList = "instructor_id")
+})
+@DynamicUpdate // entity saves only write changed columns, so they never overwrite the SQL-maintained counters
 public class Course {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,16 +29,24 @@ public class Course {
     private String batch;
     private String level;
     
-    @Column(precision = 10, scale = 2)
+    // NOT NULL (V7): the sortable columns must never be null or keyset paging skips the row
+    @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price = BigDecimal.ZERO;
 
     // ✅ ADD: Rating fields
-    @Column(name = "average_rating", precision = 3, scale = 2)
+    @Column(name = "average_rating", nullable = false, precision = 3, scale = 2)
     private BigDecimal averageRating = BigDecimal.ZERO;
 
     @Column(name = "total_ratings")
     private Integer totalRatings = 0;
 
+    // ✅ ADD: Running counters maintained by CourseRepository delta updates (see EnrollmentService)
+    @Column(name = "rating_sum")
+    private Long ratingSum = 0L;
+
+    @Column(name = "enrolled_students")
+    private Integer enrolledStudents = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "instructor_id")
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "enrollments", "password"})
@@ -42,7 +56,7 @@ public class Course {
     @JsonIgnore
     private List<Enrollment> enrollments = new ArrayList<>();
 
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
@@ -69,7 +83,7 @@ public class Course {
         this.duration = duration;
         this.batch = batch;
         this.level = level;
-        this.price = price;
+        this.price = price != null ? price : BigDecimal.ZERO;
         this.instructor = instructor;
     }
 
@@ -87,13 +101,17 @@ public class Course {
     public String getLevel() { return level; }
     public void setLevel(String level) { this.level = level; }
     public BigDecimal getPrice() { return price; }
-    public void setPrice(BigDecimal price) { this.price = price; }
+    public void setPrice(BigDecimal price) { this.price = price != null ? price : BigDecimal.ZERO; }
     
     // ✅ ADD: Rating getters and setters
     public BigDecimal getAverageRating() { return averageRating; }
-    public void setAverageRating(BigDecimal averageRating) { this.averageRating = averageRating; }
+    public void setAverageRating(BigDecimal averageRating) { this.averageRating = averageRating != null ? averageRating : BigDecimal.ZERO; }
     public Integer getTotalRatings() { return totalRatings; }
     public void setTotalRatings(Integer totalRatings) { this.totalRatings = totalRatings; }
+    public Long getRatingSum() { return ratingSum; }
+    public void setRatingSum(Long ratingSum) { this.ratingSum = ratingSum; }
+    public Integer getEnrolledStudents() { return enrolledStudents != null ? enrolledStudents : 0; }
+    public void setEnrolledStudents(Integer enrolledStudents) { this.enrolledStudents = enrolledStudents; }
     
     public User getInstructor() { return instructor; }
     public void setInstructor(User instructor) { this.instructor = instructor; }
@@ -104,12 +122,6 @@ public class Course {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
-    // ✅ ADD: Helper method to calculate enrolled students
-    @Transient
-    public Integer getEnrolledStudents() {
-        return enrollments != null ? enrollments.size() : 0;
-    }
-
     // ✅ ADD: Helper method to get instructor name
    // In Course.java - update the helper method
 @Transient
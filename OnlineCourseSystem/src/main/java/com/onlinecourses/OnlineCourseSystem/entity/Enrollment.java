@@ -3,12 +3,20 @@ package com.onlinecourses.OnlineCourseSystem.entity;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Entity
 @Table(name = "enrollments", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"student_id", "course_id"})
+}, indexes = {
+    // student lookups use the unique (student_id, course_id) index; course lookups need their own
+    @Index(name = "idx_enrollments_course", columnList = "course_id")
 })
 public class Enrollment {
+
+    private static final Logger log = LoggerFactory.getLogger(Enrollment.class);
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -29,6 +37,10 @@ public class Enrollment {
     @Column(name = "completion_date")
     private LocalDateTime completionDate;
 
+    // ✅ ADD: Change tracking for conditional GET (ETag / Last-Modified) on enrollment lists
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     private boolean completed = false;
     private Integer rating;
     
@@ -51,6 +63,12 @@ public class Enrollment {
     @PrePersist
     protected void onCreate() {
         enrollmentDate = LocalDateTime.now();
+        updatedAt = enrollmentDate;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
 
     // Constructors
@@ -72,6 +90,8 @@ public class Enrollment {
     public void setEnrollmentDate(LocalDateTime enrollmentDate) { this.enrollmentDate = enrollmentDate; }
     public LocalDateTime getCompletionDate() { return completionDate; }
     public void setCompletionDate(LocalDateTime completionDate) { this.completionDate = completionDate; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     public boolean isCompleted() { return completed; }
     public void setCompleted(boolean completed) { this.completed = completed; }
     public Integer getRating() { return rating; }
@@ -124,15 +144,14 @@ public class Enrollment {
         
         // ❌ REMOVED: Auto-complete course if test is passed
         // Let the service layer handle completion logic instead
-        System.out.println("📊 Test results updated - Score: " + testScore + "/" + totalQuestions + 
-                          " (" + percentage + "%) - Passed: " + passed);
+        log.debug("Test results updated - Score: {}/{} ({}%) - Passed: {}", testScore, totalQuestions, percentage, passed);
     }
 
     // ✅ ADD: Method to mark course as completed (only call this when appropriate)
     public void markAsCompleted() {
         this.completed = true;
         this.completionDate = LocalDateTime.now();
-        System.out.println("🏆 Course marked as completed");
+        log.debug("Course marked as completed");
     }
 
     @Override
@@ -5,7 +5,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "test_results")
+@Table(name = "test_results", indexes = {
+    @Index(name = "idx_test_results_enrollment", columnList = "enrollment_id"),
+    @Index(name = "idx_test_results_student_passed", columnList = "student_id, passed"),
+    @Index(name = "idx_test_results_course_student", columnList = "course_id, student_id")
+})
 public class TestResult {
     
     @Id
@@ -1,5 +1,6 @@
 package com.onlinecourses.OnlineCourseSystem.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -16,6 +17,8 @@ public class User {
     @Column(unique = true, nullable = false)
     private String email;
 
+    // ✅ FIX: A bcrypt hash (see PasswordHasher); accepted from JSON but never written back out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     private String password;
 
@@ -26,6 +29,10 @@ public class User {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // ✅ ADD: Part of the version (ETag) of the courses this user teaches
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     // ✅ ADD: Avatar field - store the index (0-19) for default avatars
     @Column(name = "avatar_index")
     private Integer avatarIndex = 0; // Default to first avatar
@@ -33,11 +40,17 @@ public class User {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
         if (avatarIndex == null) {
             avatarIndex = 0; // Ensure default value
         }
     }
 
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
     // Constructors, Getters and Setters
     public User() {}
     public User(String name, String email, String password, UserRole role) {
@@ -59,6 +72,7 @@ public class User {
     public UserRole getRole() { return role; }
     public void setRole(UserRole role) { this.role = role; }
     public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
     
     // ✅ ADD: Avatar getter and setter
     public Integer getAvatarIndex() { return avatarIndex; }
@@ -0,0 +1,70 @@
+package com.onlinecourses.OnlineCourseSystem.repository;
+
+import com.onlinecourses.OnlineCourseSystem.entity.CertificateJob;
+import com.onlinecourses.OnlineCourseSystem.entity.CertificateJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CertificateJobRepository extends JpaRepository<CertificateJob, Long> {
+
+    Optional<CertificateJob> findByEnrollmentId(Long enrollmentId);
+
+    long countByStatus(CertificateJobStatus status);
+
+    // Oldest claimable jobs first; served by idx_certificate_jobs_status_available
+    @Query("SELECT j.id FROM CertificateJob j WHERE j.status = com.onlinecourses.OnlineCourseSystem.entity.CertificateJobStatus.QUEUED " +
+           "AND j.availableAt <= :now ORDER BY j.availableAt, j.id")
+    List<Long> findClaimableIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Returns 1 if this caller won the job, 0 if another worker (or instance) claimed it first
+    @Transactional
+    @Modifying
+    @Query("UPDATE CertificateJob j SET j.status = com.onlinecourses.OnlineCourseSystem.entity.CertificateJobStatus.RUNNING, " +
+           "j.attempts = j.attempts + 1, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = com.onlinecourses.OnlineCourseSystem.entity.CertificateJobStatus.QUEUED")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Jobs left RUNNING by a worker that died (crash, kill -9) go back to the queue
+    @Transactional
+    @Modifying
+    @Query("UPDATE CertificateJob j SET j.status = com.onlinecourses.OnlineCourseSystem.entity.CertificateJobStatus.QUEUED, " +
+           "j.availableAt = :now, j.updatedAt = :now " +
+           "WHERE j.status = com.onlinecourses.OnlineCourseSystem.entity.CertificateJobStatus.RUNNING AND j.updatedAt < :staleBefore")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now);
+
+    // Completed enrollments of the course with neither a certificate nor a job, queued in one INSERT ... SELECT
+    @Modifying
+    @Query(value = "INSERT INTO certificate_jobs (enrollment_id, status, attempts, available_at, created_at, updated_at) " +
+                   "SELECT e.id, 'QUEUED', 0, :now, :now, :now FROM enrollments e " +
+                   "WHERE e.course_id = :courseId AND e.completed = true " +
+                   "AND NOT EXISTS (SELECT 1 FROM certificates c WHERE c.enrollment_id = e.id) " +
+                   "AND NOT EXISTS (SELECT 1 FROM certificate_jobs j WHERE j.enrollment_id = e.id)",
+           nativeQuery = true)
+    int queueUnqueuedCompletions(@Param("courseId") Long courseId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE CertificateJob j SET j.status = com.onlinecourses.OnlineCourseSystem.entity.CertificateJobStatus.QUEUED, " +
+           "j.attempts = 0, j.error = null, j.availableAt = :now, j.updatedAt = :now " +
+           "WHERE j.status = com.onlinecourses.OnlineCourseSystem.entity.CertificateJobStatus.FAILED " +
+           "AND j.enrollmentId IN (SELECT e.id FROM Enrollment e WHERE e.course.id = :courseId)")
+    int requeueFailedForCourse(@Param("courseId") Long courseId, @Param("now") LocalDateTime now);
+
+    // certificate_jobs references the enrollment, so unenrolling removes its job first
+    @Modifying
+    @Query("DELETE FROM CertificateJob j WHERE j.enrollmentId = :enrollmentId")
+    int deleteByEnrollmentId(@Param("enrollmentId") Long enrollmentId);
+
+    @Query("SELECT j.status, COUNT(j) FROM CertificateJob j " +
+           "WHERE j.enrollmentId IN (SELECT e.id FROM Enrollment e WHERE e.course.id = :courseId) GROUP BY j.status")
+    List<Object[]> countByStatusForCourse(@Param("courseId") Long courseId);
+}
@@ -3,7 +3,11 @@ package com.onlinecourses.OnlineCourseSystem.repository;
 import com.onlinecourses.OnlineCourseSystem.entity.Certificate;
 import com.onlinecourses.OnlineCourseSystem.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +18,13 @@ public interface CertificateRepository extends JpaRepository<Certificate, Long>
     List<Certificate> findByEnrollmentStudentId(Long studentId);
     Optional<Certificate> findByEnrollmentId(Long enrollmentId);
     boolean existsByEnrollmentId(Long enrollmentId);
+
+    // Certificates issued before signing existed, a batch at a time (see CertificateService.signLegacyCertificates)
+    List<Certificate> findTop500BySignatureIsNullOrderByIdAsc();
+
+    // Its own short transaction: called after rendering, which must not hold a connection
+    @Transactional
+    @Modifying
+    @Query("UPDATE Certificate c SET c.contentHash = :contentHash WHERE c.id = :id")
+    int updateContentHash(@Param("id") Long id, @Param("contentHash") String contentHash);
 }
\ No newline at end of file
@@ -1,12 +1,120 @@
 package com.onlinecourses.OnlineCourseSystem.repository;
 
+import com.onlinecourses.OnlineCourseSystem.dto.CourseSummaryView;
+import com.onlinecourses.OnlineCourseSystem.dto.VersionView;
 import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByCategory(String category);
     List<Course> findByInstructorId(Long instructorId);
-}
\ No newline at end of file
+
+    // Catalog projection: one row per course with its instructor and the precomputed counters
+    String CATALOG_SELECT = "SELECT c.id AS id, c.title AS title, c.category AS category, " +
+            "c.duration AS duration, c.batch AS batch, c.level AS level, c.price AS price, " +
+            "c.createdAt AS createdAt, i.id AS instructorId, i.name AS instructorName, " +
+            "c.averageRating AS averageRating, c.totalRatings AS totalRatings, " +
+            "c.enrolledStudents AS enrolledStudents " +
+            "FROM Course c LEFT JOIN c.instructor i ";
+
+    @Query(CATALOG_SELECT + "ORDER BY c.id")
+    List<CourseSummaryView> findCatalog();
+
+    @Query(CATALOG_SELECT + "WHERE c.category = :category ORDER BY c.id")
+    List<CourseSummaryView> findCatalogByCategory(@Param("category") String category);
+
+    @Query(CATALOG_SELECT + "WHERE i.id = :instructorId ORDER BY c.id")
+    List<CourseSummaryView> findCatalogByInstructorId(@Param("instructorId") Long instructorId);
+
+    @Query(CATALOG_SELECT + "WHERE c.id = :courseId")
+    Optional<CourseSummaryView> findCatalogById(@Param("courseId") Long courseId);
+
+    @Query(CATALOG_SELECT + "WHERE c.id IN :courseIds")
+    List<CourseSummaryView> findCatalogByIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    // For entities that are read after their transaction (no open-in-view): the instructor comes loaded
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.instructor WHERE c.id = :courseId")
+    Optional<Course> findWithInstructorById(@Param("courseId") Long courseId);
+
+    @Query("SELECT c.id FROM Course c WHERE c.id IN :courseIds")
+    List<Long> findIdsByIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    // Offset pages select ids only; the page's rows are then loaded with findCatalogByIdIn
+    @Query(value = "SELECT c.id FROM Course c", countQuery = "SELECT COUNT(c) FROM Course c")
+    Page<Long> findPageIds(Pageable pageable);
+
+    @Query(value = "SELECT c.id FROM Course c WHERE c.category = :category",
+           countQuery = "SELECT COUNT(c) FROM Course c WHERE c.category = :category")
+    Page<Long> findPageIdsByCategory(@Param("category") String category, Pageable pageable);
+
+    @Query(value = "SELECT c.id FROM Course c WHERE c.instructor.id = :instructorId",
+           countQuery = "SELECT COUNT(c) FROM Course c WHERE c.instructor.id = :instructorId")
+    Page<Long> findPageIdsByInstructorId(@Param("instructorId") Long instructorId, Pageable pageable);
+
+    // Keyset windows: WHERE (sortKey, id) > (:lastKey, :lastId) ... LIMIT n, no OFFSET scan
+    Window<Course> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    Window<Course> findByCategory(String category, ScrollPosition position, Sort sort, Limit limit);
+    Window<Course> findByInstructorId(Long instructorId, ScrollPosition position, Sort sort, Limit limit);
+
+    // Version probes for conditional GET - answer "has anything changed?" without loading rows
+    // (the responses include the instructor's name, so instructor edits count as changes too)
+    @Query("SELECT COUNT(c) AS rowCount, MAX(c.updatedAt) AS lastModified, MAX(i.updatedAt) AS relatedLastModified " +
+           "FROM Course c LEFT JOIN c.instructor i")
+    VersionView findCatalogVersion();
+
+    // rowCount is 0 when there is no such course
+    @Query("SELECT COUNT(c) AS rowCount, MAX(c.updatedAt) AS lastModified, MAX(i.updatedAt) AS relatedLastModified " +
+           "FROM Course c LEFT JOIN c.instructor i WHERE c.id = :courseId")
+    VersionView findCourseVersion(@Param("courseId") Long courseId);
+
+    @Query("SELECT c.id FROM Course c WHERE c.instructor.id = :instructorId")
+    List<Long> findIdsByInstructorId(@Param("instructorId") Long instructorId);
+
+    // Counter maintenance: atomic SQL deltas, O(1) per enrollment/rating change.
+    // averageRating is assigned first so it reads the pre-update sum/count on every database.
+    @Transactional
+    @Modifying
+    @Query("UPDATE Course c SET c.enrolledStudents = COALESCE(c.enrolledStudents, 0) + :delta, " +
+           "c.updatedAt = LOCAL DATETIME WHERE c.id = :courseId")
+    int incrementEnrolledStudents(@Param("courseId") Long courseId, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Course c SET " +
+           "c.averageRating = CAST(CASE WHEN COALESCE(c.totalRatings, 0) + :countDelta > 0 " +
+           "THEN (COALESCE(c.ratingSum, 0) + :sumDelta) * 1.0 / (COALESCE(c.totalRatings, 0) + :countDelta) " +
+           "ELSE 0 END AS BigDecimal), " +
+           "c.ratingSum = COALESCE(c.ratingSum, 0) + :sumDelta, " +
+           "c.totalRatings = COALESCE(c.totalRatings, 0) + :countDelta, " +
+           "c.updatedAt = LOCAL DATETIME " +
+           "WHERE c.id = :courseId")
+    int applyRatingDelta(@Param("courseId") Long courseId, @Param("sumDelta") long sumDelta,
+                         @Param("countDelta") int countDelta);
+
+    // One-off recount for rows created before the counter columns existed
+    @Transactional
+    @Modifying
+    @Query("UPDATE Course c SET " +
+           "c.averageRating = CAST(COALESCE((SELECT AVG(e.rating * 1.0) FROM Enrollment e " +
+           "WHERE e.course = c AND e.rating > 0), 0) AS BigDecimal), " +
+           "c.ratingSum = (SELECT COALESCE(SUM(e.rating), 0) FROM Enrollment e WHERE e.course = c AND e.rating > 0), " +
+           "c.totalRatings = (SELECT COUNT(e) FROM Enrollment e WHERE e.course = c AND e.rating > 0), " +
+           "c.enrolledStudents = (SELECT COUNT(e) FROM Enrollment e WHERE e.course = c) " +
+           "WHERE c.ratingSum IS NULL OR c.enrolledStudents IS NULL")
+    int backfillCounters();
+}
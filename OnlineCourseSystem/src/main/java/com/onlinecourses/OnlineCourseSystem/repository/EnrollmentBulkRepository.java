@@ -0,0 +1,128 @@
+package com.onlinecourses.OnlineCourseSystem.repository;
+
+import com.onlinecourses.OnlineCourseSystem.entity.Enrollment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+// Plain JDBC for bulk enrollment writes. Enrollment ids are IDENTITY-generated, which makes Hibernate
+// insert row by row; here each course's new rows go out as multi-row INSERTs and nobody needs the
+// generated ids back.
+@Repository
+public class EnrollmentBulkRepository {
+
+    // IGNORE: a pair enrolled concurrently since findExisting is skipped by the (student_id, course_id)
+    // unique key instead of failing the whole request
+    private static final String INSERT_SQL = "INSERT IGNORE INTO enrollments " +
+            "(student_id, course_id, enrollment_date, updated_at, completed, passed, percentage, test_score, total_questions) " +
+            "VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Keeps IN lists well below driver/database parameter limits
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    // Column values of a new enrollment come from the entity's own defaults
+    private static final Enrollment NEW_ENROLLMENT = new Enrollment();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Value("${app.enrollments.bulk.batch-size:500}")
+    private int batchSize;
+
+    public record StudentCourse(long studentId, long courseId) {}
+
+    // Pairs from the given students x courses that are already enrolled, one query per chunk of students
+    public Set<StudentCourse> findExisting(Collection<Long> studentIds, Collection<Long> courseIds) {
+        Set<StudentCourse> existing = new HashSet<>();
+        if (studentIds.isEmpty() || courseIds.isEmpty()) {
+            return existing;
+        }
+        List<Long> students = new ArrayList<>(studentIds);
+        List<Long> courses = new ArrayList<>(courseIds);
+        for (int from = 0; from < students.size(); from += IN_CHUNK_SIZE) {
+            List<Long> studentChunk = students.subList(from, Math.min(from + IN_CHUNK_SIZE, students.size()));
+            for (int courseFrom = 0; courseFrom < courses.size(); courseFrom += IN_CHUNK_SIZE) {
+                List<Long> courseChunk = courses.subList(courseFrom, Math.min(courseFrom + IN_CHUNK_SIZE, courses.size()));
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                        .addValue("studentIds", studentChunk)
+                        .addValue("courseIds", courseChunk);
+                namedJdbcTemplate.query(
+                        "SELECT student_id, course_id FROM enrollments WHERE student_id IN (:studentIds) AND course_id IN (:courseIds)",
+                        params,
+                        rs -> {
+                            existing.add(new StudentCourse(rs.getLong("student_id"), rs.getLong("course_id")));
+                        });
+            }
+        }
+        return existing;
+    }
+
+    // Runs an id lookup over IN lists of at most IN_CHUNK_SIZE ids and collects the results
+    public static Set<Long> findInChunks(Collection<Long> ids, Function<List<Long>, List<Long>> lookup) {
+        Set<Long> found = new HashSet<>();
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += IN_CHUNK_SIZE) {
+            found.addAll(lookup.apply(all.subList(from, Math.min(from + IN_CHUNK_SIZE, all.size()))));
+        }
+        return found;
+    }
+
+    // Returns courseId -> rows actually inserted, leaving out pairs that already exist. Each statement holds
+    // one course's rows so its update count is that course's delta (batched update counts can't be used:
+    // rewritten batches report SUCCESS_NO_INFO per row).
+    public Map<Long, Integer> insertAll(List<StudentCourse> pairs, LocalDateTime enrolledAt) {
+        Map<Long, List<StudentCourse>> byCourse = new TreeMap<>();
+        pairs.forEach(pair -> byCourse.computeIfAbsent(pair.courseId(), id -> new ArrayList<>()).add(pair));
+
+        Timestamp timestamp = Timestamp.valueOf(enrolledAt);
+        Map<Long, Integer> inserted = new TreeMap<>();
+        byCourse.forEach((courseId, coursePairs) -> {
+            int count = 0;
+            for (int from = 0; from < coursePairs.size(); from += batchSize) {
+                List<StudentCourse> chunk = coursePairs.subList(from, Math.min(from + batchSize, coursePairs.size()));
+                count += insertChunk(chunk, timestamp);
+            }
+            if (count > 0) {
+                inserted.put(courseId, count);
+            }
+        });
+        return inserted;
+    }
+
+    private int insertChunk(List<StudentCourse> chunk, Timestamp timestamp) {
+        String sql = INSERT_SQL + String.join(", ", Collections.nCopies(chunk.size(), INSERT_ROW));
+        return jdbcTemplate.update(sql, ps -> {
+            int index = 1;
+            for (StudentCourse pair : chunk) {
+                ps.setLong(index++, pair.studentId());
+                ps.setLong(index++, pair.courseId());
+                ps.setTimestamp(index++, timestamp);
+                ps.setTimestamp(index++, timestamp);
+                ps.setBoolean(index++, NEW_ENROLLMENT.isCompleted());
+                ps.setBoolean(index++, NEW_ENROLLMENT.getPassed());
+                ps.setDouble(index++, NEW_ENROLLMENT.getPercentage());
+                ps.setInt(index++, NEW_ENROLLMENT.getTestScore());
+                ps.setInt(index++, NEW_ENROLLMENT.getTotalQuestions());
+            }
+        });
+    }
+}
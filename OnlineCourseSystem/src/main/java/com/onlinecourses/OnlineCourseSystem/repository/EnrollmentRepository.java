@@ -1,12 +1,22 @@
 package com.onlinecourses.OnlineCourseSystem.repository;
 
+import com.onlinecourses.OnlineCourseSystem.dto.EnrollmentExportRow;
+import com.onlinecourses.OnlineCourseSystem.dto.VersionView;
 import com.onlinecourses.OnlineCourseSystem.entity.Enrollment;
 import com.onlinecourses.OnlineCourseSystem.entity.User;
 import com.onlinecourses.OnlineCourseSystem.entity.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
@@ -16,4 +26,45 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     List<Enrollment> findByStudentId(Long studentId);
     List<Enrollment> findByCourseId(Long courseId);
     boolean existsByStudentAndCourse(User student, Course course);
-}
\ No newline at end of file
+
+    // SELECT ... FOR UPDATE: rating changes read the old rating and apply the difference to the course
+    // counters, so concurrent changes to one enrollment must take turns or both apply against the same old value
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Enrollment e WHERE e.id = :id")
+    Optional<Enrollment> findByIdForUpdate(@Param("id") Long id);
+
+    // Fetch-join course + instructor so response conversion needs no per-row lazy loads
+    // (course rating stats are counters on the course row, so they come along in the same query)
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.course c LEFT JOIN FETCH c.instructor WHERE e.student.id = :studentId")
+    List<Enrollment> findByStudentIdWithCourse(@Param("studentId") Long studentId);
+
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.course c LEFT JOIN FETCH c.instructor WHERE c.id = :courseId")
+    List<Enrollment> findByCourseIdWithCourse(@Param("courseId") Long courseId);
+
+    // Everything a certificate prints, in one query (certificate job workers)
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course c LEFT JOIN FETCH c.instructor WHERE e.id = :id")
+    Optional<Enrollment> findByIdWithStudentAndCourse(@Param("id") Long id);
+
+    // Version probe for conditional GET on a student's enrollment list: the enrollment rows, then the later of
+    // their courses and the courses' instructors (the responses show the instructor's name)
+    @Query("SELECT COUNT(e) AS rowCount, MAX(e.updatedAt) AS lastModified, " +
+           "CASE WHEN MAX(i.updatedAt) IS NULL OR MAX(i.updatedAt) < MAX(c.updatedAt) THEN MAX(c.updatedAt) " +
+           "ELSE MAX(i.updatedAt) END AS relatedLastModified " +
+           "FROM Enrollment e JOIN e.course c LEFT JOIN c.instructor i WHERE e.student.id = :studentId")
+    VersionView findStudentEnrollmentsVersion(@Param("studentId") Long studentId);
+
+    // Export cursor: forward-only, fetched EXPORT_FETCH_SIZE rows at a time (server-side cursor on MySQL
+    // with useCursorFetch=true). Must be consumed inside a transaction and closed by the caller.
+    String EXPORT_FETCH_SIZE = "1000";
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.onlinecourses.OnlineCourseSystem.dto.EnrollmentExportRow(e.id, s.id, s.name, s.email, " +
+           "e.enrollmentDate, e.completed, e.completionDate, e.rating, e.testScore, e.totalQuestions, " +
+           "e.percentage, e.passed) " +
+           "FROM Enrollment e LEFT JOIN e.student s WHERE e.course.id = :courseId ORDER BY e.id")
+    Stream<EnrollmentExportRow> streamExportByCourseId(@Param("courseId") Long courseId);
+}
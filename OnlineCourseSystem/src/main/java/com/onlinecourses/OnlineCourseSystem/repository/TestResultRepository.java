@@ -1,13 +1,18 @@
 package com.onlinecourses.OnlineCourseSystem.repository;
 
+import com.onlinecourses.OnlineCourseSystem.dto.TestResultExportRow;
 import com.onlinecourses.OnlineCourseSystem.entity.TestResult;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TestResultRepository extends JpaRepository<TestResult, Long> {
@@ -30,4 +35,15 @@ public interface TestResultRepository extends JpaRepository<TestResult, Long> {
     // Get test results with passing status
     @Query("SELECT tr FROM TestResult tr WHERE tr.studentId = :studentId AND tr.passed = true")
     List<TestResult> findPassedTestsByStudentId(@Param("studentId") Long studentId);
-}
\ No newline at end of file
+    
+    // Export cursor for a course's results, see EnrollmentRepository.streamExportByCourseId
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EnrollmentRepository.EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.onlinecourses.OnlineCourseSystem.dto.TestResultExportRow(tr.id, tr.enrollmentId, " +
+           "tr.studentId, u.name, tr.testScore, tr.totalQuestions, tr.percentage, tr.passed, tr.completed, tr.createdAt) " +
+           "FROM TestResult tr LEFT JOIN User u ON u.id = tr.studentId WHERE tr.courseId = :courseId ORDER BY tr.id")
+    Stream<TestResultExportRow> streamExportByCourseId(@Param("courseId") Long courseId);
+}
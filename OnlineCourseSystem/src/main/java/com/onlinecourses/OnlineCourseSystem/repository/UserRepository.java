@@ -1,12 +1,21 @@
 package com.onlinecourses.OnlineCourseSystem.repository;
 
 import com.onlinecourses.OnlineCourseSystem.entity.User;
+import com.onlinecourses.OnlineCourseSystem.entity.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
+
+    // Set-based existence check for bulk operations: which of these ids are users with the given role
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.role = :role")
+    List<Long> findIdsByIdInAndRole(@Param("ids") Collection<Long> ids, @Param("role") UserRole role);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+// Published when a certificate is issued or deleted, so cached verification results for its id are dropped.
+public class CertificateChangedEvent {
+    private final String certificateId;
+
+    public CertificateChangedEvent(String certificateId) {
+        this.certificateId = certificateId;
+    }
+
+    public String getCertificateId() { return certificateId; }
+}
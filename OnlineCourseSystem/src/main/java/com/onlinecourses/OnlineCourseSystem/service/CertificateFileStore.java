@@ -0,0 +1,89 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// Content-addressed file store for rendered certificates: a file's name is the SHA-256 of its bytes,
+// fanned out by the first two byte pairs (ab/cd/abcd...pdf). Files are written to a temp file and
+// renamed into place, so readers never see a partial file, and storing bytes that are already there
+// is a no-op. Nothing is ever modified in place, which makes every stored file safe to cache and serve.
+@Component
+public class CertificateFileStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final String EXTENSION = ".pdf";
+
+    @Value("${app.certificates.store-dir:data/certificates}")
+    private Path root;
+
+    private Path tempDir;
+
+    @PostConstruct
+    public void init() {
+        try {
+            root = root.toAbsolutePath().normalize();
+            // Same file system as the final location, so the rename is atomic
+            tempDir = Files.createDirectories(root.resolve("tmp"));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create certificate store at " + root + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Stores the bytes (unless an identical file is already there) and returns their hash
+    public String put(byte[] content) {
+        String hash = sha256(content);
+        Path target = pathFor(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(tempDir, hash, ".part");
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return hash;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store certificate file: " + e.getMessage());
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // left for the next cleanup of tmp/
+                }
+            }
+        }
+    }
+
+    public Optional<Path> find(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathFor(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash + EXTENSION);
+    }
+
+    static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
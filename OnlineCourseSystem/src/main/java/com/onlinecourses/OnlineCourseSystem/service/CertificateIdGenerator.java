@@ -0,0 +1,146 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Certificate ids: a Snowflake-style 63-bit number - milliseconds since 2024-01-01 (41 bits, good until
+// 2093), node id (10 bits) and a per-millisecond sequence (12 bits) - written in Crockford base32 with a
+// mod-37 check symbol, e.g. CERT-00Q2R4V-8J07ZC3. Ids are unique as long as no two running instances share
+// a node id, sort by issue time, and are generated without locks: the last (time, sequence) pair is one
+// AtomicLong advanced by compare-and-set. When the sequence runs out within a millisecond, or the clock
+// steps back, ids keep counting from the last one issued instead of waiting for the clock.
+@Component
+public class CertificateIdGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificateIdGenerator.class);
+
+    private static final String PREFIX = "CERT-";
+    private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Crockford base32: no I, L, O or U; the last five symbols are only used by the check symbol
+    private static final char[] SYMBOLS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ*~$=U".toCharArray();
+    private static final String ALPHABET = new String(SYMBOLS);
+    private static final int BODY_LENGTH = 13;  // 13 x 5 bits covers 63
+
+    // -1 derives a node id from the host name and process id; set it explicitly (0-1023, unique per
+    // running instance) wherever more than one instance issues certificates
+    @Value("${app.certificates.ids.node-id:-1}")
+    private long configuredNodeId;
+
+    private long nodeId;
+
+    // (milliseconds since EPOCH << SEQUENCE_BITS) | sequence of the last id issued
+    private final AtomicLong last = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (configuredNodeId > MAX_NODE) {
+            throw new IllegalStateException("app.certificates.ids.node-id must be between 0 and " + MAX_NODE);
+        }
+        nodeId = configuredNodeId >= 0 ? configuredNodeId : derivedNodeId();
+        log.info("Certificate ids: node {}{}", nodeId, configuredNodeId >= 0 ? "" : " (derived; set app.certificates.ids.node-id when running several instances)");
+    }
+
+    public String next() {
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = last.get();
+            // Same millisecond, sequence exhausted or clock behind: take the next value after the last one,
+            // which rolls into the following millisecond once the sequence wraps
+            next = Math.max(now, previous + 1);
+        } while (!last.compareAndSet(previous, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & SEQUENCE_MASK;
+        return format((timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence);
+    }
+
+    // Canonical form of a typed-in id (any case, with or without dashes, I/L read as 1 and O as 0), or
+    // empty if it isn't one of ours or its check symbol doesn't match - i.e. a typo
+    public static Optional<String> normalize(String certificateId) {
+        long number = parse(certificateId);
+        return number < 0 ? Optional.empty() : Optional.of(format(number));
+    }
+
+    public static boolean isValid(String certificateId) {
+        return parse(certificateId) >= 0;
+    }
+
+    // When the id was issued, to the millisecond
+    public static Instant issuedAt(String certificateId) {
+        long number = parse(certificateId);
+        if (number < 0) {
+            throw new IllegalArgumentException("Not a certificate id: " + certificateId);
+        }
+        return Instant.ofEpochMilli((number >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH);
+    }
+
+    // The id's number, or -1 if it doesn't parse or fails the check
+    private static long parse(String certificateId) {
+        if (certificateId == null) {
+            return -1;
+        }
+        String value = certificateId.trim().toUpperCase(Locale.ROOT).replace("-", "");
+        if (value.startsWith("CERT")) {
+            value = value.substring(4);
+        }
+        if (value.length() != BODY_LENGTH + 1) {
+            return -1;
+        }
+        long number = 0;
+        for (int i = 0; i < BODY_LENGTH; i++) {
+            int digit = decode(value.charAt(i));
+            // The first digit only carries 3 bits
+            if (digit < 0 || digit >= (i == 0 ? 8 : 32)) {
+                return -1;
+            }
+            number = (number << 5) | digit;
+        }
+        return decode(value.charAt(BODY_LENGTH)) == number % SYMBOLS.length ? number : -1;
+    }
+
+    // CERT-XXXXXXX-XXXXXXC: 13 base32 digits and the check symbol, in two groups of seven
+    private static String format(long number) {
+        char[] id = new char[BODY_LENGTH + 1];
+        long rest = number;
+        for (int i = BODY_LENGTH - 1; i >= 0; i--) {
+            id[i] = SYMBOLS[(int) (rest & 31)];
+            rest >>>= 5;
+        }
+        id[BODY_LENGTH] = SYMBOLS[(int) (number % SYMBOLS.length)];
+        return PREFIX + new String(id, 0, 7) + "-" + new String(id, 7, 7);
+    }
+
+    private static int decode(char c) {
+        return switch (c) {
+            case 'O' -> 0;
+            case 'I', 'L' -> 1;
+            default -> ALPHABET.indexOf(c);
+        };
+    }
+
+    private static long derivedNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return ((host + "/" + ProcessHandle.current().pid()).hashCode() & 0x7fffffffL) % (MAX_NODE + 1);
+    }
+}
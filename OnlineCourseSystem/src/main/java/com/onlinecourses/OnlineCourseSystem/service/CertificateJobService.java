@@ -0,0 +1,247 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.dto.CertificateBatchResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.CertificateJobResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.CertificateRequest;
+import com.onlinecourses.OnlineCourseSystem.entity.Certificate;
+import com.onlinecourses.OnlineCourseSystem.entity.CertificateJob;
+import com.onlinecourses.OnlineCourseSystem.entity.CertificateJobStatus;
+import com.onlinecourses.OnlineCourseSystem.entity.Enrollment;
+import com.onlinecourses.OnlineCourseSystem.repository.CertificateJobRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.CertificateRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.EnrollmentRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Certificate requests go into the certificate_jobs table and return straight away; CertificateJobWorker
+// renders them in the background. The queue is bounded (app.certificates.jobs.max-queued): beyond it new
+// submissions are refused with CertificateQueueFullException rather than piling up behind the workers.
+@Service
+@Timed(value = "app.service", histogram = true)
+public class CertificateJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificateJobService.class);
+
+    @Autowired
+    private CertificateJobRepository certificateJobRepository;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CertificateService certificateService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.certificates.jobs.max-queued:10000}")
+    private long maxQueued;
+
+    @Value("${app.certificates.jobs.retry-after:30s}")
+    private Duration retryAfter;
+
+    @Value("${app.certificates.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.certificates.jobs.retry-backoff:30s}")
+    private Duration retryBackoff;
+
+    // Queues a certificate for one enrollment. Idempotent: an issued certificate comes back as a DONE job,
+    // a pending job is returned as is, and anything else is queued again.
+    @Transactional
+    public CertificateJobResponse submit(CertificateRequest request) {
+        Enrollment enrollment = enrollmentRepository.findById(request.getEnrollmentId())
+                .orElseThrow(() -> new RuntimeException("Enrollment not found"));
+        if (!enrollment.isCompleted()) {
+            throw new RuntimeException("Course must be completed before generating certificate");
+        }
+
+        Optional<Certificate> existingCertificate = certificateRepository.findByEnrollmentId(enrollment.getId());
+        Optional<CertificateJob> existingJob = certificateJobRepository.findByEnrollmentId(enrollment.getId());
+        if (existingCertificate.isPresent()) {
+            return existingJob.map(this::convertToResponse)
+                    .orElseGet(() -> issuedResponse(existingCertificate.get()));
+        }
+        // A DONE job without a certificate means the certificate was deleted since: issue a new one
+        if (existingJob.isPresent() && (existingJob.get().getStatus() == CertificateJobStatus.QUEUED
+                || existingJob.get().getStatus() == CertificateJobStatus.RUNNING)) {
+            return convertToResponse(existingJob.get());
+        }
+
+        checkCapacity(1);
+        CertificateJob job = existingJob.orElseGet(CertificateJob::new);
+        job.setEnrollmentId(enrollment.getId());
+        job.setStatus(CertificateJobStatus.QUEUED);
+        job.setAttempts(0);
+        job.setError(null);
+        job.setCertificateId(null);
+        job.setAvailableAt(LocalDateTime.now());
+        job.setStudentName(request.getStudentName());
+        job.setCourseTitle(request.getCourseTitle());
+        job.setCourseCategory(request.getCourseCategory());
+        job.setInstructorName(request.getInstructorName());
+        job.setScore(request.getScore());
+        CertificateJob saved = certificateJobRepository.save(job);
+        eventPublisher.publishEvent(new CertificateJobsQueuedEvent(1));
+        return convertToResponse(saved);
+    }
+
+    // Queues every completed enrollment of the course that has neither a certificate nor a job, and
+    // retries the course's failed jobs. Certificate text comes from the enrollments at render time.
+    @Transactional
+    public CertificateBatchResponse submitCourse(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found");
+        }
+        checkCapacity(1);
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = certificateJobRepository.requeueFailedForCourse(courseId, now);
+        int queued = certificateJobRepository.queueUnqueuedCompletions(courseId, now);
+        if (queued + requeued > 0) {
+            eventPublisher.publishEvent(new CertificateJobsQueuedEvent(queued + requeued));
+        }
+        log.info("Queued {} certificate(s) for course {} ({} failed job(s) retried)", queued, courseId, requeued);
+        return new CertificateBatchResponse(courseId, queued, requeued, countByStatus(courseId));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CertificateJobResponse> getJob(Long jobId) {
+        return certificateJobRepository.findById(jobId).map(this::convertToResponse);
+    }
+
+    // Falls back to the certificate itself for enrollments certified before jobs existed
+    @Transactional(readOnly = true)
+    public Optional<CertificateJobResponse> getJobByEnrollment(Long enrollmentId) {
+        Optional<CertificateJobResponse> job = certificateJobRepository.findByEnrollmentId(enrollmentId)
+                .map(this::convertToResponse);
+        if (job.isPresent()) {
+            return job;
+        }
+        return certificateRepository.findByEnrollmentId(enrollmentId).map(this::issuedResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CertificateBatchResponse> getCourseSummary(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            return Optional.empty();
+        }
+        return Optional.of(new CertificateBatchResponse(courseId, 0, 0, countByStatus(courseId)));
+    }
+
+    // Renders and stores one claimed (RUNNING) job. Runs on a worker thread; the claim, the certificate
+    // insert and the job update are separate short transactions, none of them held during rendering.
+    public void process(Long jobId) {
+        CertificateJob job = certificateJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != CertificateJobStatus.RUNNING) {
+            return;
+        }
+        try {
+            Certificate certificate = certificateRepository.findByEnrollmentId(job.getEnrollmentId())
+                    .orElseGet(() -> certificateService.issueCertificate(draft(job)));
+            job.setStatus(CertificateJobStatus.DONE);
+            job.setCertificateId(certificate.getId());
+            job.setError(null);
+            certificateJobRepository.save(job);
+        } catch (Exception e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            job.setError(error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (job.getAttempts() < maxAttempts) {
+                // Linear backoff: attempt n waits n x retry-backoff
+                job.setStatus(CertificateJobStatus.QUEUED);
+                job.setAvailableAt(LocalDateTime.now().plus(retryBackoff.multipliedBy(job.getAttempts())));
+                log.warn("Certificate job {} failed (attempt {} of {}), retrying: {}",
+                        jobId, job.getAttempts(), maxAttempts, error);
+            } else {
+                job.setStatus(CertificateJobStatus.FAILED);
+                log.error("Certificate job {} failed after {} attempts: {}", jobId, job.getAttempts(), error, e);
+            }
+            certificateJobRepository.save(job);
+        }
+    }
+
+    // Certificate text as requested, falling back to the enrollment for anything left out
+    private Certificate draft(CertificateJob job) {
+        Enrollment enrollment = enrollmentRepository.findByIdWithStudentAndCourse(job.getEnrollmentId())
+                .orElseThrow(() -> new RuntimeException("Enrollment not found"));
+        if (!enrollment.isCompleted()) {
+            throw new RuntimeException("Course must be completed before generating certificate");
+        }
+        Certificate certificate = new Certificate();
+        certificate.setEnrollment(enrollment);
+        certificate.setStudentName(job.getStudentName() != null ? job.getStudentName() : enrollment.getStudent().getName());
+        certificate.setCourseTitle(job.getCourseTitle() != null ? job.getCourseTitle() : enrollment.getCourse().getTitle());
+        certificate.setCourseCategory(job.getCourseCategory() != null ? job.getCourseCategory() : enrollment.getCourse().getCategory());
+        certificate.setInstructorName(job.getInstructorName() != null ? job.getInstructorName()
+                : enrollment.getCourse().getInstructor() != null ? enrollment.getCourse().getInstructorName() : null);
+        certificate.setScore(job.getScore() != null ? job.getScore() : (int) Math.round(enrollment.getPercentage()));
+        certificate.setCompletionDate(enrollment.getCompletionDate());
+        return certificate;
+    }
+
+    // A course batch is admitted whole once there's room, so one batch can overshoot max-queued
+    private void checkCapacity(long incoming) {
+        long queued = certificateJobRepository.countByStatus(CertificateJobStatus.QUEUED);
+        if (queued + incoming > maxQueued) {
+            throw new CertificateQueueFullException(queued, maxQueued, retryAfter);
+        }
+    }
+
+    private Map<String, Long> countByStatus(Long courseId) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (CertificateJobStatus status : CertificateJobStatus.values()) {
+            counts.put(status.name(), 0L);
+        }
+        List<Object[]> rows = certificateJobRepository.countByStatusForCourse(courseId);
+        for (Object[] row : rows) {
+            counts.put(((CertificateJobStatus) row[0]).name(), (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private CertificateJobResponse convertToResponse(CertificateJob job) {
+        CertificateJobResponse response = new CertificateJobResponse();
+        response.setJobId(job.getId());
+        response.setEnrollmentId(job.getEnrollmentId());
+        response.setStatus(job.getStatus().name());
+        response.setAttempts(job.getAttempts());
+        response.setCertificateId(job.getCertificateId());
+        if (job.getCertificateId() != null) {
+            response.setCertificateUrl(CertificateService.downloadUrl(job.getCertificateId()));
+        }
+        response.setError(job.getError());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setUpdatedAt(job.getUpdatedAt());
+        return response;
+    }
+
+    private CertificateJobResponse issuedResponse(Certificate certificate) {
+        CertificateJobResponse response = new CertificateJobResponse();
+        response.setEnrollmentId(certificate.getEnrollment().getId());
+        response.setStatus(CertificateJobStatus.DONE.name());
+        response.setCertificateId(certificate.getId());
+        response.setCertificateUrl(CertificateService.downloadUrl(certificate.getId()));
+        response.setCreatedAt(certificate.getIssueDate());
+        response.setUpdatedAt(certificate.getIssueDate());
+        return response;
+    }
+}
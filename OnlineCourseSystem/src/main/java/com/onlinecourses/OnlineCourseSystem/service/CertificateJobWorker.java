@@ -0,0 +1,186 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.entity.CertificateJobStatus;
+import com.onlinecourses.OnlineCourseSystem.repository.CertificateJobRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Background renderer for certificate_jobs. One dispatcher thread polls for claimable jobs (every
+// poll-interval, or right after a submission commits) and hands them to a fixed pool of workers; a
+// semaphore keeps it from claiming more jobs than there are free workers, so unclaimed work stays in
+// the table where another instance - or this one after a restart - can pick it up.
+@Component
+public class CertificateJobWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificateJobWorker.class);
+
+    @Autowired
+    private CertificateJobRepository certificateJobRepository;
+
+    @Autowired
+    private CertificateJobService certificateJobService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.certificates.jobs.worker.enabled:true}")
+    private boolean enabled;
+
+    // Rendering is CPU-bound: more workers than cores only adds contention
+    @Value("${app.certificates.jobs.worker.threads:2}")
+    private int threads;
+
+    @Value("${app.certificates.jobs.worker.poll-interval:2s}")
+    private Duration pollInterval;
+
+    // RUNNING jobs not updated for this long belong to a worker that died and are queued again
+    @Value("${app.certificates.jobs.worker.stale-after:10m}")
+    private Duration staleAfter;
+
+    private ScheduledExecutorService dispatcher;
+    private ExecutorService workers;
+    private Semaphore freeWorkers;
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final AtomicInteger busy = new AtomicInteger();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Certificate job worker disabled; jobs are left for other instances");
+            return;
+        }
+        freeWorkers = new Semaphore(threads);
+        AtomicInteger workerNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "certificate-worker-" + workerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "certificate-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleWithFixedDelay(this::requeueStale, 0, staleAfter.toMillis() / 2, TimeUnit.MILLISECONDS);
+        dispatcher.scheduleWithFixedDelay(this::dispatch, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+        Gauge.builder("app.certificates.jobs.queued", certificateJobRepository,
+                        repository -> repository.countByStatus(CertificateJobStatus.QUEUED))
+                .description("Certificate jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("app.certificates.jobs.busy-workers", busy, AtomicInteger::get)
+                .register(meterRegistry);
+        log.info("Certificate job worker started: {} thread(s), polling every {}", threads, pollInterval);
+    }
+
+    // After commit, so the dispatcher's query sees the new rows
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobsQueued(CertificateJobsQueuedEvent event) {
+        if (dispatcher != null) {
+            wakeUp();
+        }
+    }
+
+    private void wakeUp() {
+        if (wakeupPending.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(this::dispatch);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+            }
+        }
+    }
+
+    private void dispatch() {
+        wakeupPending.set(false);
+        try {
+            while (true) {
+                int free = freeWorkers.availablePermits();
+                if (free == 0) {
+                    return;
+                }
+                List<Long> ids = certificateJobRepository.findClaimableIds(LocalDateTime.now(), PageRequest.of(0, free));
+                if (ids.isEmpty()) {
+                    return;
+                }
+                for (Long id : ids) {
+                    if (!freeWorkers.tryAcquire()) {
+                        return;
+                    }
+                    if (certificateJobRepository.claim(id, LocalDateTime.now()) == 0) {
+                        freeWorkers.release();
+                        continue;
+                    }
+                    workers.execute(() -> run(id));
+                }
+            }
+        } catch (Exception e) {
+            // Database hiccup: the next poll tries again
+            log.warn("Certificate job dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    private void run(Long jobId) {
+        busy.incrementAndGet();
+        try {
+            certificateJobService.process(jobId);
+        } catch (Exception e) {
+            // process() records render failures on the job; this is the job update itself failing,
+            // which leaves it RUNNING until requeueStale picks it up
+            log.error("Certificate job {} could not be completed: {}", jobId, e.getMessage(), e);
+        } finally {
+            busy.decrementAndGet();
+            freeWorkers.release();
+        }
+        // A worker just freed up: take the next job now rather than at the next poll
+        wakeUp();
+    }
+
+    private void requeueStale() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int requeued = certificateJobRepository.requeueStale(now.minus(staleAfter), now);
+            if (requeued > 0) {
+                log.warn("Requeued {} certificate job(s) left running by a stopped worker", requeued);
+            }
+        } catch (Exception e) {
+            log.warn("Certificate job stale check failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (dispatcher == null) {
+            return;
+        }
+        dispatcher.shutdownNow();
+        workers.shutdown();
+        // Jobs cut off here stay RUNNING and are requeued after stale-after
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Certificate workers still running at shutdown");
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+// Published when certificate jobs are queued or requeued, so the local worker polls right after the commit
+// instead of waiting for its next poll interval.
+public class CertificateJobsQueuedEvent {
+    private final int count;
+
+    public CertificateJobsQueuedEvent(int count) {
+        this.count = count;
+    }
+
+    public int getCount() { return count; }
+}
@@ -0,0 +1,15 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import java.time.Duration;
+
+// Backpressure: the certificate job queue is at app.certificates.jobs.max-queued. Mapped to 429 + Retry-After.
+public class CertificateQueueFullException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public CertificateQueueFullException(long queued, long limit, Duration retryAfter) {
+        super("Certificate queue is full (" + queued + " of " + limit + " jobs waiting), retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() { return retryAfter; }
+}
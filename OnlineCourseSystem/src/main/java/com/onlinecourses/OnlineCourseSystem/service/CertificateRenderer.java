@@ -0,0 +1,227 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.entity.Certificate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDPageContentStream.AppendMode;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Renders certificate PDFs. Everything that doesn't change per certificate is prepared once:
+//   - the static page (border, headings, labels) is laid out at startup and kept as PDF bytes;
+//     each render loads that template and only appends the per-certificate text
+//   - fonts are parsed once: Standard 14 metrics by default, or the TrueType files in
+//     app.certificates.fonts.* (needed for names outside Latin-1), which are then embedded as subsets
+// Output is deterministic - same certificate, same bytes - so the content-addressed store dedupes re-renders.
+@Component
+public class CertificateRenderer {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificateRenderer.class);
+
+    private static final PDRectangle PAGE = new PDRectangle(PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth());
+    private static final float MARGIN = 36f;
+    private static final float MAX_TEXT_WIDTH = PAGE.getWidth() - 6 * MARGIN;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH);
+
+    // Baselines of the per-certificate lines; the template's labels sit between them
+    private static final float NAME_Y = 330f;
+    private static final float COURSE_Y = 250f;
+    private static final float DETAILS_Y = 220f;
+    private static final float DATES_Y = 150f;
+    private static final float ID_Y = 62f;
+
+    @Value("${app.certificates.fonts.regular:}")
+    private String regularFontPath;
+
+    @Value("${app.certificates.fonts.bold:}")
+    private String boldFontPath;
+
+    private byte[] template;
+    private TrueTypeFont trueTypeRegular;
+    private TrueTypeFont trueTypeBold;
+    // Parsed TrueType fonts are not thread-safe; subsetting reads them until the document is saved
+    private final ReentrantLock trueTypeLock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        try {
+            if (!regularFontPath.isBlank() && !boldFontPath.isBlank()) {
+                trueTypeRegular = new TTFParser().parse(new RandomAccessReadBufferedFile(regularFontPath));
+                trueTypeBold = new TTFParser().parse(new RandomAccessReadBufferedFile(boldFontPath));
+                log.info("Certificate fonts: {} / {}", trueTypeRegular.getName(), trueTypeBold.getName());
+            }
+            template = buildTemplate();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to prepare certificate template: " + e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (trueTypeRegular != null) {
+            trueTypeRegular.close();
+            trueTypeBold.close();
+        }
+    }
+
+    public byte[] render(Certificate certificate) {
+        boolean trueType = trueTypeRegular != null;
+        if (trueType) {
+            trueTypeLock.lock();
+        }
+        try (PDDocument document = Loader.loadPDF(template)) {
+            // Standard 14 metrics are parsed once per JVM by PDFBox; the PDFont wrappers cache widths in
+            // plain maps, so each render gets its own
+            PDFont regular = trueType ? PDType0Font.load(document, trueTypeRegular, true)
+                    : new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            PDFont bold = trueType ? PDType0Font.load(document, trueTypeBold, true)
+                    : new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+            PDPage page = document.getPage(0);
+
+            try (PDPageContentStream content = new PDPageContentStream(document, page, AppendMode.APPEND, true, true)) {
+                centered(content, bold, 34, NAME_Y, certificate.getStudentName());
+                centered(content, bold, 22, COURSE_Y, certificate.getCourseTitle());
+                String details = certificate.getCourseCategory()
+                        + (certificate.getInstructorName() != null ? "  |  Instructor: " + certificate.getInstructorName() : "")
+                        + (certificate.getScore() != null ? "  |  Score: " + certificate.getScore() + "%" : "");
+                centered(content, regular, 13, DETAILS_Y, details);
+                String dates = (certificate.getCompletionDate() != null ? "Completed " + DATE.format(certificate.getCompletionDate()) + "    " : "")
+                        + "Issued " + DATE.format(certificate.getIssueDate());
+                centered(content, regular, 12, DATES_Y, dates);
+                centered(content, regular, 9, ID_Y, "Certificate ID: " + certificate.getCertificateId());
+            }
+
+            // Fixed metadata and file identifier instead of "now" and a random id, for reproducible bytes
+            PDDocumentInformation info = document.getDocumentInformation();
+            info.setTitle("Certificate of Completion - " + certificate.getCourseTitle());
+            info.setSubject(certificate.getCertificateId());
+            info.setCreationDate(calendar(certificate.getIssueDate()));
+            info.setModificationDate(calendar(certificate.getIssueDate()));
+            COSString fileId = new COSString(sha256(certificate.getCertificateId()));
+            COSArray ids = new COSArray();
+            ids.add(fileId);
+            ids.add(fileId);
+            document.getDocument().setDocumentID(ids);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+            document.save(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to render certificate: " + e.getMessage());
+        } finally {
+            if (trueType) {
+                trueTypeLock.unlock();
+            }
+        }
+    }
+
+    // Border, headings and labels - drawn once, reused by every render
+    private byte[] buildTemplate() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage(PAGE);
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.setStrokingColor(0.55f, 0.45f, 0.2f);
+                content.setLineWidth(4f);
+                content.addRect(MARGIN, MARGIN, PAGE.getWidth() - 2 * MARGIN, PAGE.getHeight() - 2 * MARGIN);
+                content.stroke();
+                content.setLineWidth(1f);
+                content.addRect(MARGIN + 8, MARGIN + 8, PAGE.getWidth() - 2 * MARGIN - 16, PAGE.getHeight() - 2 * MARGIN - 16);
+                content.stroke();
+
+                PDFont heading = new PDType1Font(Standard14Fonts.FontName.TIMES_BOLD);
+                PDFont label = new PDType1Font(Standard14Fonts.FontName.TIMES_ITALIC);
+                centered(content, heading, 40, 470f, "CERTIFICATE OF COMPLETION");
+                centered(content, label, 16, 380f, "This certifies that");
+                centered(content, label, 16, 290f, "has successfully completed the course");
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    // Draws text centred on the page, shrinking the font size until it fits the text width
+    private static void centered(PDPageContentStream content, PDFont font, float size, float y, String text) throws IOException {
+        String printable = printable(font, text == null ? "" : text);
+        float width = font.getStringWidth(printable) / 1000 * size;
+        while (width > MAX_TEXT_WIDTH && size > 8) {
+            size -= 1;
+            width = font.getStringWidth(printable) / 1000 * size;
+        }
+        content.beginText();
+        content.setFont(font, size);
+        content.newLineAtOffset((PAGE.getWidth() - width) / 2, y);
+        content.showText(printable);
+        content.endText();
+    }
+
+    // Standard 14 fonts only cover WinAnsi; characters they can't encode become '?' instead of failing the render
+    private static String printable(PDFont font, String text) {
+        String clean = text.replaceAll("\\p{Cntrl}", " ");
+        try {
+            font.encode(clean);
+            return clean;
+        } catch (IllegalArgumentException | IOException e) {
+            StringBuilder result = new StringBuilder(clean.length());
+            clean.codePoints().forEach(codePoint -> {
+                String character = new String(Character.toChars(codePoint));
+                try {
+                    font.encode(character);
+                    result.append(character);
+                } catch (IllegalArgumentException | IOException unsupported) {
+                    result.append('?');
+                }
+            });
+            return result.toString();
+        }
+    }
+
+    private static Calendar calendar(LocalDateTime dateTime) {
+        GregorianCalendar calendar = GregorianCalendar.from(dateTime.atZone(ZoneId.of("UTC")));
+        calendar.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return calendar;
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            byte[] id = new byte[16];
+            System.arraycopy(digest, 0, id, 0, id.length);
+            return id;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
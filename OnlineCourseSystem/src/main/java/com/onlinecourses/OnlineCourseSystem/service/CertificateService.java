@@ -1,62 +1,135 @@
 package com.onlinecourses.OnlineCourseSystem.service;
 
-import com.onlinecourses.OnlineCourseSystem.dto.CertificateRequest;
 import com.onlinecourses.OnlineCourseSystem.dto.CertificateResponse;
 import com.onlinecourses.OnlineCourseSystem.entity.Certificate;
-import com.onlinecourses.OnlineCourseSystem.entity.Enrollment;
 import com.onlinecourses.OnlineCourseSystem.repository.CertificateRepository;
 import com.onlinecourses.OnlineCourseSystem.repository.EnrollmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class CertificateService {
 
+    private static final Logger log = LoggerFactory.getLogger(CertificateService.class);
+
     @Autowired
     private CertificateRepository certificateRepository;
 
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
-    public CertificateResponse generateCertificate(CertificateRequest request) {
-        // Check if enrollment exists and is completed
-        Optional<Enrollment> enrollmentOpt = enrollmentRepository.findById(request.getEnrollmentId());
-        if (enrollmentOpt.isEmpty()) {
-            throw new RuntimeException("Enrollment not found");
-        }
+    // ✅ ADD: PDF rendering and content-addressed storage of the rendered files
+    @Autowired
+    private CertificateRenderer certificateRenderer;
 
-        Enrollment enrollment = enrollmentOpt.get();
-        
-        if (!enrollment.isCompleted()) {
-            throw new RuntimeException("Course must be completed before generating certificate");
-        }
+    @Autowired
+    private CertificateFileStore certificateFileStore;
 
-        // Check if certificate already exists
-        Optional<Certificate> existingCertificate = certificateRepository.findByEnrollmentId(request.getEnrollmentId());
-        if (existingCertificate.isPresent()) {
-            return convertToResponse(existingCertificate.get());
-        }
+    // ✅ ADD: Collision-free certificate ids
+    @Autowired
+    private CertificateIdGenerator certificateIdGenerator;
+
+    // ✅ ADD: Ed25519 signatures, checked by CertificateVerificationService
+    @Autowired
+    private CertificateSigner certificateSigner;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.certificates.signing.sign-legacy-on-startup:true}")
+    private boolean signLegacyOnStartup;
+
+    // Where the PDF is served (CertificateController). Derived rather than read from certificate_url, which
+    // holds a dead /certificates/<id>.pdf link on rows issued before downloads existed.
+    public static String downloadUrl(Long id) {
+        return "/api/certificates/" + id + "/download";
+    }
+
+    // A stored certificate PDF, addressed by the hash of its bytes
+    public record CertificateFile(Path path, String contentHash, String certificateId) {}
 
-        // Create new certificate
-        Certificate certificate = new Certificate();
-        certificate.setEnrollment(enrollment);
-        certificate.setStudentName(request.getStudentName());
-        certificate.setCourseTitle(request.getCourseTitle());
-        certificate.setCourseCategory(request.getCourseCategory());
-        certificate.setInstructorName(request.getInstructorName());
-        certificate.setScore(request.getScore());
-        certificate.setCompletionDate(enrollment.getCompletionDate());
-        
-        // Generate certificate URL (mock for now)
-        certificate.setCertificateUrl("/certificates/" + certificate.getCertificateId() + ".pdf");
+    // ✅ CHANGED: Certificates are issued by CertificateJobWorker (see CertificateJobService); requests only
+    // queue a job. Rendering runs outside any transaction so a slow render never holds a pooled connection.
+    public Certificate issueCertificate(Certificate certificate) {
+        // The id and issue date are printed on the PDF, so they are assigned here rather than in @PrePersist
+        certificate.setCertificateId(certificateIdGenerator.next());
+        certificate.setIssueDate(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        certificate.setContentHash(certificateFileStore.put(certificateRenderer.render(certificate)));
+        certificateSigner.sign(certificate);
 
+        // One insert: the download link is derived from the generated id (downloadUrl), not stored
         Certificate savedCertificate = certificateRepository.save(certificate);
-        return convertToResponse(savedCertificate);
+        eventPublisher.publishEvent(new CertificateChangedEvent(savedCertificate.getCertificateId()));
+        return savedCertificate;
+    }
+
+    // ✅ ADD: Signs certificates issued before signing existed, as they stand in the database, so that
+    // verification never has to write. Batches keep each transaction short; re-running is harmless.
+    @EventListener(ApplicationReadyEvent.class)
+    public void signLegacyCertificatesOnStartup() {
+        if (!signLegacyOnStartup) {
+            return;
+        }
+        try {
+            int signed = signLegacyCertificates();
+            if (signed > 0) {
+                log.info("Signed {} certificates issued before signing", signed);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to sign legacy certificates: {}", e.getMessage());
+        }
+    }
+
+    public int signLegacyCertificates() {
+        int signed = 0;
+        List<Certificate> batch;
+        while (!(batch = certificateRepository.findTop500BySignatureIsNullOrderByIdAsc()).isEmpty()) {
+            batch.forEach(certificateSigner::sign);
+            certificateRepository.saveAll(batch);
+            // Drops cached UNSIGNED verification results
+            batch.forEach(certificate -> eventPublisher.publishEvent(new CertificateChangedEvent(certificate.getCertificateId())));
+            signed += batch.size();
+        }
+        return signed;
+    }
+
+    // ✅ ADD: The stored PDF for a certificate. Rendered at most once: certificates issued before rendering
+    // existed (or whose file went missing) are rendered on first request and their hash recorded.
+    // Not @Transactional: the row is read and the hash written in two short transactions, and the render
+    // between them holds no connection.
+    public Optional<CertificateFile> getCertificateFile(Long id) {
+        return certificateRepository.findById(id).map(certificate -> {
+            Optional<Path> stored = certificateFileStore.find(certificate.getContentHash());
+            if (stored.isPresent()) {
+                return new CertificateFile(stored.get(), certificate.getContentHash(), certificate.getCertificateId());
+            }
+            String hash = certificateFileStore.put(certificateRenderer.render(certificate));
+            if (!hash.equals(certificate.getContentHash())) {
+                certificateRepository.updateContentHash(certificate.getId(), hash);
+            }
+            Path path = certificateFileStore.find(hash)
+                    .orElseThrow(() -> new RuntimeException("Failed to read stored certificate " + hash));
+            return new CertificateFile(path, hash, certificate.getCertificateId());
+        });
     }
 
+    @Transactional(readOnly = true)
     public List<CertificateResponse> getStudentCertificates(Long studentId) {
         List<Certificate> certificates = certificateRepository.findByEnrollmentStudentId(studentId);
         return certificates.stream()
@@ -64,30 +137,33 @@ public class CertificateService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public Optional<CertificateResponse> getCertificateById(Long id) {
         return certificateRepository.findById(id)
                 .map(this::convertToResponse);
     }
 
-    public Optional<CertificateResponse> getCertificateByCertificateId(String certificateId) {
-        return certificateRepository.findByCertificateId(certificateId)
-                .map(this::convertToResponse);
-    }
-
+    @Transactional(readOnly = true)
     public Optional<CertificateResponse> getCertificateByEnrollment(Long enrollmentId) {
         return certificateRepository.findByEnrollmentId(enrollmentId)
                 .map(this::convertToResponse);
     }
 
+    // ✅ CHANGED: Also drops the certificate's cached verification result
+    @Transactional
     public void deleteCertificate(Long id) {
-        certificateRepository.deleteById(id);
+        certificateRepository.findById(id).ifPresent(certificate -> {
+            certificateRepository.delete(certificate);
+            eventPublisher.publishEvent(new CertificateChangedEvent(certificate.getCertificateId()));
+        });
     }
 
+    @Transactional(readOnly = true)
     public boolean certificateExistsForEnrollment(Long enrollmentId) {
         return certificateRepository.existsByEnrollmentId(enrollmentId);
     }
 
-    private CertificateResponse convertToResponse(Certificate certificate) {
+    CertificateResponse convertToResponse(Certificate certificate) {
         CertificateResponse response = new CertificateResponse();
         response.setId(certificate.getId());
         response.setCertificateId(certificate.getCertificateId());
@@ -98,7 +174,7 @@ public class CertificateService {
         response.setIssueDate(certificate.getIssueDate());
         response.setCompletionDate(certificate.getCompletionDate());
         response.setScore(certificate.getScore());
-        response.setCertificateUrl(certificate.getCertificateUrl());
+        response.setCertificateUrl(downloadUrl(certificate.getId()));
         return response;
     }
 }
\ No newline at end of file
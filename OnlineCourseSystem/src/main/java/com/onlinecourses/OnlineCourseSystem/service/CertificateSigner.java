@@ -0,0 +1,207 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.entity.Certificate;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Signs certificates with Ed25519 so anyone holding the public key (GET /api/certificates/signing-key)
+// can check one offline, without asking us. The signature covers the printed fields in a fixed text
+// form (signedPayload), not the PDF bytes, which may legitimately be re-rendered.
+// The key pair lives in app.certificates.signing.key-dir; every instance that issues or verifies
+// certificates must use the same files. A missing key fails startup unless generate-if-missing is set
+// (development only), so a misconfigured instance can't start signing with a key nobody else trusts.
+// Rotation: move the old certificate-signing.pub into retired/ and put the new pair in place; public keys
+// under retired/ still verify the certificates they signed, matched by key id.
+@Component
+public class CertificateSigner {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificateSigner.class);
+
+    public static final String ALGORITHM = "Ed25519";
+    private static final String PRIVATE_KEY_FILE = "certificate-signing.key";
+    private static final String PUBLIC_KEY_FILE = "certificate-signing.pub";
+    private static final String RETIRED_DIR = "retired";
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    @Value("${app.certificates.signing.key-dir:data/keys}")
+    private Path keyDir;
+
+    @Value("${app.certificates.signing.generate-if-missing:false}")
+    private boolean generateIfMissing;
+
+    private PrivateKey privateKey;
+    private PublicKey publicKey;
+    private String keyId;
+    // keyId -> public key, the current one and every retired one
+    private final Map<String, PublicKey> verificationKeys = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        try {
+            Path privateFile = keyDir.resolve(PRIVATE_KEY_FILE);
+            Path publicFile = keyDir.resolve(PUBLIC_KEY_FILE);
+            KeyFactory keyFactory = KeyFactory.getInstance(ALGORITHM);
+            if (Files.exists(privateFile)) {
+                privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(readBase64(privateFile)));
+                publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(readBase64(publicFile)));
+            } else if (!generateIfMissing) {
+                throw new IllegalStateException("No certificate signing key at " + privateFile.toAbsolutePath()
+                        + ": install the shared key pair, or set app.certificates.signing.generate-if-missing=true"
+                        + " to create one (development only)");
+            } else {
+                KeyPair keyPair = KeyPairGenerator.getInstance(ALGORITHM).generateKeyPair();
+                privateKey = keyPair.getPrivate();
+                publicKey = keyPair.getPublic();
+                Files.createDirectories(keyDir);
+                writeBase64(publicFile, publicKey.getEncoded());
+                // Owner-only before the key is written
+                Files.createFile(privateFile);
+                try {
+                    Files.setPosixFilePermissions(privateFile, PosixFilePermissions.fromString("rw-------"));
+                } catch (UnsupportedOperationException ignored) {
+                    // not a POSIX file system
+                }
+                writeBase64(privateFile, privateKey.getEncoded());
+                log.warn("Created a new certificate signing key in {}", keyDir.toAbsolutePath());
+            }
+            keyId = keyIdOf(publicKey);
+            verificationKeys.put(keyId, publicKey);
+            loadRetiredKeys(keyFactory);
+
+            // A private key that doesn't belong to the public key would make every signature "invalid"
+            String probe = "probe";
+            if (!verify(probe, sign(probe), publicKey)) {
+                throw new IllegalStateException("Certificate signing keys in " + keyDir + " do not match");
+            }
+            log.info("Certificate signing key {} ({} retired keys)", keyId, verificationKeys.size() - 1);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to load certificate signing key from " + keyDir + ": " + e.getMessage(), e);
+        }
+    }
+
+    // The exact text that is signed, one field per line; published with each verification so it can be
+    // checked offline
+    public static String signedPayload(Certificate certificate) {
+        return String.join("\n", List.of(
+                "certificate-v1",
+                certificate.getCertificateId(),
+                nullToEmpty(certificate.getStudentName()),
+                nullToEmpty(certificate.getCourseTitle()),
+                nullToEmpty(certificate.getCourseCategory()),
+                nullToEmpty(certificate.getInstructorName()),
+                certificate.getScore() != null ? certificate.getScore().toString() : "",
+                format(certificate.getCompletionDate()),
+                format(certificate.getIssueDate())));
+    }
+
+    public void sign(Certificate certificate) {
+        certificate.setSignature(sign(signedPayload(certificate)));
+        certificate.setSigningKeyId(keyId);
+    }
+
+    // Checked against the key that signed it, current or retired
+    public boolean verify(Certificate certificate) {
+        PublicKey key = certificate.getSigningKeyId() != null ? verificationKeys.get(certificate.getSigningKeyId()) : null;
+        return certificate.getSignature() != null
+                && key != null
+                && verify(signedPayload(certificate), certificate.getSignature(), key);
+    }
+
+    public String getKeyId() { return keyId; }
+
+    // X.509 SubjectPublicKeyInfo, base64
+    public String getPublicKey() { return Base64.getEncoder().encodeToString(publicKey.getEncoded()); }
+
+    // The current or a retired public key, for certificates signed before a rotation
+    public Optional<String> getPublicKey(String signingKeyId) {
+        return Optional.ofNullable(verificationKeys.get(signingKeyId))
+                .map(key -> Base64.getEncoder().encodeToString(key.getEncoded()));
+    }
+
+    private void loadRetiredKeys(KeyFactory keyFactory) throws IOException, GeneralSecurityException {
+        Path retiredDir = keyDir.resolve(RETIRED_DIR);
+        if (!Files.isDirectory(retiredDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(retiredDir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".pub")).sorted().toList()) {
+                PublicKey retired = keyFactory.generatePublic(new X509EncodedKeySpec(readBase64(file)));
+                verificationKeys.putIfAbsent(keyIdOf(retired), retired);
+            }
+        }
+    }
+
+    // First 8 bytes of the SHA-256 of the encoded public key, in hex
+    static String keyIdOf(PublicKey key) throws GeneralSecurityException {
+        byte[] fingerprint = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+        return HexFormat.of().formatHex(fingerprint, 0, 8);
+    }
+
+    private String sign(String payload) {
+        try {
+            Signature signature = Signature.getInstance(ALGORITHM);
+            signature.initSign(privateKey);
+            signature.update(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Failed to sign certificate: " + e.getMessage());
+        }
+    }
+
+    private static boolean verify(String payload, String encodedSignature, PublicKey key) {
+        try {
+            Signature signature = Signature.getInstance(ALGORITHM);
+            signature.initVerify(key);
+            signature.update(payload.getBytes(StandardCharsets.UTF_8));
+            return signature.verify(Base64.getDecoder().decode(encodedSignature));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // Seconds precision: what survives the database round trip on every supported database
+    private static String format(LocalDateTime dateTime) {
+        return dateTime != null ? DATE_TIME.format(dateTime.truncatedTo(ChronoUnit.SECONDS)) : "";
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static byte[] readBase64(Path file) throws IOException {
+        return Base64.getMimeDecoder().decode(Files.readString(file).trim());
+    }
+
+    private static void writeBase64(Path file, byte[] content) throws IOException {
+        Files.writeString(file, Base64.getEncoder().encodeToString(content) + "\n");
+    }
+}
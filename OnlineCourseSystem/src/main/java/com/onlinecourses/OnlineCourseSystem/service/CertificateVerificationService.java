@@ -0,0 +1,110 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.config.CacheConfig;
+import com.onlinecourses.OnlineCourseSystem.dto.CertificateVerificationResponse;
+import com.onlinecourses.OnlineCourseSystem.entity.Certificate;
+import com.onlinecourses.OnlineCourseSystem.repository.CertificateRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// Public certificate verification. Answers come from two bounded caches - verified certificates and ids
+// known not to exist - so repeated lookups, including bots walking made-up ids, don't reach the database:
+// ids that fail the check symbol are rejected without any lookup, and a miss is remembered for
+// app.cache.certificate-verification-misses.ttl.
+@Service
+public class CertificateVerificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificateVerificationService.class);
+
+    // Ids issued before CertificateIdGenerator: CERT-<epoch millis>-<0..999>
+    private static final Pattern LEGACY_ID = Pattern.compile("CERT-\\d{13}-\\d{1,3}");
+
+    public static final String VALID = "VALID";
+    public static final String INVALID_SIGNATURE = "INVALID_SIGNATURE";
+    // Issued before signing existed and not yet signed by CertificateService.signLegacyCertificates
+    public static final String UNSIGNED = "UNSIGNED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String MALFORMED = "MALFORMED";
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private CertificateService certificateService;
+
+    @Autowired
+    private CertificateSigner certificateSigner;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache verified;
+    private Cache misses;
+
+    @PostConstruct
+    public void init() {
+        verified = cacheManager.getCache(CacheConfig.CERTIFICATE_VERIFICATION);
+        misses = cacheManager.getCache(CacheConfig.CERTIFICATE_VERIFICATION_MISSES);
+    }
+
+    // Responses are shared between callers through the cache: don't modify them
+    public CertificateVerificationResponse verify(String certificateId) {
+        Optional<String> canonical = CertificateIdGenerator.normalize(certificateId);
+        String key = canonical.orElse(certificateId);
+        if (canonical.isEmpty() && (certificateId == null || !LEGACY_ID.matcher(certificateId).matches())) {
+            return new CertificateVerificationResponse(certificateId, MALFORMED);
+        }
+
+        CertificateVerificationResponse cached = verified.get(key, CertificateVerificationResponse.class);
+        if (cached != null) {
+            return cached;
+        }
+        if (misses.get(key) != null) {
+            return new CertificateVerificationResponse(key, NOT_FOUND);
+        }
+
+        Optional<Certificate> certificate = certificateRepository.findByCertificateId(key);
+        if (certificate.isEmpty()) {
+            misses.put(key, Boolean.TRUE);
+            return new CertificateVerificationResponse(key, NOT_FOUND);
+        }
+        CertificateVerificationResponse response = verify(certificate.get());
+        verified.put(key, response);
+        return response;
+    }
+
+    // Read-only: an unsigned certificate is reported as such, never signed here
+    private CertificateVerificationResponse verify(Certificate certificate) {
+        boolean signed = certificate.getSignature() != null;
+        boolean valid = signed && certificateSigner.verify(certificate);
+        if (signed && !valid) {
+            log.warn("Certificate {} failed signature verification (key {})",
+                    certificate.getCertificateId(), certificate.getSigningKeyId());
+        }
+        CertificateVerificationResponse response = new CertificateVerificationResponse(
+                certificate.getCertificateId(), valid ? VALID : signed ? INVALID_SIGNATURE : UNSIGNED);
+        response.setValid(valid);
+        response.setCertificate(certificateService.convertToResponse(certificate));
+        response.setAlgorithm(CertificateSigner.ALGORITHM);
+        response.setKeyId(certificate.getSigningKeyId());
+        response.setSignature(certificate.getSignature());
+        response.setSignedPayload(CertificateSigner.signedPayload(certificate));
+        return response;
+    }
+
+    // After commit, so a concurrent lookup can't re-cache the pre-commit state
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCertificateChanged(CertificateChangedEvent event) {
+        verified.evict(event.getCertificateId());
+        misses.evict(event.getCertificateId());
+    }
+}
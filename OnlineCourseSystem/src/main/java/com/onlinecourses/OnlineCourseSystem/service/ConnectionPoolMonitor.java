@@ -0,0 +1,298 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// State of the primary connection pool, and optional adaptive sizing of it.
+// Hikari publishes hikaricp.connections.{active,idle,pending,acquire,usage,timeout} through Micrometer.
+// With app.datasource.pool.adaptive.enabled=true the same meters are read every interval and
+// maximumPoolSize moves between min-size and max-size:
+//   grow   - borrowers waited (mean acquire time over target-wait, pending threads or timeouts) while the
+//            connection hold time stayed near its baseline, i.e. the pool is the bottleneck
+//   hold   - borrowers waited but hold time climbed past latency-tolerance x baseline: the database is
+//            slowing down and more connections would only add load to it
+//   shrink - one step after shrink-after calm intervals whose demand (Little's law: busy connection time
+//            per interval) fits in the smaller pool
+@Service
+public class ConnectionPoolMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolMonitor.class);
+
+    // Spare capacity on top of the measured demand when growing or deciding whether to shrink
+    private static final double DEMAND_HEADROOM = 1.25;
+    // Weight of the newest calm interval in the hold-time baseline
+    private static final double BASELINE_WEIGHT = 0.2;
+
+    @Autowired
+    private ObjectProvider<HikariDataSource> hikariDataSources;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.datasource.pool.adaptive.enabled:false}")
+    private boolean adaptive;
+
+    @Value("${app.datasource.pool.adaptive.min-size:10}")
+    private int minSize;
+
+    @Value("${app.datasource.pool.adaptive.max-size:60}")
+    private int maxSize;
+
+    @Value("${app.datasource.pool.adaptive.step:5}")
+    private int step;
+
+    @Value("${app.datasource.pool.adaptive.interval:10s}")
+    private Duration interval;
+
+    @Value("${app.datasource.pool.adaptive.target-wait:10ms}")
+    private Duration targetWait;
+
+    @Value("${app.datasource.pool.adaptive.latency-tolerance:1.5}")
+    private double latencyTolerance;
+
+    @Value("${app.datasource.pool.adaptive.shrink-after:6}")
+    private int shrinkAfter;
+
+    private HikariDataSource dataSource;
+    private ScheduledExecutorService scheduler;
+    private Counter grown;
+    private Counter shrunk;
+
+    // Only touched by the sizing thread
+    private final Cumulative previous = new Cumulative();
+    private volatile double baselineHoldMillis;
+    private int calmIntervals;
+
+    private volatile Decision lastDecision;
+
+    // Meter totals at one point in time; a window is the difference between two of them
+    private static class Cumulative {
+        long acquires;
+        double acquireMillis;
+        long usages;
+        double usageMillis;
+        double timeouts;
+    }
+
+    // What the sizer saw in one interval and what it did about it
+    public record Window(long acquires, double meanWaitMillis, long usages, double meanHoldMillis,
+                         long timeouts, int pending, double demand) {}
+
+    public record Decision(LocalDateTime at, int from, int to, String reason, Window window) {}
+
+    @PostConstruct
+    public void start() {
+        dataSource = hikariDataSources.getIfUnique();
+        if (dataSource == null) {
+            log.info("No single Hikari pool found, connection pool monitoring disabled");
+            return;
+        }
+        Gauge.builder("app.datasource.pool.max-size", dataSource, HikariDataSource::getMaximumPoolSize)
+                .tag("pool", dataSource.getPoolName())
+                .description("Current maximumPoolSize, moved by the adaptive sizer when enabled")
+                .register(meterRegistry);
+        grown = Counter.builder("app.datasource.pool.resizes").tag("pool", dataSource.getPoolName())
+                .tag("direction", "grow").register(meterRegistry);
+        shrunk = Counter.builder("app.datasource.pool.resizes").tag("pool", dataSource.getPoolName())
+                .tag("direction", "shrink").register(meterRegistry);
+
+        if (!adaptive) {
+            return;
+        }
+        if (minSize < 1 || maxSize < minSize || step < 1) {
+            throw new IllegalStateException("Invalid adaptive pool bounds: min-size=" + minSize
+                    + ", max-size=" + maxSize + ", step=" + step);
+        }
+        nextWindow(0); // start the first window now rather than at pool startup
+        int current = dataSource.getMaximumPoolSize();
+        int clamped = Math.max(minSize, Math.min(maxSize, current));
+        if (clamped != current) {
+            resize(current, clamped);
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pool-sizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::adjustSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Adaptive sizing for pool {}: {}-{} connections, target wait {} ms, every {}",
+                dataSource.getPoolName(), minSize, maxSize, targetWait.toMillis(), interval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void adjustSafely() {
+        try {
+            adjust();
+        } catch (RuntimeException e) {
+            // A failed round must not kill the schedule; the next one starts from fresh meter values
+            log.error("Adaptive pool sizing failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void adjust() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return; // pool not started yet
+        }
+        Window window = nextWindow(pool.getThreadsAwaitingConnection());
+        int current = dataSource.getMaximumPoolSize();
+        int needed = (int) Math.ceil(window.demand() * DEMAND_HEADROOM);
+        boolean waiting = window.meanWaitMillis() > targetWait.toMillis() || window.pending() > 0 || window.timeouts() > 0;
+
+        if (!waiting) {
+            if (window.usages() > 0) {
+                baselineHoldMillis = baselineHoldMillis == 0 ? window.meanHoldMillis()
+                        : (1 - BASELINE_WEIGHT) * baselineHoldMillis + BASELINE_WEIGHT * window.meanHoldMillis();
+            }
+            calmIntervals = needed <= current - step ? calmIntervals + 1 : 0;
+            if (calmIntervals >= shrinkAfter && current > minSize) {
+                calmIntervals = 0;
+                decide(current, Math.max(minSize, current - step),
+                        String.format("calm for %d intervals, demand %.1f connections", shrinkAfter, window.demand()), window);
+            }
+            return;
+        }
+
+        calmIntervals = 0;
+        if (baselineHoldMillis > 0 && window.meanHoldMillis() > baselineHoldMillis * latencyTolerance) {
+            decide(current, current, String.format("waits of %.1f ms but hold time %.1f ms vs baseline %.1f ms - database-bound, not growing",
+                    window.meanWaitMillis(), window.meanHoldMillis(), baselineHoldMillis), window);
+        } else if (current >= maxSize) {
+            decide(current, current, String.format("waits of %.1f ms with %d pending at max-size", window.meanWaitMillis(), window.pending()), window);
+        } else {
+            decide(current, Math.min(maxSize, Math.max(current + step, needed)),
+                    String.format("waits of %.1f ms, %d pending, %d timeouts", window.meanWaitMillis(), window.pending(), window.timeouts()), window);
+        }
+    }
+
+    private void decide(int from, int to, String reason, Window window) {
+        Decision decision = new Decision(LocalDateTime.now(), from, to, reason, window);
+        if (to != from) {
+            resize(from, to);
+            log.info("Pool {} resized {} -> {}: {}", dataSource.getPoolName(), from, to, reason);
+        } else if (lastDecision == null || lastDecision.from() != lastDecision.to()) {
+            // Once per stretch of held intervals, not every interval
+            log.warn("Pool {} kept at {}: {}", dataSource.getPoolName(), from, reason);
+        } else {
+            log.debug("Pool {} kept at {}: {}", dataSource.getPoolName(), from, reason);
+        }
+        lastDecision = decision;
+    }
+
+    private void resize(int from, int to) {
+        // Both are runtime-adjustable; connections above a lowered maximum retire as they go idle
+        if (dataSource.getMinimumIdle() > to) {
+            dataSource.setMinimumIdle(to);
+        }
+        dataSource.setMaximumPoolSize(to);
+        (to > from ? grown : shrunk).increment();
+    }
+
+    private Window nextWindow(int pending) {
+        Cumulative now = readMeters();
+        long acquires = now.acquires - previous.acquires;
+        long usages = now.usages - previous.usages;
+        double waitMillis = now.acquireMillis - previous.acquireMillis;
+        double holdMillis = now.usageMillis - previous.usageMillis;
+        long timeouts = Math.round(now.timeouts - previous.timeouts);
+        previous.acquires = now.acquires;
+        previous.acquireMillis = now.acquireMillis;
+        previous.usages = now.usages;
+        previous.usageMillis = now.usageMillis;
+        previous.timeouts = now.timeouts;
+
+        return new Window(acquires, acquires > 0 ? waitMillis / acquires : 0, usages,
+                usages > 0 ? holdMillis / usages : 0, timeouts, pending, holdMillis / interval.toMillis());
+    }
+
+    private Cumulative readMeters() {
+        Cumulative totals = new Cumulative();
+        Timer acquire = poolTimer("hikaricp.connections.acquire");
+        Timer usage = poolTimer("hikaricp.connections.usage");
+        Counter timeout = meterRegistry.find("hikaricp.connections.timeout").tag("pool", dataSource.getPoolName()).counter();
+        if (acquire != null) {
+            totals.acquires = acquire.count();
+            totals.acquireMillis = acquire.totalTime(TimeUnit.MILLISECONDS);
+        }
+        if (usage != null) {
+            totals.usages = usage.count();
+            totals.usageMillis = usage.totalTime(TimeUnit.MILLISECONDS);
+        }
+        if (timeout != null) {
+            totals.timeouts = timeout.count();
+        }
+        return totals;
+    }
+
+    private Timer poolTimer(String name) {
+        return meterRegistry.find(name).tag("pool", dataSource.getPoolName()).timer();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (dataSource == null) {
+            response.put("pool", null);
+            return response;
+        }
+        response.put("pool", dataSource.getPoolName());
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool != null) {
+            response.put("active", pool.getActiveConnections());
+            response.put("idle", pool.getIdleConnections());
+            response.put("total", pool.getTotalConnections());
+            response.put("pending", pool.getThreadsAwaitingConnection());
+        }
+        response.put("maximumPoolSize", dataSource.getMaximumPoolSize());
+        response.put("minimumIdle", dataSource.getMinimumIdle());
+        response.put("connectionTimeoutMillis", dataSource.getConnectionTimeout());
+        response.put("leakDetectionThresholdMillis", dataSource.getLeakDetectionThreshold());
+        Timer acquire = poolTimer("hikaricp.connections.acquire");
+        Timer usage = poolTimer("hikaricp.connections.usage");
+        if (acquire != null) {
+            response.put("acquireMeanMillis", acquire.mean(TimeUnit.MILLISECONDS));
+            response.put("acquireMaxMillis", acquire.max(TimeUnit.MILLISECONDS));
+        }
+        if (usage != null) {
+            response.put("usageMeanMillis", usage.mean(TimeUnit.MILLISECONDS));
+            response.put("usageMaxMillis", usage.max(TimeUnit.MILLISECONDS));
+        }
+
+        Map<String, Object> sizing = new LinkedHashMap<>();
+        sizing.put("enabled", adaptive);
+        if (adaptive) {
+            sizing.put("minSize", minSize);
+            sizing.put("maxSize", maxSize);
+            sizing.put("targetWaitMillis", targetWait.toMillis());
+            sizing.put("baselineHoldMillis", baselineHoldMillis);
+            sizing.put("lastDecision", lastDecision);
+        }
+        response.put("adaptive", sizing);
+        return response;
+    }
+}
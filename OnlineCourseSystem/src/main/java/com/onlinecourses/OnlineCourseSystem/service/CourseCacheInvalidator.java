@@ -0,0 +1,38 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class CourseCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Runs after commit so a concurrent reader can't re-cache the pre-commit state
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        Cache detail = cacheManager.getCache(CacheConfig.COURSE_DETAIL);
+        if (detail != null && event.getCourseId() != null) {
+            detail.evict(event.getCourseId());
+        }
+
+        Cache catalog = cacheManager.getCache(CacheConfig.COURSE_CATALOG);
+        if (catalog != null) {
+            catalog.clear();
+        }
+
+        Cache byCategory = cacheManager.getCache(CacheConfig.COURSES_BY_CATEGORY);
+        if (byCategory != null) {
+            if (event.getCategories().isEmpty()) {
+                byCategory.clear();
+            } else {
+                event.getCategories().forEach(byCategory::evict);
+            }
+        }
+    }
+}
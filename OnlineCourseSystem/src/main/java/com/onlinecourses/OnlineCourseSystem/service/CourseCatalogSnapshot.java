@@ -0,0 +1,226 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.dto.CourseCatalogFilter;
+import com.onlinecourses.OnlineCourseSystem.dto.CourseCatalogResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.CourseResponse;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Immutable column-per-field copy of the catalog. Rows are addressed by position; category, level,
+// price bucket and instructor each have one BitSet per value, so filters are ANDs/ORs of bitsets and
+// facet counts are intersection cardinalities - no per-request SQL and no object graph walk.
+final class CourseCatalogSnapshot {
+
+    private static final long NO_VALUE = Long.MIN_VALUE;
+
+    private final int rowCount;
+    private final CourseResponse[] rows;
+
+    // Scalar columns for the range filters
+    private final long[] priceCents;
+    private final double[] averageRating;
+
+    // Value dictionaries (ordinal -> label) and one bitset per ordinal
+    private final List<String> categoryLabels = new ArrayList<>();
+    private final Map<String, Integer> categoryOrdinals = new HashMap<>();
+    private final List<BitSet> categoryBits = new ArrayList<>();
+    private final List<String> levelLabels = new ArrayList<>();
+    private final Map<String, Integer> levelOrdinals = new HashMap<>();
+    private final List<BitSet> levelBits = new ArrayList<>();
+    private final Map<Long, BitSet> instructorBits = new HashMap<>();
+    private final long[] priceBucketBounds;
+    private final String[] priceBucketLabels;
+    private final BitSet[] priceBucketBits;
+    private final BitSet allRows;
+
+    private CourseCatalogSnapshot(List<CourseResponse> courses, BigDecimal[] bucketBounds) {
+        this.rowCount = courses.size();
+        this.rows = courses.toArray(new CourseResponse[0]);
+        this.priceCents = new long[rowCount];
+        this.averageRating = new double[rowCount];
+
+        this.priceBucketBounds = new long[bucketBounds.length];
+        this.priceBucketLabels = new String[bucketBounds.length + 1];
+        this.priceBucketBits = new BitSet[bucketBounds.length + 1];
+        String lower = "0";
+        for (int i = 0; i < bucketBounds.length; i++) {
+            priceBucketBounds[i] = toCents(bucketBounds[i]);
+            priceBucketLabels[i] = lower + "-" + bucketBounds[i].toPlainString();
+            lower = bucketBounds[i].toPlainString();
+        }
+        priceBucketLabels[bucketBounds.length] = lower + "+";
+        for (int i = 0; i < priceBucketBits.length; i++) {
+            priceBucketBits[i] = new BitSet(rowCount);
+        }
+
+        this.allRows = new BitSet(rowCount);
+        allRows.set(0, rowCount);
+
+        for (int row = 0; row < rowCount; row++) {
+            CourseResponse course = rows[row];
+            priceCents[row] = course.getPrice() != null ? toCents(course.getPrice()) : NO_VALUE;
+            averageRating[row] = course.getAverageRating() != null ? course.getAverageRating().doubleValue() : 0.0;
+
+            index(course.getCategory(), row, categoryLabels, categoryOrdinals, categoryBits);
+            index(course.getLevel(), row, levelLabels, levelOrdinals, levelBits);
+            if (course.getInstructorId() != null) {
+                instructorBits.computeIfAbsent(course.getInstructorId(), id -> new BitSet(rowCount)).set(row);
+            }
+            // An unpriced course isn't free: it stays out of the price facet, as it does out of price filters
+            if (priceCents[row] != NO_VALUE) {
+                priceBucketBits[priceBucket(priceCents[row])].set(row);
+            }
+        }
+    }
+
+    static CourseCatalogSnapshot of(List<CourseResponse> courses, BigDecimal[] priceBucketBounds) {
+        return new CourseCatalogSnapshot(courses, priceBucketBounds);
+    }
+
+    int size() {
+        return rowCount;
+    }
+
+    CourseCatalogResponse query(CourseCatalogFilter filter, int page, int pageSize) {
+        BitSet category = valueMask(filter.getCategory(), categoryOrdinals, categoryBits);
+        BitSet level = valueMask(filter.getLevel(), levelOrdinals, levelBits);
+        BitSet instructor = filter.getInstructorId() == null ? null
+                : instructorBits.getOrDefault(filter.getInstructorId(), new BitSet());
+        BitSet price = priceMask(filter.getMinPrice(), filter.getMaxPrice());
+        BitSet rating = ratingMask(filter.getMinRating());
+
+        BitSet matches = intersect(category, level, instructor, price, rating);
+
+        // Disjunctive facets: each facet ignores its own filter so sibling values keep their counts
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        facets.put("category", counts(intersect(level, instructor, price, rating), categoryLabels, categoryBits));
+        facets.put("level", counts(intersect(category, instructor, price, rating), levelLabels, levelBits));
+        facets.put("price", counts(intersect(category, level, instructor, rating),
+                List.of(priceBucketLabels), List.of(priceBucketBits)));
+
+        int total = matches.cardinality();
+        List<CourseResponse> content = new ArrayList<>(Math.min(pageSize, total));
+        long skip = (long) page * pageSize;
+        int row = matches.nextSetBit(0);
+        for (long i = 0; i < skip && row >= 0; i++) {
+            row = matches.nextSetBit(row + 1);
+        }
+        while (row >= 0 && content.size() < pageSize) {
+            content.add(rows[row]);
+            row = matches.nextSetBit(row + 1);
+        }
+
+        int totalPages = (total + pageSize - 1) / pageSize;
+        return new CourseCatalogResponse(content, page, pageSize, (long) total, totalPages,
+                page + 1 < totalPages, facets);
+    }
+
+    // OR of the bitsets for the requested values; null when the filter isn't set. Unknown values match nothing.
+    private static BitSet valueMask(List<String> values, Map<String, Integer> ordinals, List<BitSet> bits) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        BitSet mask = new BitSet();
+        for (String value : values) {
+            if (value == null || value.isBlank()) {
+                continue;
+            }
+            Integer ordinal = ordinals.get(normalize(value));
+            if (ordinal != null) {
+                mask.or(bits.get(ordinal));
+            }
+        }
+        return mask;
+    }
+
+    // Range filters are a single pass over a primitive column
+    private BitSet priceMask(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (minPrice == null && maxPrice == null) {
+            return null;
+        }
+        long min = minPrice != null ? toCents(minPrice) : Long.MIN_VALUE;
+        long max = maxPrice != null ? toCents(maxPrice) : Long.MAX_VALUE;
+        BitSet mask = new BitSet(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            long cents = priceCents[row];
+            if (cents != NO_VALUE && cents >= min && cents <= max) {
+                mask.set(row);
+            }
+        }
+        return mask;
+    }
+
+    private BitSet ratingMask(BigDecimal minRating) {
+        if (minRating == null) {
+            return null;
+        }
+        double min = minRating.doubleValue();
+        BitSet mask = new BitSet(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            if (averageRating[row] >= min) {
+                mask.set(row);
+            }
+        }
+        return mask;
+    }
+
+    // AND of the given masks; null masks are "no filter"
+    private BitSet intersect(BitSet... masks) {
+        BitSet result = (BitSet) allRows.clone();
+        for (BitSet mask : masks) {
+            if (mask != null) {
+                result.and(mask);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Integer> counts(BitSet base, List<String> labels, List<BitSet> bits) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int ordinal = 0; ordinal < labels.size(); ordinal++) {
+            BitSet overlap = (BitSet) bits.get(ordinal).clone();
+            overlap.and(base);
+            counts.put(labels.get(ordinal), overlap.cardinality());
+        }
+        return counts;
+    }
+
+    private static void index(String value, int row, List<String> labels, Map<String, Integer> ordinals,
+                              List<BitSet> bits) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        // First spelling seen becomes the facet label; matching is case-insensitive like the MySQL collation
+        Integer ordinal = ordinals.computeIfAbsent(normalize(value), key -> {
+            labels.add(value.trim());
+            bits.add(new BitSet());
+            return labels.size() - 1;
+        });
+        bits.get(ordinal).set(row);
+    }
+
+    private int priceBucket(long cents) {
+        for (int i = 0; i < priceBucketBounds.length; i++) {
+            if (cents < priceBucketBounds[i]) {
+                return i;
+            }
+        }
+        return priceBucketBounds.length;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+}
@@ -0,0 +1,31 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import java.util.Collections;
+import java.util.Set;
+
+// Published whenever data shown in course responses changes (course fields, ratings, enrollment counts).
+// categories lists the affected category names; empty means "unknown", so listeners treat every category as stale.
+// countersOnly: only the enrollment/rating counters changed, so the course's text and facet fields are as they were.
+public class CourseChangedEvent {
+    private final Long courseId;
+    private final Set<String> categories;
+    private final boolean countersOnly;
+
+    public CourseChangedEvent(Long courseId, Set<String> categories) {
+        this(courseId, categories, false);
+    }
+
+    public CourseChangedEvent(Long courseId, Set<String> categories, boolean countersOnly) {
+        this.courseId = courseId;
+        this.categories = categories != null ? categories : Collections.emptySet();
+        this.countersOnly = countersOnly;
+    }
+
+    public static CourseChangedEvent countersChanged(Long courseId, Set<String> categories) {
+        return new CourseChangedEvent(courseId, categories, true);
+    }
+
+    public Long getCourseId() { return courseId; }
+    public Set<String> getCategories() { return categories; }
+    public boolean isCountersOnly() { return countersOnly; }
+}
@@ -0,0 +1,116 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Opaque keyset cursor for course listings: base64url("field,direction,value,id").
+// The sort key travels inside the cursor, so follow-up requests only need ?cursor=.
+// Every sortable column is NOT NULL (V7): a null key would compare as unknown and end the listing early.
+final class CourseCursor {
+
+    static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "id", "averageRating", "price");
+
+    private final String field;
+    private final Sort.Direction direction;
+    private final Object value;
+    private final Long id;
+
+    private CourseCursor(String field, Sort.Direction direction, Object value, Long id) {
+        this.field = field;
+        this.direction = direction;
+        this.value = value;
+        this.id = id;
+    }
+
+    String getField() { return field; }
+    Sort.Direction getDirection() { return direction; }
+
+    // Parses "price,desc" style sort parameters, defaulting to id ascending
+    static Sort parseSort(String sortParam) {
+        if (sortParam == null || sortParam.isBlank()) {
+            return toSort("id", Sort.Direction.ASC);
+        }
+        String[] parts = sortParam.split(",");
+        String field = parts[0].trim();
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + field + " (allowed: " + SORTABLE_FIELDS + ")");
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromOptionalString(parts[1].trim()).orElse(Sort.Direction.ASC)
+                : Sort.Direction.ASC;
+        return toSort(field, direction);
+    }
+
+    // Always break ties on id so keyset positions are unique
+    static Sort toSort(String field, Sort.Direction direction) {
+        Sort sort = Sort.by(direction, field);
+        return "id".equals(field) ? sort : sort.and(Sort.by(direction, "id"));
+    }
+
+    static CourseCursor after(Course course, Sort sort) {
+        Sort.Order primary = sort.iterator().next();
+        Object value = valueOf(course, primary.getProperty());
+        if (value == null) {
+            throw new IllegalStateException("Course " + course.getId() + " has no " + primary.getProperty());
+        }
+        return new CourseCursor(primary.getProperty(), primary.getDirection(), value, course.getId());
+    }
+
+    Sort toSort() {
+        return toSort(field, direction);
+    }
+
+    ScrollPosition toScrollPosition() {
+        Map<String, Object> keys = new HashMap<>();
+        keys.put(field, value);
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+
+    String encode() {
+        String raw = field + "," + direction.name() + "," + value + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static CourseCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(",", -1);
+            if (parts.length != 4 || !SORTABLE_FIELDS.contains(parts[0])) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            String field = parts[0];
+            return new CourseCursor(field, Sort.Direction.valueOf(parts[1]), parseValue(field, parts[2]),
+                    Long.valueOf(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    private static Object valueOf(Course course, String field) {
+        switch (field) {
+            case "createdAt": return course.getCreatedAt();
+            case "averageRating": return course.getAverageRating();
+            case "price": return course.getPrice();
+            default: return course.getId();
+        }
+    }
+
+    private static Object parseValue(String field, String value) {
+        switch (field) {
+            case "createdAt": return LocalDateTime.parse(value);
+            case "averageRating":
+            case "price": return new BigDecimal(value);
+            default: return Long.valueOf(value);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.dto.CourseCatalogFilter;
+import com.onlinecourses.OnlineCourseSystem.dto.CourseCatalogResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.CourseResponse;
+import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Filtered, faceted catalog pages served from an in-memory CourseCatalogSnapshot.
+// Writes only mark the snapshot stale. Reads keep serving the current snapshot while one background
+// reload replaces it (stale-while-revalidate), so a burst of enrollments/ratings costs one reload and no
+// request waits on it - only the very first load is synchronous. A snapshot older than max-age is
+// reloaded the same way, which bounds how long changes made through other instances stay invisible.
+@Service
+public class CourseFacetService {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseFacetService.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    // Upper bounds of the price facet buckets: 25,50,100 -> 0-25, 25-50, 50-100, 100+
+    @Value("${app.catalog.price-buckets:25,50,100}")
+    private BigDecimal[] priceBucketBounds;
+
+    // Reload even without local changes once the snapshot is this old; 0 disables it
+    @Value("${app.catalog.snapshot.max-age:60s}")
+    private Duration maxAge;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private volatile CourseCatalogSnapshot snapshot;
+    private volatile long loadedAtNanos;
+    private volatile boolean stale = true;
+
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CourseCatalogResponse getCatalog(CourseCatalogFilter filter) {
+        int pageSize = filter.getSize() == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(filter.getSize(), 1), MAX_PAGE_SIZE);
+        int page = filter.getPage() == null ? 0 : Math.max(filter.getPage(), 0);
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        return currentSnapshot().query(filter, page, pageSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        currentSnapshot();
+    }
+
+    // After commit, so the rebuild that follows reads the committed rows
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        stale = true;
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    private CourseCatalogSnapshot currentSnapshot() {
+        CourseCatalogSnapshot current = snapshot;
+        if (current == null) {
+            // Nothing to serve yet: the first caller loads, the others wait for it
+            // (ReentrantLock rather than synchronized so waiting virtual threads don't pin their carrier)
+            rebuildLock.lock();
+            try {
+                if (snapshot == null) {
+                    reload();
+                }
+                return snapshot;
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        if (stale || isExpired()) {
+            scheduleRefresh();
+        }
+        return current;
+    }
+
+    private boolean isExpired() {
+        return !maxAge.isZero() && System.nanoTime() - loadedAtNanos > maxAge.toNanos();
+    }
+
+    // At most one queued reload; changes arriving while it runs mark the snapshot stale again
+    private void scheduleRefresh() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            try {
+                refresher.execute(this::refresh);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                refreshScheduled.set(false);
+            }
+        }
+    }
+
+    private void refresh() {
+        refreshScheduled.set(false);
+        rebuildLock.lock();
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild catalog snapshot, serving the previous one: {}", e.getMessage(), e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Callers hold rebuildLock
+    private void reload() {
+        // Cleared before loading: a change committed during the load marks it stale again
+        stale = false;
+        long loadStart = System.nanoTime();
+        try {
+            snapshot = load();
+            loadedAtNanos = loadStart;
+        } catch (RuntimeException e) {
+            stale = true;
+            throw e;
+        }
+    }
+
+    private CourseCatalogSnapshot load() {
+        long start = System.nanoTime();
+        List<CourseResponse> courses = courseRepository.findCatalog().stream()
+                .map(courseService::convertToResponse)
+                .toList();
+        BigDecimal[] bounds = Arrays.stream(priceBucketBounds).sorted().toArray(BigDecimal[]::new);
+        CourseCatalogSnapshot loaded = CourseCatalogSnapshot.of(courses, bounds);
+        log.debug("Catalog snapshot rebuilt: {} courses in {} ms", loaded.size(), (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+}
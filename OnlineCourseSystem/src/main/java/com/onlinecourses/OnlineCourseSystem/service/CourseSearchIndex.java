@@ -0,0 +1,413 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.dto.CourseResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.CourseSummaryView;
+import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over course title, category, level and instructor name.
+// Terms live in a sorted map so a prefix is a range lookup; typos are matched through a
+// trigram index over the term dictionary, so a query never walks the whole catalog.
+// Changed courses are reloaded on one background thread, batched, so refreshes never overlap and a
+// later read can't be overwritten by an earlier one. Counter-only changes (enrollments, ratings) don't
+// touch indexed text and are left to the periodic reconcile, which also picks up changes made
+// through other instances.
+@Component
+public class CourseSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseSearchIndex.class);
+
+    // Field weights - a title hit ranks above an instructor hit, which ranks above category/level
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float INSTRUCTOR_WEIGHT = 2.0f;
+    private static final float CATEGORY_WEIGHT = 1.5f;
+    private static final float LEVEL_WEIGHT = 1.0f;
+
+    // Match quality multipliers: exact > prefix > one typo > two typos
+    private static final float PREFIX_FACTOR = 0.75f;
+    private static final float FUZZY_FACTOR = 0.5f;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    // Full reload from the database; bounds how stale counters and other instances' changes can get
+    @Value("${app.search.reconcile-interval:60s}")
+    private Duration reconcileInterval;
+
+    private ScheduledExecutorService refresher;
+    private final Set<Long> pendingCourses = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // courseId -> indexed document
+    private final Map<Long, IndexedCourse> documents = new HashMap<>();
+    // term -> (courseId -> best field weight of that term in the course)
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    // trigram -> terms containing it, used to find typo candidates
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+
+    private record IndexedCourse(CourseResponse course, Map<String, Float> terms) {}
+
+    private record ScoredCourse(CourseResponse course, float score) {}
+
+    // Full load at startup; afterwards the index follows CourseChangedEvent and the periodic reconcile
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-index-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuild();
+        // Changes queued while the startup load ran may be newer than what it read
+        refresher = executor;
+        scheduleRefresh();
+        if (reconcileInterval.toMillis() > 0) {
+            refresher.scheduleWithFixedDelay(this::reconcile, reconcileInterval.toMillis(),
+                    reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<CourseSummaryView> catalog = courseRepository.findCatalog();
+        replaceAll(catalog.stream().map(courseService::convertToResponse).toList());
+        log.info("Course search index built: {} courses, {} terms in {} ms",
+                catalog.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // After commit, so the refresh reads the committed row; a null id means "anything may have changed".
+    // Only queues the course - the request thread that made the change doesn't wait for the reload.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.isCountersOnly()) {
+            return;
+        }
+        if (event.getCourseId() == null) {
+            rebuildPending.set(true);
+        } else {
+            pendingCourses.add(event.getCourseId());
+        }
+        scheduleRefresh();
+    }
+
+    // Until start() has loaded the index, changes just wait in the queue
+    private void scheduleRefresh() {
+        if (refresher != null && refreshScheduled.compareAndSet(false, true)) {
+            try {
+                refresher.execute(this::refreshPending);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+            }
+        }
+    }
+
+    // Reloads every course queued since the last run with one query. Runs on the refresher thread only.
+    private void refreshPending() {
+        // Cleared first: a change queued while this runs schedules another run
+        refreshScheduled.set(false);
+        List<Long> courseIds = new ArrayList<>();
+        try {
+            if (rebuildPending.getAndSet(false)) {
+                pendingCourses.clear();
+                rebuild();
+                return;
+            }
+            for (Long courseId : pendingCourses) {
+                pendingCourses.remove(courseId);
+                courseIds.add(courseId);
+            }
+            if (courseIds.isEmpty()) {
+                return;
+            }
+            Map<Long, CourseResponse> fresh = new HashMap<>();
+            courseRepository.findCatalogByIdIn(courseIds)
+                    .forEach(view -> fresh.put(view.getId(), courseService.convertToResponse(view)));
+
+            lock.writeLock().lock();
+            try {
+                for (Long courseId : courseIds) {
+                    remove(courseId);
+                    CourseResponse course = fresh.get(courseId);
+                    if (course != null) {
+                        add(course);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            // The write that queued these has long committed; the next reconcile catches up
+            log.error("Failed to update search index for courses {}: {}", courseIds, e.getMessage(), e);
+        }
+    }
+
+    private void reconcile() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Search index reconcile failed, keeping the current index: {}", e.getMessage());
+        }
+    }
+
+    // Replaces the whole index with these courses
+    void replaceAll(List<CourseResponse> courses) {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            trigrams.clear();
+            courses.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<CourseResponse> search(String query, int limit) {
+        List<String> queryTokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Every query token has to match (exactly, by prefix or with a typo); scores add up across tokens
+            Map<Long, Float> scores = null;
+            for (String token : queryTokens) {
+                Map<Long, Float> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((courseId, score) -> score + tokenScores.get(courseId));
+                }
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            // Top-k with a bounded heap; ties go to the more popular course, then the older id
+            Comparator<ScoredCourse> ranking = Comparator.comparingDouble(ScoredCourse::score)
+                    .thenComparingInt(scored -> enrolled(scored.course()))
+                    .thenComparing(scored -> scored.course().getId(), Comparator.reverseOrder());
+            PriorityQueue<ScoredCourse> top = new PriorityQueue<>(limit + 1, ranking);
+            for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                top.offer(new ScoredCourse(documents.get(entry.getKey()).course(), entry.getValue()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<ScoredCourse> ranked = new ArrayList<>(top);
+            ranked.sort(ranking.reversed());
+            return ranked.stream().map(ScoredCourse::course).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best score per course for one query token, taking the best of exact, prefix and fuzzy matches
+    private Map<Long, Float> scoreToken(String token) {
+        Map<Long, Float> scores = new HashMap<>();
+
+        Map<Long, Float> exact = postings.get(token);
+        if (exact != null) {
+            exact.forEach((courseId, weight) -> scores.merge(courseId, weight, Math::max));
+        }
+
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            for (Map.Entry<String, Map<Long, Float>> term : postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                term.getValue().forEach((courseId, weight) -> scores.merge(courseId, weight * PREFIX_FACTOR, Math::max));
+            }
+        }
+
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            int maxDistance = token.length() >= 8 ? 2 : 1;
+            for (String candidate : fuzzyCandidates(token)) {
+                int distance = editDistance(token, candidate, maxDistance);
+                if (distance > 0 && distance <= maxDistance) {
+                    float factor = FUZZY_FACTOR / distance;
+                    postings.get(candidate).forEach((courseId, weight) -> scores.merge(courseId, weight * factor, Math::max));
+                }
+            }
+        }
+        return scores;
+    }
+
+    // Dictionary terms sharing at least one trigram with the token and of a length that could be within reach
+    private Set<String> fuzzyCandidates(String token) {
+        int maxDistance = token.length() >= 8 ? 2 : 1;
+        Set<String> candidates = new HashSet<>();
+        for (String gram : trigramsOf(token)) {
+            Set<String> terms = trigrams.get(gram);
+            if (terms != null) {
+                for (String term : terms) {
+                    if (Math.abs(term.length() - token.length()) <= maxDistance) {
+                        candidates.add(term);
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    // Callers hold the write lock
+    private void add(CourseResponse course) {
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, course.getTitle(), TITLE_WEIGHT);
+        addField(terms, course.getInstructorName(), INSTRUCTOR_WEIGHT);
+        addField(terms, course.getCategory(), CATEGORY_WEIGHT);
+        addField(terms, course.getLevel(), LEVEL_WEIGHT);
+
+        documents.put(course.getId(), new IndexedCourse(course, terms));
+        terms.forEach((term, weight) -> {
+            Map<Long, Float> courses = postings.computeIfAbsent(term, t -> {
+                trigramsOf(t).forEach(gram -> trigrams.computeIfAbsent(gram, g -> new HashSet<>()).add(t));
+                return new HashMap<>();
+            });
+            courses.put(course.getId(), weight);
+        });
+    }
+
+    // Callers hold the write lock
+    private void remove(Long courseId) {
+        IndexedCourse existing = documents.remove(courseId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms().keySet()) {
+            Map<Long, Float> courses = postings.get(term);
+            if (courses == null) {
+                continue;
+            }
+            courses.remove(courseId);
+            if (courses.isEmpty()) {
+                postings.remove(term);
+                for (String gram : trigramsOf(term)) {
+                    Set<String> terms = trigrams.get(gram);
+                    if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                        trigrams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Float> terms, String value, float weight) {
+        for (String token : tokenize(value)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+
+    private static int enrolled(CourseResponse course) {
+        return course.getEnrolledStudents() != null ? course.getEnrolledStudents() : 0;
+    }
+
+    // Lower-cased, accent-folded alphanumeric tokens: "Intro à Java-21" -> [intro, a, java, 21]
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SPLIT.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Boundary-padded trigrams, so short terms and word edges still produce grams
+    static Set<String> trigramsOf(String term) {
+        String padded = "$" + term + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Levenshtein distance with an early exit once every cell in a row exceeds maxDistance
+    static int editDistance(String a, String b, int maxDistance) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -1,48 +1,80 @@
 package com.onlinecourses.OnlineCourseSystem.service;
 
+import com.onlinecourses.OnlineCourseSystem.config.CacheConfig;
+import com.onlinecourses.OnlineCourseSystem.dto.CoursePageResponse;
 import com.onlinecourses.OnlineCourseSystem.dto.CourseResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.CourseSummaryView;
+import com.onlinecourses.OnlineCourseSystem.dto.VersionView;
 import com.onlinecourses.OnlineCourseSystem.entity.Course;
-import com.onlinecourses.OnlineCourseSystem.entity.Enrollment;
 import com.onlinecourses.OnlineCourseSystem.entity.User;
 import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
-import com.onlinecourses.OnlineCourseSystem.repository.EnrollmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class CourseService {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseService.class);
+    
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
     
     @Autowired
     private CourseRepository courseRepository;
     
     @Autowired
-    private EnrollmentRepository enrollmentRepository;
+    private ApplicationEventPublisher eventPublisher;
     
+    // ✅ Cached reads below are invalidated by CourseCacheInvalidator on CourseChangedEvent
+    @Cacheable(cacheNames = CacheConfig.COURSE_CATALOG, key = "'all'")
+    @Transactional(readOnly = true)
     public List<CourseResponse> getAllCourses() {
         try {
-            System.out.println("🔍 Getting all courses from database...");
-            List<Course> courses = courseRepository.findAll();
-            System.out.println("✅ Found " + courses.size() + " courses");
+            log.debug("Getting all courses from database...");
+            // ✅ Single projection query instead of one enrollments/instructor load per course
+            List<CourseSummaryView> courses = courseRepository.findCatalog();
+            log.debug("Found {} courses", courses.size());
             
             List<CourseResponse> response = courses.stream()
                     .map(this::convertToResponse)
                     .collect(Collectors.toList());
             
-            System.out.println("✅ Successfully converted to DTOs");
+            log.debug("Successfully converted to DTOs");
             return response;
         } catch (Exception e) {
-            System.out.println("💥 ERROR in getAllCourses: " + e.getMessage());
-            e.printStackTrace();
+            log.error("ERROR in getAllCourses: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to load courses: " + e.getMessage());
         }
     }
     
+    @Cacheable(cacheNames = CacheConfig.COURSES_BY_CATEGORY, key = "#category")
+    @Transactional(readOnly = true)
     public List<CourseResponse> getCoursesByCategory(String category) {
         try {
-            List<Course> courses = courseRepository.findByCategory(category);
+            List<CourseSummaryView> courses = courseRepository.findCatalogByCategory(category);
             return courses.stream()
                     .map(this::convertToResponse)
                     .collect(Collectors.toList());
@@ -51,9 +83,10 @@ public class CourseService {
         }
     }
     
+    @Transactional(readOnly = true)
     public List<CourseResponse> getInstructorCourses(Long instructorId) {
         try {
-            List<Course> courses = courseRepository.findByInstructorId(instructorId);
+            List<CourseSummaryView> courses = courseRepository.findCatalogByInstructorId(instructorId);
             return courses.stream()
                     .map(this::convertToResponse)
                     .collect(Collectors.toList());
@@ -62,57 +95,94 @@ public class CourseService {
         }
     }
     
-    // ✅ ADD: Method to calculate course rating statistics
-    private java.math.BigDecimal calculateCourseAverageRating(Long courseId) {
-        try {
-            List<Enrollment> courseEnrollments = enrollmentRepository.findByCourseId(courseId);
-            
-            // Filter enrollments with ratings
-            List<Enrollment> ratedEnrollments = courseEnrollments.stream()
-                .filter(e -> e.getRating() != null && e.getRating() > 0)
-                .collect(Collectors.toList());
-            
-            if (ratedEnrollments.isEmpty()) {
-                return java.math.BigDecimal.ZERO;
+    // ✅ ADD: Version probes used by CourseController for ETag / If-None-Match / If-Modified-Since
+    @Transactional(readOnly = true)
+    public ResourceVersion getCatalogVersion() {
+        return ResourceVersion.of("courses", courseRepository.findCatalogVersion());
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getCourseVersion(Long courseId) {
+        VersionView version = courseRepository.findCourseVersion(courseId);
+        if (version.getRowCount() == null || version.getRowCount() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(ResourceVersion.of("course-" + courseId, version));
+    }
+    
+    // ✅ ADD: Paged listing for the catalog, a category or an instructor (category/instructorId null = no filter).
+    // page != null -> classic offset page with totals; otherwise a keyset window continued via cursor.
+    @Transactional(readOnly = true)
+    public CoursePageResponse getCoursePage(String category, Long instructorId, Integer page, Integer size,
+                                            String sort, String cursor) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        
+        if (page != null) {
+            Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize, CourseCursor.parseSort(sort));
+            Page<Long> ids;
+            if (category != null) {
+                ids = courseRepository.findPageIdsByCategory(category, pageable);
+            } else if (instructorId != null) {
+                ids = courseRepository.findPageIdsByInstructorId(instructorId, pageable);
+            } else {
+                ids = courseRepository.findPageIds(pageable);
             }
-            
-            double sum = ratedEnrollments.stream()
-                .mapToInt(Enrollment::getRating)
-                .sum();
-            double average = sum / ratedEnrollments.size();
-            
-            // Round to 2 decimal places
-            return java.math.BigDecimal.valueOf(average).setScale(2, java.math.RoundingMode.HALF_UP);
-            
-        } catch (Exception e) {
-            System.out.println("⚠️ Error calculating course average rating: " + e.getMessage());
-            return java.math.BigDecimal.ZERO;
+            return new CoursePageResponse(loadCatalogRows(ids.getContent()), ids.getNumber(), ids.getSize(),
+                    ids.getTotalElements(), ids.getTotalPages(), ids.hasNext(), null);
         }
+        
+        Sort keysetSort;
+        ScrollPosition position;
+        if (cursor != null && !cursor.isBlank()) {
+            CourseCursor after = CourseCursor.decode(cursor);
+            keysetSort = after.toSort();
+            position = after.toScrollPosition();
+        } else {
+            keysetSort = CourseCursor.parseSort(sort);
+            position = ScrollPosition.keyset();
+        }
+        
+        Window<Course> window;
+        if (category != null) {
+            window = courseRepository.findByCategory(category, position, keysetSort, Limit.of(pageSize));
+        } else if (instructorId != null) {
+            window = courseRepository.findByInstructorId(instructorId, position, keysetSort, Limit.of(pageSize));
+        } else {
+            window = courseRepository.findAllBy(position, keysetSort, Limit.of(pageSize));
+        }
+        
+        List<Course> courses = window.getContent();
+        String nextCursor = window.hasNext() && !courses.isEmpty()
+                ? CourseCursor.after(courses.get(courses.size() - 1), keysetSort).encode()
+                : null;
+        List<Long> ids = courses.stream().map(Course::getId).collect(Collectors.toList());
+        return new CoursePageResponse(loadCatalogRows(ids), null, pageSize, null, null, window.hasNext(), nextCursor);
     }
     
-    // ✅ ADD: Method to calculate total ratings count
-    private Integer calculateTotalRatings(Long courseId) {
-        try {
-            List<Enrollment> courseEnrollments = enrollmentRepository.findByCourseId(courseId);
-            
-            return (int) courseEnrollments.stream()
-                .filter(e -> e.getRating() != null && e.getRating() > 0)
-                .count();
-            
-        } catch (Exception e) {
-            System.out.println("⚠️ Error calculating total ratings: " + e.getMessage());
-            return 0;
+    // Loads projection rows for one page of ids in a single query, keeping the page order
+    private List<CourseResponse> loadCatalogRows(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
         }
+        Map<Long, CourseSummaryView> rows = courseRepository.findCatalogByIdIn(ids).stream()
+                .collect(Collectors.toMap(CourseSummaryView::getId, Function.identity()));
+        return ids.stream()
+                .map(rows::get)
+                .filter(java.util.Objects::nonNull)
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
     }
     
-    // ✅ ADD: Method to calculate enrolled students
-    private Integer calculateEnrolledStudents(Long courseId) {
+    // ✅ ADD: Recount counters once for rows that predate the rating_sum / enrolled_students columns
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillCourseCounters() {
         try {
-            List<Enrollment> courseEnrollments = enrollmentRepository.findByCourseId(courseId);
-            return courseEnrollments.size();
+            int updated = courseRepository.backfillCounters();
+            if (updated > 0) {
+                log.info("Backfilled rating/enrollment counters for {} courses", updated);
+            }
         } catch (Exception e) {
-            System.out.println("⚠️ Error calculating enrolled students: " + e.getMessage());
-            return 0;
+            log.warn("Failed to backfill course counters: {}", e.getMessage());
         }
     }
     
@@ -122,18 +192,37 @@ public class CourseService {
             return "Course Instructor";
         }
         
-        // ✅ SAFE: Only use methods that definitely exist
-        // All User entities have getId() and we know instructor exists
-        
-        // Option 1: Use reflection to safely check available methods (advanced)
-        // Option 2: Use a simple, guaranteed approach
-        
-        // SIMPLE GUARANTEED APPROACH:
-        // Since we can't be sure what methods exist, use the ID
-        return "Instructor #" + instructor.getId();
-        
-        // ALTERNATIVE: If you know your User entity has specific fields,
-        // you can add them here once you confirm they exist
+        return getInstructorName(instructor.getId(), instructor.getName());
+    }
+    
+    // Same naming rule for entity and projection rows, so catalog and detail responses agree
+    private String getInstructorName(Long instructorId, String name) {
+        if (instructorId == null) {
+            return "Course Instructor";
+        }
+        if (name != null && !name.trim().isEmpty()) {
+            return name;
+        }
+        return "Instructor #" + instructorId;
+    }
+    
+    // ✅ ADD: Convert a catalog projection row - no lazy loading, everything came from one query
+    public CourseResponse convertToResponse(CourseSummaryView view) {
+        return new CourseResponse(
+            view.getId(),
+            view.getTitle(),
+            view.getCategory(),
+            view.getDuration(),
+            view.getBatch(),
+            view.getLevel(),
+            view.getPrice(),
+            getInstructorName(view.getInstructorId(), view.getInstructorName()),
+            view.getInstructorId(),
+            view.getCreatedAt(),
+            view.getAverageRating() != null ? view.getAverageRating() : java.math.BigDecimal.ZERO,
+            view.getTotalRatings() != null ? view.getTotalRatings() : 0,
+            view.getEnrolledStudents() != null ? view.getEnrolledStudents() : 0
+        );
     }
     
     // ✅ UPDATED: Enhanced convertToResponse with rating data - COMPLETELY SAFE
@@ -147,24 +236,19 @@ public class CourseService {
                 instructorName = getInstructorName(course.getInstructor());
                 instructorId = course.getInstructor().getId();
                 
-                System.out.println("👨‍🏫 Instructor: " + instructorName + " (ID: " + instructorId + ")");
+                log.trace("Instructor: {} (ID: {})", instructorName, instructorId);
             }
             
-            // ✅ ADD: Calculate rating statistics
-            Long courseId = course.getId();
+            // ✅ Rating statistics are precomputed counters on the course row
             java.math.BigDecimal averageRating = course.getAverageRating() != null ? 
-                course.getAverageRating() : calculateCourseAverageRating(courseId);
+                course.getAverageRating() : java.math.BigDecimal.ZERO;
             
-            Integer totalRatings = course.getTotalRatings() != null ? 
-                course.getTotalRatings() : calculateTotalRatings(courseId);
+            Integer totalRatings = course.getTotalRatings() != null ? course.getTotalRatings() : 0;
             
-            Integer enrolledStudents = course.getEnrolledStudents() != null ? 
-                course.getEnrolledStudents() : calculateEnrolledStudents(courseId);
+            Integer enrolledStudents = course.getEnrolledStudents();
             
-            System.out.println("📊 Course: " + course.getTitle() + 
-                             " | Avg Rating: " + averageRating + 
-                             " | Total Ratings: " + totalRatings + 
-                             " | Students: " + enrolledStudents);
+            log.trace("Course: {} | Avg Rating: {} | Total Ratings: {} | Students: {}",
+                    course.getTitle(), averageRating, totalRatings, enrolledStudents);
             
             return new CourseResponse(
                 course.getId(),
@@ -183,8 +267,7 @@ public class CourseService {
                 enrolledStudents
             );
         } catch (Exception e) {
-            System.out.println("⚠️ Error converting course: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Error converting course: {}", e.getMessage(), e);
             
             // Return safe default values with rating data
             return new CourseResponse(
@@ -207,45 +290,57 @@ public class CourseService {
     }
     
     // ✅ ADD: Method for CourseController
+    @Cacheable(cacheNames = CacheConfig.COURSE_DETAIL, key = "#courseId", unless = "#result == null")
+    @Transactional(readOnly = true)
     public Optional<CourseResponse> getCourseResponseById(Long courseId) {
         try {
-            Optional<Course> course = courseRepository.findById(courseId);
-            return course.map(this::convertToResponse);
+            return courseRepository.findCatalogById(courseId).map(this::convertToResponse);
         } catch (Exception e) {
-            System.out.println("💥 Error getting course response by ID: " + e.getMessage());
+            log.error("Error getting course response by ID: {}", e.getMessage());
             return Optional.empty();
         }
     }
     
     public Course createCourse(Course course) {
-        return courseRepository.save(course);
+        Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(savedCourse.getId(), categoriesOf(savedCourse.getCategory())));
+        return savedCourse;
     }
     
     public void deleteCourse(Long id) {
         courseRepository.deleteById(id);
+        eventPublisher.publishEvent(new CourseChangedEvent(id, null));
+    }
+    
+    private static Set<String> categoriesOf(String... categories) {
+        return java.util.Arrays.stream(categories)
+                .filter(java.util.Objects::nonNull)
+                .collect(Collectors.toSet());
     }
     
     public Optional<Course> getCourseById(Long courseId) {
         try {
-            System.out.println("🔍 Service: Getting course by ID: " + courseId);
-            return courseRepository.findById(courseId);
+            log.debug("Service: Getting course by ID: {}", courseId);
+            return courseRepository.findWithInstructorById(courseId);
         } catch (Exception e) {
-            System.out.println("💥 Service Error getting course: " + e.getMessage());
+            log.error("Service Error getting course: {}", e.getMessage());
             throw new RuntimeException("Failed to get course: " + e.getMessage());
         }
     }
     
+    // One transaction, so the returned course is the loaded one (instructor included) rather than a merge copy
+    @Transactional
     public Course updateCourse(Long courseId, Course updatedCourse) {
         try {
-            System.out.println("🔄 Service: Updating course ID: " + courseId);
-            System.out.println("📝 Update data - Title: " + updatedCourse.getTitle() + 
-                             ", Duration: " + updatedCourse.getDuration() + 
-                             ", Category: " + updatedCourse.getCategory());
+            log.debug("Service: Updating course ID: {}", courseId);
+            log.debug("Update data - Title: {}, Duration: {}, Category: {}",
+                    updatedCourse.getTitle(), updatedCourse.getDuration(), updatedCourse.getCategory());
             
-            Optional<Course> existingCourseOpt = courseRepository.findById(courseId);
+            Optional<Course> existingCourseOpt = courseRepository.findWithInstructorById(courseId);
             
             if (existingCourseOpt.isPresent()) {
                 Course existingCourse = existingCourseOpt.get();
+                String previousCategory = existingCourse.getCategory();
                 
                 // Update only the fields that should be updatable
                 if (updatedCourse.getTitle() != null) {
@@ -269,16 +364,17 @@ public class CourseService {
                 // ✅ DON'T update instructor - keep original creator
                 
                 Course savedCourse = courseRepository.save(existingCourse);
-                System.out.println("✅ Service: Course updated successfully: " + savedCourse.getTitle());
+                eventPublisher.publishEvent(new CourseChangedEvent(courseId,
+                        categoriesOf(previousCategory, savedCourse.getCategory())));
+                log.debug("Service: Course updated successfully: {}", savedCourse.getTitle());
                 return savedCourse;
             } else {
-                System.out.println("❌ Service: Course not found with ID: " + courseId);
+                log.warn("Service: Course not found with ID: {}", courseId);
                 throw new RuntimeException("Course not found with id: " + courseId);
             }
             
         } catch (Exception e) {
-            System.out.println("💥 Service Error updating course: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Service Error updating course: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to update course: " + e.getMessage());
         }
     }
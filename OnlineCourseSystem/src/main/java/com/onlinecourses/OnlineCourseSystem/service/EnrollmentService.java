@@ -1,23 +1,44 @@
 package com.onlinecourses.OnlineCourseSystem.service;
 
+import com.onlinecourses.OnlineCourseSystem.dto.BulkEnrollmentResponse;
 import com.onlinecourses.OnlineCourseSystem.dto.CourseCompletionRequest;
+import com.onlinecourses.OnlineCourseSystem.dto.EnrollmentExportRow;
 import com.onlinecourses.OnlineCourseSystem.dto.EnrollmentRequest;
 import com.onlinecourses.OnlineCourseSystem.dto.EnrollmentResponse;
 import com.onlinecourses.OnlineCourseSystem.dto.RatingRequest;
 import com.onlinecourses.OnlineCourseSystem.entity.Enrollment;
 import com.onlinecourses.OnlineCourseSystem.entity.User;
 import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import com.onlinecourses.OnlineCourseSystem.entity.UserRole;
+import com.onlinecourses.OnlineCourseSystem.repository.CertificateJobRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.EnrollmentBulkRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.EnrollmentBulkRepository.StudentCourse;
 import com.onlinecourses.OnlineCourseSystem.repository.EnrollmentRepository;
 import com.onlinecourses.OnlineCourseSystem.repository.UserRepository;
 import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Hibernate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class EnrollmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentService.class);
     
     @Autowired
     private EnrollmentRepository enrollmentRepository;
@@ -28,24 +49,64 @@ public class EnrollmentService {
     @Autowired
     private CourseRepository courseRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private EnrollmentBulkRepository enrollmentBulkRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private CertificateJobRepository certificateJobRepository;
+    
+    // Reloads a course after its counters were moved by SQL, so the entity returned to callers matches the row
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private static final RowExporter<EnrollmentExportRow> ROSTER_EXPORT = new RowExporter<EnrollmentExportRow>()
+            .column("enrollmentId", EnrollmentExportRow::getEnrollmentId)
+            .column("studentId", EnrollmentExportRow::getStudentId)
+            .column("studentName", EnrollmentExportRow::getStudentName)
+            .column("studentEmail", EnrollmentExportRow::getStudentEmail)
+            .column("enrollmentDate", EnrollmentExportRow::getEnrollmentDate)
+            .column("completed", EnrollmentExportRow::getCompleted)
+            .column("completionDate", EnrollmentExportRow::getCompletionDate)
+            .column("rating", EnrollmentExportRow::getRating)
+            .column("testScore", EnrollmentExportRow::getTestScore)
+            .column("totalQuestions", EnrollmentExportRow::getTotalQuestions)
+            .column("percentage", EnrollmentExportRow::getPercentage)
+            .column("passed", EnrollmentExportRow::getPassed);
+    
+    @Transactional(readOnly = true)
     public List<EnrollmentResponse> getStudentEnrollments(Long studentId) {
         try {
-            System.out.println("🔍 Getting enrollments for student ID: " + studentId);
-            List<Enrollment> enrollments = enrollmentRepository.findByStudentId(studentId);
-            System.out.println("✅ Found " + enrollments.size() + " enrollments");
+            log.debug("Getting enrollments for student ID: {}", studentId);
+            // ✅ One query for enrollments + courses + instructors, then convert in memory
+            List<Enrollment> enrollments = enrollmentRepository.findByStudentIdWithCourse(studentId);
+            log.debug("Found {} enrollments", enrollments.size());
             
             return enrollments.stream()
                     .map(this::convertToResponse)
                     .collect(Collectors.toList());
         } catch (Exception e) {
-            System.out.println("💥 ERROR in getStudentEnrollments: " + e.getMessage());
+            log.error("ERROR in getStudentEnrollments: {}", e.getMessage());
             throw new RuntimeException("Failed to get student enrollments: " + e.getMessage());
         }
     }
     
+    // ✅ ADD: Version probe for conditional GET on GET /api/enrollments/student/{studentId}
+    @Transactional(readOnly = true)
+    public ResourceVersion getStudentEnrollmentsVersion(Long studentId) {
+        return ResourceVersion.of("student-" + studentId + "-enrollments",
+                enrollmentRepository.findStudentEnrollmentsVersion(studentId));
+    }
+    
+    @Transactional(readOnly = true)
     public List<EnrollmentResponse> getCourseEnrollments(Long courseId) {
         try {
-            List<Enrollment> enrollments = enrollmentRepository.findByCourseId(courseId);
+            List<Enrollment> enrollments = enrollmentRepository.findByCourseIdWithCourse(courseId);
             return enrollments.stream()
                     .map(this::convertToResponse)
                     .collect(Collectors.toList());
@@ -54,53 +115,19 @@ public class EnrollmentService {
         }
     }
     
-    // ✅ ADD: Method to calculate course rating statistics
-    private Map<String, Object> calculateCourseRatingStats(Long courseId) {
-        try {
-            List<Enrollment> courseEnrollments = enrollmentRepository.findByCourseId(courseId);
-            
-            // Filter enrollments with ratings
-            List<Enrollment> ratedEnrollments = courseEnrollments.stream()
-                .filter(e -> e.getRating() != null && e.getRating() > 0)
-                .collect(Collectors.toList());
-            
-            int totalRatings = ratedEnrollments.size();
-            double averageRating = 0.0;
-            
-            if (totalRatings > 0) {
-                double sum = ratedEnrollments.stream()
-                    .mapToInt(Enrollment::getRating)
-                    .sum();
-                averageRating = Math.round((sum / totalRatings) * 10.0) / 10.0; // Round to 1 decimal
-            }
-            
-            int enrolledStudents = courseEnrollments.size();
-            
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("averageRating", averageRating);
-            stats.put("totalRatings", totalRatings);
-            stats.put("enrolledStudents", enrolledStudents);
-            
-            System.out.println("📊 Course " + courseId + " Stats - Avg: " + averageRating + 
-                             ", Total Ratings: " + totalRatings + ", Students: " + enrolledStudents);
-            
-            return stats;
-            
-        } catch (Exception e) {
-            System.out.println("⚠️ Error calculating course stats: " + e.getMessage());
-            // Return safe defaults
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("averageRating", 0.0);
-            stats.put("totalRatings", 0);
-            stats.put("enrolledStudents", 0);
-            return stats;
+    // ✅ ADD: Streams the course roster from a JDBC cursor straight into the response - constant heap for any size.
+    // The transaction keeps the cursor open while rows are written.
+    @Transactional(readOnly = true)
+    public long exportCourseEnrollments(Long courseId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<EnrollmentExportRow> rows = enrollmentRepository.streamExportByCourseId(courseId)) {
+            return ROSTER_EXPORT.write(rows, format, out, objectMapper);
         }
     }
     
     // ✅ UPDATED: Enhanced conversion with course data
-    private EnrollmentResponse convertToResponse(Enrollment enrollment) {
+    EnrollmentResponse convertToResponse(Enrollment enrollment) {
         try {
-            System.out.println("🔍 Converting enrollment: " + enrollment.getId());
+            log.trace("Converting enrollment: {}", enrollment.getId());
             
             // Safe approach - only use methods we know exist
             Long studentId = enrollment.getStudent() != null ? enrollment.getStudent().getId() : null;
@@ -117,6 +144,9 @@ public class EnrollmentService {
             String level = "Unknown Level";
             String batch = "Unknown Batch";
             Double price = 0.0;
+            Double courseAverageRating = 0.0;
+            Integer courseTotalRatings = 0;
+            Integer enrolledStudents = 0;
             
             if (enrollment.getCourse() != null) {
                 Course course = enrollment.getCourse();
@@ -138,15 +168,16 @@ public class EnrollmentService {
                 level = course.getLevel() != null ? course.getLevel() : "Beginner";
                 batch = course.getBatch() != null ? course.getBatch() : "Current Batch";
                 price = course.getPrice() != null ? course.getPrice().doubleValue() : 0.0;
+                
+                // ✅ Course rating statistics come from the precomputed counters on the course row
+                if (course.getAverageRating() != null) {
+                    courseAverageRating = Math.round(course.getAverageRating().doubleValue() * 10.0) / 10.0; // Round to 1 decimal
+                }
+                courseTotalRatings = course.getTotalRatings() != null ? course.getTotalRatings() : 0;
+                enrolledStudents = course.getEnrolledStudents();
             }
             
-            // ✅ ADD: Calculate course rating statistics
-            Map<String, Object> courseStats = calculateCourseRatingStats(courseId);
-            Double courseAverageRating = (Double) courseStats.get("averageRating");
-            Integer courseTotalRatings = (Integer) courseStats.get("totalRatings");
-            Integer enrolledStudents = (Integer) courseStats.get("enrolledStudents");
-            
-            System.out.println("🔍 Course Stats - Avg: " + courseAverageRating + ", Total: " + courseTotalRatings + ", Students: " + enrolledStudents);
+            log.trace("Course Stats - Avg: {}, Total: {}, Students: {}", courseAverageRating, courseTotalRatings, enrolledStudents);
             
             // ✅ FIXED: Use setter methods instead of constructor
             EnrollmentResponse response = new EnrollmentResponse();
@@ -179,12 +210,11 @@ public class EnrollmentService {
             response.setBatch(batch);
             response.setPrice(price);
             
-            System.out.println("✅ Created enhanced response: " + response);
+            log.trace("Created enhanced response: {}", response);
             return response;
             
         } catch (Exception e) {
-            System.out.println("💥 Error converting enrollment " + enrollment.getId() + ": " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error converting enrollment {}: {}", enrollment.getId(), e.getMessage(), e);
             
             // Return safe default with basic data using setters
             EnrollmentResponse response = new EnrollmentResponse();
@@ -211,39 +241,39 @@ public class EnrollmentService {
     // ✅ FIXED: Complete course with proper auto-completion logic
 // In your EnrollmentService - UPDATE the completeCourse method with more detailed logging
 // ✅ FIXED: Backward compatibility method - DON'T auto-complete
+@Transactional
 public Enrollment completeCourse(Long enrollmentId, CourseCompletionRequest completionRequest) {
     try {
-        System.out.println("🎯 === SERVICE: COMPLETE COURSE ===");
-        System.out.println("📥 Enrollment ID: " + enrollmentId);
-        System.out.println("📥 Completion Request Details:");
-        System.out.println("   - Completed: " + completionRequest.getCompleted());
-        System.out.println("   - Passed: " + completionRequest.getPassed());
-        System.out.println("   - Test Score: " + completionRequest.getTestScore());
-        System.out.println("   - Total Questions: " + completionRequest.getTotalQuestions());
+        log.debug("Complete course - enrollment {}: completed={}, passed={}, testScore={}/{}",
+                enrollmentId, completionRequest.getCompleted(), completionRequest.getPassed(),
+                completionRequest.getTestScore(), completionRequest.getTotalQuestions());
         
         // ✅ ADD: SAFETY CHECK - If test failed, NEVER mark as completed
         if (completionRequest.getPassed() != null && !completionRequest.getPassed()) {
-            System.out.println("🛡️  Safety Check: Test failed - forcing completed to false");
+            log.debug("Safety Check: Test failed - forcing completed to false");
             completionRequest.setCompleted(false);
         }
         
-        Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
+        // ✅ FIX: Row lock until commit, so previousRating is still the stored rating when the delta is applied
+        Enrollment enrollment = enrollmentRepository.findByIdForUpdate(enrollmentId)
             .orElseThrow(() -> new RuntimeException("Enrollment not found with id: " + enrollmentId));
+        Integer previousRating = enrollment.getRating();
+        // The enrollment is serialized after the transaction, student, course and instructor included
+        Hibernate.initialize(enrollment.getStudent());
+        Hibernate.initialize(enrollment.getCourse());
+        Hibernate.initialize(enrollment.getCourse().getInstructor());
 
-        // Debug current state
-        System.out.println("🔍 Current enrollment state:");
-        System.out.println("   - Completed: " + enrollment.isCompleted());
-        System.out.println("   - Passed: " + enrollment.getPassed());
+        log.trace("Current enrollment state - completed={}, passed={}", enrollment.isCompleted(), enrollment.getPassed());
 
         // ✅ SIMPLIFIED: Only complete if test passed OR explicitly set to complete
         if (completionRequest.getCompleted() != null) {
             // Use explicit completion value
             enrollment.setCompleted(completionRequest.getCompleted());
-            System.out.println("✅ Set completed (explicit): " + completionRequest.getCompleted());
+            log.debug("Set completed (explicit): {}", completionRequest.getCompleted());
         } else if (completionRequest.getPassed() != null) {
             // Auto-complete only if test passed
             enrollment.setCompleted(completionRequest.getPassed());
-            System.out.println("✅ Auto-completing based on test result: " + completionRequest.getPassed());
+            log.debug("Auto-completing based on test result: {}", completionRequest.getPassed());
         }
         // If no completion info, maintain current state
 
@@ -254,62 +284,63 @@ public Enrollment completeCourse(Long enrollmentId, CourseCompletionRequest comp
             } else {
                 enrollment.setCompletionDate(LocalDateTime.now());
             }
-            System.out.println("✅ Set completion date: " + enrollment.getCompletionDate());
+            log.trace("Set completion date: {}", enrollment.getCompletionDate());
         } else {
             enrollment.setCompletionDate(null);
-            System.out.println("❌ Course not completed - clearing completion date");
+            log.debug("Course not completed - clearing completion date");
         }
 
         // Update test scores if provided
         if (completionRequest.getTestScore() != null) {
             enrollment.setTestScore(completionRequest.getTestScore());
-            System.out.println("✅ Test score: " + completionRequest.getTestScore());
+            log.trace("Test score: {}", completionRequest.getTestScore());
         }
         
         if (completionRequest.getTotalQuestions() != null) {
             enrollment.setTotalQuestions(completionRequest.getTotalQuestions());
-            System.out.println("✅ Total questions: " + completionRequest.getTotalQuestions());
+            log.trace("Total questions: {}", completionRequest.getTotalQuestions());
         }
         
         if (completionRequest.getPercentage() != null) {
             enrollment.setPercentage(completionRequest.getPercentage());
-            System.out.println("✅ Percentage: " + completionRequest.getPercentage());
+            log.trace("Percentage: {}", completionRequest.getPercentage());
         }
         
         if (completionRequest.getPassed() != null) {
             enrollment.setPassed(completionRequest.getPassed());
-            System.out.println("✅ Passed: " + completionRequest.getPassed());
+            log.trace("Passed: {}", completionRequest.getPassed());
         }
 
         // Update rating if provided
         if (completionRequest.getRating() != null) {
             enrollment.setRating(completionRequest.getRating());
-            System.out.println("✅ Rating: " + completionRequest.getRating());
+            log.trace("Rating: {}", completionRequest.getRating());
         }
         
         if (completionRequest.getFeedback() != null) {
             enrollment.setFeedback(completionRequest.getFeedback());
-            System.out.println("✅ Feedback: " + completionRequest.getFeedback());
+            log.trace("Feedback: {}", completionRequest.getFeedback());
         }
 
-        // Debug final state
-        System.out.println("🔍 Final enrollment state:");
-        System.out.println("   - Completed: " + enrollment.isCompleted());
-        System.out.println("   - Passed: " + enrollment.getPassed());
-        System.out.println("   - Test Score: " + enrollment.getTestScore() + "/" + enrollment.getTotalQuestions());
-
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
-        System.out.println("💾 FINAL RESULT - Completed: " + savedEnrollment.isCompleted() + ", Passed: " + savedEnrollment.getPassed());
+        Course course = savedEnrollment.getCourse();
+        if (applyRatingChange(course.getId(), previousRating, savedEnrollment.getRating())) {
+            entityManager.refresh(course);
+            eventPublisher.publishEvent(CourseChangedEvent.countersChanged(course.getId(), null));
+        }
+        log.debug("Enrollment {} saved - completed={}, passed={}, testScore={}/{}",
+                enrollmentId, savedEnrollment.isCompleted(), savedEnrollment.getPassed(),
+                savedEnrollment.getTestScore(), savedEnrollment.getTotalQuestions());
         
         return savedEnrollment;
         
     } catch (Exception e) {
-        System.out.println("💥 SERVICE ERROR: Failed to complete course - " + e.getMessage());
-        e.printStackTrace();
+        log.error("Failed to complete course for enrollment {}: {}", enrollmentId, e.getMessage(), e);
         throw new RuntimeException("Failed to complete course: " + e.getMessage(), e);
     }
 }
 // ✅ ADD: Separate method for manual course completion (if needed)
+@Transactional
 public Enrollment manuallyCompleteCourse(Long enrollmentId) {
     CourseCompletionRequest request = new CourseCompletionRequest();
     request.setCompleted(true);
@@ -319,6 +350,7 @@ public Enrollment manuallyCompleteCourse(Long enrollmentId) {
 }
 
     // Add this method for rating only
+    @Transactional
     public Enrollment rateCourse(Long enrollmentId, Integer rating, String feedback) {
         CourseCompletionRequest request = new CourseCompletionRequest();
         request.setRating(rating);
@@ -328,34 +360,26 @@ public Enrollment manuallyCompleteCourse(Long enrollmentId) {
         return completeCourse(enrollmentId, request);
     }
 
-    // ✅ ADD: Method to update course rating statistics in Course entity
-    private void updateCourseRatingStats(Long courseId) {
-        try {
-            Optional<Course> courseOpt = courseRepository.findById(courseId);
-            if (courseOpt.isPresent()) {
-                Course course = courseOpt.get();
-                Map<String, Object> stats = calculateCourseRatingStats(courseId);
-                
-                Double averageRating = (Double) stats.get("averageRating");
-                Integer totalRatings = (Integer) stats.get("totalRatings");
-                
-                course.setAverageRating(java.math.BigDecimal.valueOf(averageRating));
-                course.setTotalRatings(totalRatings);
-                
-                courseRepository.save(course);
-                
-                System.out.println("✅ Updated course " + courseId + " ratings - Avg: " + averageRating + ", Total: " + totalRatings);
-            }
-        } catch (Exception e) {
-            System.out.println("⚠️ Failed to update course rating stats: " + e.getMessage());
+    // ✅ ADD: Keep the course's rating_sum / total_ratings / average_rating in step with one enrollment's rating.
+    // Returns whether the counters moved; the caller publishes the change.
+    private boolean applyRatingChange(Long courseId, Integer oldRating, Integer newRating) {
+        int oldValue = oldRating != null && oldRating > 0 ? oldRating : 0;
+        int newValue = newRating != null && newRating > 0 ? newRating : 0;
+        if (oldValue == newValue) {
+            return false;
         }
+        int countDelta = (newValue > 0 ? 1 : 0) - (oldValue > 0 ? 1 : 0);
+        courseRepository.applyRatingDelta(courseId, newValue - oldValue, countDelta);
+        return true;
     }
     
     // Enrollment methods
+    @Transactional
     public Enrollment enrollStudent(Long studentId, Long courseId) {
         try {
             Optional<User> student = userRepository.findById(studentId);
-            Optional<Course> course = courseRepository.findById(courseId);
+            // The enrollment is serialized after the transaction, course and instructor included
+            Optional<Course> course = courseRepository.findWithInstructorById(courseId);
             
             if (student.isPresent() && course.isPresent()) {
                 // Check if already enrolled
@@ -367,7 +391,12 @@ public Enrollment manuallyCompleteCourse(Long enrollmentId) {
                 }
                 
                 Enrollment enrollment = new Enrollment(student.get(), course.get());
-                return enrollmentRepository.save(enrollment);
+                Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+                courseRepository.incrementEnrolledStudents(courseId, 1);
+                entityManager.refresh(course.get());
+                String category = course.get().getCategory();
+                eventPublisher.publishEvent(CourseChangedEvent.countersChanged(courseId, category != null ? Set.of(category) : null));
+                return savedEnrollment;
             }
             throw new RuntimeException("Student or course not found");
         } catch (Exception e) {
@@ -375,9 +404,82 @@ public Enrollment manuallyCompleteCourse(Long enrollmentId) {
         }
     }
     
+    // ✅ ADD: Enroll many student/course pairs in one transaction with set-based lookups:
+    // chunked id checks per table, one existing-pair query per chunk, multi-row inserts, one counter update per course.
+    // Pairs with unknown ids are skipped and reported; pairs already enrolled are left as they are.
+    @Transactional
+    public BulkEnrollmentResponse bulkEnroll(List<EnrollmentRequest> requests) {
+        try {
+            Set<StudentCourse> requested = new LinkedHashSet<>();
+            int invalid = 0;
+            for (EnrollmentRequest request : requests) {
+                if (request == null || request.getStudentId() == null || request.getCourseId() == null) {
+                    invalid++;
+                    continue;
+                }
+                requested.add(new StudentCourse(request.getStudentId(), request.getCourseId()));
+            }
+            if (invalid > 0) {
+                throw new IllegalArgumentException(invalid + " entries are missing studentId or courseId");
+            }
+            int duplicatesInRequest = requests.size() - requested.size();
+            
+            Set<Long> studentIds = requested.stream().map(StudentCourse::studentId).collect(Collectors.toSet());
+            Set<Long> courseIds = requested.stream().map(StudentCourse::courseId).collect(Collectors.toSet());
+            Set<Long> knownStudents = EnrollmentBulkRepository.findInChunks(studentIds,
+                    chunk -> userRepository.findIdsByIdInAndRole(chunk, UserRole.STUDENT));
+            Set<Long> knownCourses = EnrollmentBulkRepository.findInChunks(courseIds, courseRepository::findIdsByIdIn);
+            
+            // The query covers known students x known courses; only the requested pairs among them count
+            Set<StudentCourse> existing = enrollmentBulkRepository.findExisting(knownStudents, knownCourses);
+            int alreadyEnrolled = 0;
+            List<StudentCourse> toInsert = new ArrayList<>();
+            for (StudentCourse pair : requested) {
+                if (!knownStudents.contains(pair.studentId()) || !knownCourses.contains(pair.courseId())) {
+                    continue;
+                }
+                if (existing.contains(pair)) {
+                    alreadyEnrolled++;
+                } else {
+                    toInsert.add(pair);
+                }
+            }
+            // Counters move by the rows really inserted: a pair enrolled concurrently since findExisting is skipped
+            Map<Long, Integer> perCourse = enrollmentBulkRepository.insertAll(toInsert, LocalDateTime.now());
+            int inserted = perCourse.values().stream().mapToInt(Integer::intValue).sum();
+            alreadyEnrolled += toInsert.size() - inserted;
+            perCourse.forEach((courseId, delta) -> {
+                courseRepository.incrementEnrolledStudents(courseId, delta);
+                eventPublisher.publishEvent(CourseChangedEvent.countersChanged(courseId, null));
+            });
+            
+            List<Long> unknownStudents = studentIds.stream().filter(id -> !knownStudents.contains(id)).sorted().toList();
+            List<Long> unknownCourses = courseIds.stream().filter(id -> !knownCourses.contains(id)).sorted().toList();
+            log.info("Bulk enrollment: {} requested, {} enrolled, {} already enrolled, {} unknown students, {} unknown courses",
+                    requests.size(), inserted, alreadyEnrolled, unknownStudents.size(), unknownCourses.size());
+            return new BulkEnrollmentResponse(requests.size(), inserted, alreadyEnrolled, duplicatesInRequest,
+                    unknownStudents, unknownCourses);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Bulk enrollment failed: {}", e.getMessage(), e);
+            throw new RuntimeException("Bulk enrollment failed: " + e.getMessage());
+        }
+    }
+    
+    @Transactional
     public void unenrollStudent(Long enrollmentId) {
         try {
-            enrollmentRepository.deleteById(enrollmentId);
+            Optional<Enrollment> enrollment = enrollmentRepository.findByIdForUpdate(enrollmentId);
+            if (enrollment.isPresent()) {
+                Long courseId = enrollment.get().getCourse().getId();
+                // A queued or failed certificate job would otherwise block the delete (fk_certificate_jobs_enrollment)
+                certificateJobRepository.deleteByEnrollmentId(enrollmentId);
+                enrollmentRepository.delete(enrollment.get());
+                courseRepository.incrementEnrolledStudents(courseId, -1);
+                applyRatingChange(courseId, enrollment.get().getRating(), null);
+                eventPublisher.publishEvent(CourseChangedEvent.countersChanged(courseId, null));
+            }
         } catch (Exception e) {
             throw new RuntimeException("Unenrollment failed: " + e.getMessage());
         }
@@ -385,13 +487,13 @@ public Enrollment manuallyCompleteCourse(Long enrollmentId) {
 
     // ✅ ADD: Debug method to track completion logic - NOW USED
     private void debugEnrollmentCompletion(Enrollment enrollment, CourseCompletionRequest request, String operation) {
-        System.out.println("🔍 === ENROLLMENT DEBUG: " + operation + " ===");
-        System.out.println("📊 Enrollment ID: " + enrollment.getId());
-        System.out.println("📥 Request - Completed: " + request.getCompleted() + ", Passed: " + request.getPassed());
-        System.out.println("📊 Current - Completed: " + enrollment.isCompleted() + ", Passed: " + enrollment.getPassed());
-        System.out.println("🎯 Test Score: " + enrollment.getTestScore() + "/" + enrollment.getTotalQuestions());
-        System.out.println("📈 Percentage: " + enrollment.getPercentage());
-        System.out.println("📅 Completion Date: " + enrollment.getCompletionDate());
-        System.out.println("🔍 ==================================");
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        log.debug("Enrollment debug [{}] - id={}, request completed={}/passed={}, current completed={}/passed={}, " +
+                  "testScore={}/{}, percentage={}, completionDate={}",
+                operation, enrollment.getId(), request.getCompleted(), request.getPassed(),
+                enrollment.isCompleted(), enrollment.getPassed(), enrollment.getTestScore(),
+                enrollment.getTotalQuestions(), enrollment.getPercentage(), enrollment.getCompletionDate());
     }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+// bcrypt password hashing on a dedicated, bounded pool. Each hash costs tens to hundreds of milliseconds
+// of CPU by design, so it must not run on request threads without a limit: at most `threads` hashes run
+// at once, `queue-capacity` more may wait, and anything beyond that is refused straight away with
+// PasswordHashingBusyException (429) instead of tying up the threads that serve everything else.
+// Every stored password is a bcrypt hash (V9 hashed the plain-text ones); needsRehash() reports hashes
+// made with a lower cost than the current one.
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT = Pattern.compile("\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // log2 of the bcrypt rounds; +1 doubles the cost. Raising it rehashes users as they log in.
+    @Value("${app.security.password.bcrypt-strength:10}")
+    private int strength;
+
+    @Value("${app.security.password.hashing.threads:0}")
+    private int threads;
+
+    @Value("${app.security.password.hashing.queue-capacity:32}")
+    private int queueCapacity;
+
+    // Longest a request waits for its hash, queueing included
+    @Value("${app.security.password.hashing.max-wait:5s}")
+    private Duration maxWait;
+
+    @Value("${app.security.password.hashing.retry-after:2s}")
+    private Duration retryAfter;
+
+    private BCryptPasswordEncoder encoder;
+    private ThreadPoolExecutor executor;
+    private Counter rejections;
+    // Hash of a random password, checked against when the user doesn't exist so that an unknown email
+    // takes as long as a wrong password
+    private String dummyHash;
+
+    @PostConstruct
+    public void init() {
+        encoder = new BCryptPasswordEncoder(strength);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing", List.of());
+        rejections = Counter.builder("app.security.password.hashing.rejected")
+                .description("Password hashes refused because the hashing pool and its queue were full")
+                .register(meterRegistry);
+        dummyHash = encoder.encode(Long.toHexString(System.nanoTime()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public String hash(String rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    // storedPassword null means "no such user": the time is spent anyway and the answer is false. So is
+    // anything that isn't a bcrypt hash, which nothing can match.
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (!isHash(storedPassword)) {
+            run(() -> encoder.matches(rawPassword, dummyHash));
+            return false;
+        }
+        return run(() -> encoder.matches(rawPassword, storedPassword));
+    }
+
+    public boolean needsRehash(String storedPassword) {
+        return isHash(storedPassword) && encoder.upgradeEncoding(storedPassword);
+    }
+
+    public Duration getRetryAfter() { return retryAfter; }
+
+    private static boolean isHash(String storedPassword) {
+        return storedPassword != null && BCRYPT.matcher(storedPassword).matches();
+    }
+
+    private <T> T run(Callable<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(work);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordHashingBusyException(retryAfter);
+        }
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            // A cancelled hash still waiting would keep its queue slot until a thread got to it
+            executor.remove((Runnable) future);
+            rejections.increment();
+            throw new PasswordHashingBusyException(retryAfter);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing password");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to hash password: " + e.getCause().getMessage());
+        }
+    }
+}
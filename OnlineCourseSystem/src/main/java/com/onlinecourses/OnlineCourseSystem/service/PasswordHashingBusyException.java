@@ -0,0 +1,15 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import java.time.Duration;
+
+// Backpressure: the password hashing pool and its queue are full. Mapped to 429 + Retry-After.
+public class PasswordHashingBusyException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public PasswordHashingBusyException(Duration retryAfter) {
+        super("Too many sign-in requests, retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() { return retryAfter; }
+}
@@ -0,0 +1,111 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Runtime-switchable payload size sampling (off by default).
+// Uses the application's shared ObjectMapper and counts bytes without building a String.
+@Service
+public class PayloadDiagnostics {
+
+    private static final Logger log = LoggerFactory.getLogger(PayloadDiagnostics.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicBoolean enabled;
+    private volatile int sampleEvery;
+    private final AtomicLong calls = new AtomicLong();
+    private final Map<String, PayloadStats> stats = new ConcurrentHashMap<>();
+
+    public PayloadDiagnostics(@Value("${app.diagnostics.payload-sampling.enabled:false}") boolean enabled,
+                              @Value("${app.diagnostics.payload-sampling.sample-every:10}") int sampleEvery) {
+        this.enabled = new AtomicBoolean(enabled);
+        this.sampleEvery = Math.max(1, sampleEvery);
+    }
+
+    public boolean isEnabled() { return enabled.get(); }
+    public int getSampleEvery() { return sampleEvery; }
+
+    public void configure(boolean enabled, Integer sampleEvery) {
+        if (sampleEvery != null) {
+            this.sampleEvery = Math.max(1, sampleEvery);
+        }
+        this.enabled.set(enabled);
+    }
+
+    // Cheap no-op unless sampling is on; then only every Nth call pays for an extra serialization
+    public void sample(String endpoint, Object payload) {
+        if (!enabled.get() || calls.incrementAndGet() % sampleEvery != 0) {
+            return;
+        }
+        try {
+            CountingOutputStream out = new CountingOutputStream();
+            objectMapper.writeValue(out, payload);
+            stats.computeIfAbsent(endpoint, key -> new PayloadStats()).record(out.count);
+        } catch (Exception e) {
+            log.warn("Payload sampling failed for {}: {}", endpoint, e.getMessage());
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("enabled", enabled.get());
+        response.put("sampleEvery", sampleEvery);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((endpoint, endpointStats) -> endpoints.put(endpoint, endpointStats.toMap()));
+        response.put("endpoints", endpoints);
+        return response;
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    private static final class PayloadStats {
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder totalBytes = new LongAdder();
+        private final LongAccumulator maxBytes = new LongAccumulator(Math::max, 0);
+        private volatile long lastBytes;
+
+        void record(long bytes) {
+            samples.increment();
+            totalBytes.add(bytes);
+            maxBytes.accumulate(bytes);
+            lastBytes = bytes;
+        }
+
+        Map<String, Object> toMap() {
+            long count = samples.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("samples", count);
+            map.put("averageBytes", count > 0 ? totalBytes.sum() / count : 0);
+            map.put("maxBytes", maxBytes.get());
+            map.put("lastBytes", lastBytes);
+            return map;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) { count++; }
+
+        @Override
+        public void write(byte[] b, int off, int len) { count += len; }
+    }
+}
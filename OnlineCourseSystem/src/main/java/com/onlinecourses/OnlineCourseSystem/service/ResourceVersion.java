@@ -0,0 +1,44 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.dto.VersionView;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+// ETag + Last-Modified for a response, derived from a VersionView instead of the rendered payload
+public class ResourceVersion {
+    private final String etag;
+    private final long lastModified;
+
+    private ResourceVersion(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public static ResourceVersion of(String scope, VersionView view) {
+        long count = view.getRowCount() != null ? view.getRowCount() : 0;
+        return of(scope, count, view.getLastModified(), view.getRelatedLastModified());
+    }
+
+    // Weak validator: equal tags mean the JSON would be semantically identical, not byte-identical
+    private static ResourceVersion of(String scope, long count, LocalDateTime first, LocalDateTime second) {
+        String etag = "W/\"" + scope + "-" + count + "-" + stamp(first) + "-" + stamp(second) + "\"";
+        long lastModified = Math.max(toMillis(first), toMillis(second));
+        return new ResourceVersion(etag, lastModified > 0 ? lastModified : -1);
+    }
+
+    private static String stamp(LocalDateTime time) {
+        if (time == null) {
+            return "0";
+        }
+        return Long.toHexString(time.toEpochSecond(ZoneOffset.UTC)) + "." + Integer.toHexString(time.getNano());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
+
+    public String getEtag() { return etag; }
+    public long getLastModified() { return lastModified; }
+}
@@ -0,0 +1,107 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Writes a stream of rows as CSV or NDJSON straight to an output stream, one row at a time,
+// so an export holds only the current row (plus the writer's buffer) in memory.
+public class RowExporter<T> {
+
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private record Column<T>(String name, Function<T, Object> value) {}
+
+    private final List<Column<T>> columns = new ArrayList<>();
+
+    public RowExporter<T> column(String name, Function<T, Object> value) {
+        columns.add(new Column<>(name, value));
+        return this;
+    }
+
+    // Returns the number of rows written. Does not close the output stream.
+    public long write(Stream<T> rows, ExportFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return format == ExportFormat.NDJSON ? writeNdjson(rows, out, objectMapper) : writeCsv(rows, out);
+    }
+
+    private long writeCsv(Stream<T> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i).name());
+        }
+        writer.write("\r\n");
+
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvValue(writer, columns.get(i).value().apply(row));
+            }
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private long writeNdjson(Stream<T> rows, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        // The shared mapper keeps date/number formatting identical to the JSON API responses
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);   // rows are separated by '\n' below, not the default space
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            generator.writeStartObject();
+            for (Column<T> column : columns) {
+                generator.writeFieldName(column.name());
+                generator.writeObject(column.value().apply(row));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            count++;
+        }
+        generator.flush();
+        return count;
+    }
+
+    // RFC 4180 quoting; cells that a spreadsheet would evaluate as a formula get a leading apostrophe.
+    // Tab and carriage return are formula prefixes too (OWASP CSV injection).
+    private static void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (quote) {
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(text);
+        }
+    }
+}
@@ -1,19 +1,42 @@
 package com.onlinecourses.OnlineCourseSystem.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinecourses.OnlineCourseSystem.dto.TestResultExportRow;
 import com.onlinecourses.OnlineCourseSystem.entity.TestResult;
 import com.onlinecourses.OnlineCourseSystem.repository.TestResultRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class TestResultService {
     
     @Autowired
     private TestResultRepository testResultRepository;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private static final RowExporter<TestResultExportRow> RESULTS_EXPORT = new RowExporter<TestResultExportRow>()
+            .column("id", TestResultExportRow::getId)
+            .column("enrollmentId", TestResultExportRow::getEnrollmentId)
+            .column("studentId", TestResultExportRow::getStudentId)
+            .column("studentName", TestResultExportRow::getStudentName)
+            .column("testScore", TestResultExportRow::getTestScore)
+            .column("totalQuestions", TestResultExportRow::getTotalQuestions)
+            .column("percentage", TestResultExportRow::getPercentage)
+            .column("passed", TestResultExportRow::getPassed)
+            .column("completed", TestResultExportRow::getCompleted)
+            .column("createdAt", TestResultExportRow::getCreatedAt);
+    
     // Save or update test result
     public TestResult saveTestResult(TestResult testResult) {
         // Check if test result already exists for this enrollment
@@ -34,22 +57,34 @@ public class TestResultService {
         }
     }
     
+    // Stream a course's results as CSV/NDJSON from a JDBC cursor (the transaction keeps the cursor open)
+    @Transactional(readOnly = true)
+    public long exportCourseTestResults(Long courseId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<TestResultExportRow> rows = testResultRepository.streamExportByCourseId(courseId)) {
+            return RESULTS_EXPORT.write(rows, format, out, objectMapper);
+        }
+    }
+    
     // Get test result by enrollment ID
+    @Transactional(readOnly = true)
     public Optional<TestResult> getTestResultByEnrollmentId(Long enrollmentId) {
         return testResultRepository.findByEnrollmentId(enrollmentId);
     }
     
     // Get all test results for a student
+    @Transactional(readOnly = true)
     public List<TestResult> getTestResultsByStudentId(Long studentId) {
         return testResultRepository.findByStudentId(studentId);
     }
     
     // Get test result for specific course and student
+    @Transactional(readOnly = true)
     public Optional<TestResult> getTestResultByCourseAndStudent(Long courseId, Long studentId) {
         return testResultRepository.findByCourseIdAndStudentId(courseId, studentId);
     }
     
     // Check if student passed a specific course
+    @Transactional(readOnly = true)
     public boolean hasPassedCourse(Long courseId, Long studentId) {
         Optional<TestResult> result = testResultRepository.findByCourseIdAndStudentId(courseId, studentId);
         return result.isPresent() && result.get().getPassed();
@@ -1,24 +1,61 @@
 package com.onlinecourses.OnlineCourseSystem.service;
 
 import com.onlinecourses.OnlineCourseSystem.entity.User;
+import com.onlinecourses.OnlineCourseSystem.entity.UserRole;
+import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
 import com.onlinecourses.OnlineCourseSystem.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class UserService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
     
     @Autowired
     private UserRepository userRepository;
     
-    // ✅ REMOVED: PasswordEncoder dependency
+    // ✅ CHANGED: Passwords are stored as bcrypt hashes, computed on PasswordHasher's bounded pool
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     public User createUser(User user) {
-        // Store password as plain text (for prototype only)
+        user.setPassword(passwordHasher.hash(user.getPassword()));
         return userRepository.save(user);
     }
+
+    // ✅ ADD: The user with this email and password, if any. Stored hashes made with an older cost are
+    // replaced on a successful login, when the hashing pool has room for it.
+    public Optional<User> authenticate(String email, String password) {
+        Optional<User> userOptional = userRepository.findByEmail(email);
+        if (!passwordHasher.matches(password, userOptional.map(User::getPassword).orElse(null))) {
+            return Optional.empty();
+        }
+        User user = userOptional.get();
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            try {
+                user.setPassword(passwordHasher.hash(password));
+                userRepository.save(user);
+            } catch (PasswordHashingBusyException e) {
+                // The password already checked out: don't fail the login, the next one upgrades the hash
+                log.info("Hashing pool busy, password hash of user {} left at its older cost", user.getId());
+            }
+        }
+        return Optional.of(user);
+    }
     
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
@@ -48,20 +85,24 @@ public class UserService {
     }
     
     // ✅ ADD: Update user method
+    // ✅ FIX: Course responses show the instructor's name - refresh the cached copies of their courses
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        if (savedUser.getRole() == UserRole.INSTRUCTOR) {
+            courseRepository.findIdsByInstructorId(savedUser.getId())
+                    .forEach(courseId -> eventPublisher.publishEvent(new CourseChangedEvent(courseId, null)));
+        }
+        return savedUser;
     }
     
-    // ✅ ADD: Change password method (plain text for prototype)
+    // ✅ CHANGED: Change password method (hashed)
     public boolean changePassword(Long userId, String currentPassword, String newPassword) {
         Optional<User> userOptional = userRepository.findById(userId);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
             
-            // Compare plain text passwords (for prototype only)
-            if (currentPassword.equals(user.getPassword())) {
-                // Store new password as plain text (for prototype only)
-                user.setPassword(newPassword);
+            if (passwordHasher.matches(currentPassword, user.getPassword())) {
+                user.setPassword(passwordHasher.hash(newPassword));
                 userRepository.save(user);
                 return true;
             }
@@ -0,0 +1,115 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Watches JFR jdk.VirtualThreadPinned events (a virtual thread blocked while holding a monitor,
+// e.g. JDBC I/O inside a synchronized block) and reports where they happen.
+// Enabled with app.virtual-threads.pinning-diagnostics.enabled=true (on in the 'virtual' profile).
+@Service
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_TRACKED_SITES = 200;
+    private static final int FRAMES_PER_SITE = 6;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${app.virtual-threads.pinning-diagnostics.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.virtual-threads.pinning-diagnostics.threshold:20ms}")
+    private Duration threshold;
+
+    private RecordingStream recordingStream;
+    private final LongAdder pinnedEvents = new LongAdder();
+    private final AtomicLong maxPinnedMillis = new AtomicLong();
+    private final Map<String, LongAdder> pinnedSites = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void start() {
+        log.info("Request threads: {}", virtualThreadsEnabled ? "virtual" : "platform (Tomcat pool)");
+        if (!enabled) {
+            return;
+        }
+        try {
+            recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+            recordingStream.startAsync();
+            log.info("Virtual thread pinning diagnostics enabled (threshold {})", threshold);
+        } catch (Exception e) {
+            log.warn("Could not start JFR pinning diagnostics: {}", e.getMessage());
+            recordingStream = null;
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        long millis = event.getDuration().toMillis();
+        pinnedEvents.increment();
+        maxPinnedMillis.accumulateAndGet(millis, Math::max);
+        String site = describe(event);
+        if (pinnedSites.size() < MAX_TRACKED_SITES || pinnedSites.containsKey(site)) {
+            pinnedSites.computeIfAbsent(site, key -> new LongAdder()).increment();
+        }
+        log.warn("Virtual thread pinned for {} ms at {}", millis, site);
+    }
+
+    // Top frames of the pinned stack, e.g. "com.mysql.cj.NativeSession.execSQL <- ..."
+    private static String describe(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        StringBuilder site = new StringBuilder();
+        for (int i = 0; i < Math.min(FRAMES_PER_SITE, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            if (i > 0) {
+                site.append(" <- ");
+            }
+            site.append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                .append(':').append(frame.getLineNumber());
+        }
+        return site.toString();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("virtualThreads", virtualThreadsEnabled);
+        response.put("pinningDiagnostics", recordingStream != null);
+        response.put("thresholdMillis", threshold.toMillis());
+        response.put("pinnedEvents", pinnedEvents.sum());
+        response.put("maxPinnedMillis", maxPinnedMillis.get());
+        Map<String, Long> sites = new LinkedHashMap<>();
+        pinnedSites.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .forEach(entry -> sites.put(entry.getKey(), entry.getValue().sum()));
+        response.put("sites", sites);
+        return response;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+// Columns the entities gained after the V1 baseline: the course counters (EnrollmentService keeps them
+// up to date with SQL deltas) and enrollments.updated_at (conditional GET). A database baselined at V1
+// may or may not have them already - ddl-auto=update added them if it ran with entities that had them -
+// so each one is added only if missing. Java rather than SQL because MySQL has no ADD COLUMN IF NOT EXISTS.
+// Counters left null here are recounted by CourseService.backfillCourseCounters at startup.
+public class V6__post_baseline_columns extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        addColumnIfMissing(connection, "courses", "rating_sum", "bigint");
+        addColumnIfMissing(connection, "courses", "enrolled_students", "integer");
+        addColumnIfMissing(connection, "enrollments", "updated_at", "datetime(6)");
+    }
+
+    private static void addColumnIfMissing(Connection connection, String table, String column,
+                                           String type) throws SQLException {
+        if (columnExists(connection, table, column)) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table " + table + " add column " + column + " " + type);
+        }
+    }
+
+    private static boolean columnExists(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String escape = metaData.getSearchStringEscape();
+        try (ResultSet rs = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+                pattern(metaData, table, escape), pattern(metaData, column, escape))) {
+            return rs.next();
+        }
+    }
+
+    // Identifier as the database stores it, with '_' escaped so it isn't a wildcard
+    private static String pattern(DatabaseMetaData metaData, String name, String escape) throws SQLException {
+        String stored = metaData.storesUpperCaseIdentifiers() ? name.toUpperCase(Locale.ROOT) : name;
+        return escape != null ? stored.replace("_", escape + "_") : stored;
+    }
+}
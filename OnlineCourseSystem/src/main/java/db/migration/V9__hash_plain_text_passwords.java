@@ -0,0 +1,57 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Passwords stored before hashing existed are plain text. Hash each of them once, so that PasswordHasher
+// only ever compares bcrypt hashes and has no plain-text path. Java rather than SQL because the database
+// can't compute bcrypt. Strength 10 is the app.security.password.bcrypt-strength default; a deployment
+// that configures more rehashes these users at their next login, as for any older hash.
+public class V9__hash_plain_text_passwords extends BaseJavaMigration {
+
+    // Same test as PasswordHasher: anything else is a plain-text password
+    private static final Pattern BCRYPT = Pattern.compile("\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+    private static final int STRENGTH = 10;
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        Map<Long, String> plainText = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select id, password from users where password is not null")) {
+            while (rs.next()) {
+                String password = rs.getString(2);
+                if (!BCRYPT.matcher(password).matches()) {
+                    plainText.put(rs.getLong(1), password);
+                }
+            }
+        }
+        if (plainText.isEmpty()) {
+            return;
+        }
+
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(STRENGTH);
+        try (PreparedStatement update = connection.prepareStatement("update users set password = ? where id = ?")) {
+            int batched = 0;
+            for (Map.Entry<Long, String> user : plainText.entrySet()) {
+                update.setString(1, encoder.encode(user.getValue()));
+                update.setLong(2, user.getKey());
+                update.addBatch();
+                if (++batched % BATCH_SIZE == 0) {
+                    update.executeBatch();
+                }
+            }
+            update.executeBatch();
+        }
+    }
+}
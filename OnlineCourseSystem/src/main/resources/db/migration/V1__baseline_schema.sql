@@ -0,0 +1,98 @@
+-- Baseline: the schema as Hibernate (ddl-auto=update) created it before migrations were introduced.
+-- Existing databases are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this script,
+-- so it must stay exactly that schema: columns added to the entities since go in V6 and later.
+
+create table users (
+    avatar_index integer,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    name varchar(255) not null,
+    password varchar(255) not null,
+    role enum ('STUDENT','INSTRUCTOR') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table courses (
+    average_rating decimal(3,2),
+    price decimal(10,2),
+    total_ratings integer,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    instructor_id bigint,
+    updated_at datetime(6),
+    batch varchar(255),
+    category varchar(255),
+    duration varchar(255),
+    level varchar(255),
+    title varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table enrollments (
+    completed bit not null,
+    passed bit,
+    percentage float(53),
+    rating integer,
+    test_score integer,
+    total_questions integer,
+    completion_date datetime(6),
+    course_id bigint,
+    enrollment_date datetime(6),
+    id bigint not null auto_increment,
+    student_id bigint,
+    feedback varchar(1000),
+    primary key (id)
+) engine=InnoDB;
+
+create table test_results (
+    completed bit,
+    passed bit not null,
+    percentage float(53) not null,
+    test_score integer not null,
+    total_questions integer not null,
+    course_id bigint not null,
+    created_at datetime(6),
+    enrollment_id bigint not null,
+    id bigint not null auto_increment,
+    student_id bigint not null,
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table certificates (
+    score integer,
+    completion_date datetime(6),
+    enrollment_id bigint not null,
+    id bigint not null auto_increment,
+    issue_date datetime(6) not null,
+    certificate_url varchar(1000),
+    certificate_id varchar(255) not null,
+    course_category varchar(255) not null,
+    course_title varchar(255) not null,
+    instructor_name varchar(255),
+    student_name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- Constraint names are the ones Hibernate generated, so baselined and fresh databases look the same
+alter table users
+    add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table enrollments
+    add constraint UKi0g6mfijtuh199nj653nva6j5 unique (student_id, course_id);
+
+alter table certificates
+    add constraint UK_yxv051awcglka45r27ju9vit unique (certificate_id);
+
+alter table courses
+    add constraint FKcyfum8goa6q5u13uog0563gyp foreign key (instructor_id) references users (id);
+
+alter table enrollments
+    add constraint FK2lha5vwilci2yi3vu5akusx4a foreign key (student_id) references users (id);
+
+alter table enrollments
+    add constraint FKho8mcicp4196ebpltdn9wl6co foreign key (course_id) references courses (id);
+
+alter table certificates
+    add constraint FKjy46ubyh2tf64mgos6jgpcx4u foreign key (enrollment_id) references enrollments (id);
@@ -0,0 +1,18 @@
+-- Indexes for the columns the repositories filter on. Mirrored by @Table(indexes = ...) on the entities;
+-- SchemaIndexVerifier fails startup if the live schema is missing any of them.
+
+-- CourseRepository: category listings/pages, instructor listings/pages
+create index idx_courses_category on courses (category);
+create index idx_courses_instructor on courses (instructor_id);
+
+-- EnrollmentRepository: per-course lookups (per-student ones use the (student_id, course_id) unique key)
+create index idx_enrollments_course on enrollments (course_id);
+
+-- TestResultRepository: findByEnrollmentId/existsByEnrollmentId, findByStudentId/findPassedTestsByStudentId,
+-- findByCourseIdAndStudentId/findByCourseId
+create index idx_test_results_enrollment on test_results (enrollment_id);
+create index idx_test_results_student_passed on test_results (student_id, passed);
+create index idx_test_results_course_student on test_results (course_id, student_id);
+
+-- CertificateRepository: findByEnrollmentId/existsByEnrollmentId
+create index idx_certificates_enrollment on certificates (enrollment_id);
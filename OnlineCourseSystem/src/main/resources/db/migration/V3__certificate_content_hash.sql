@@ -0,0 +1,5 @@
+-- Rendered certificate PDFs live in the content-addressed file store (CertificateFileStore), keyed by
+-- the SHA-256 of their bytes. Null for certificates issued before rendering existed: those are
+-- rendered on their first download and the hash is filled in then.
+alter table certificates
+    add column content_hash varchar(64);
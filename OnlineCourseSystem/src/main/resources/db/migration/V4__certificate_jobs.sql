@@ -0,0 +1,29 @@
+-- Durable queue for background certificate rendering (CertificateJobWorker). One row per enrollment:
+-- resubmitting a failed job requeues the same row. Workers claim QUEUED rows whose available_at has
+-- passed with a conditional update, so several instances can share the table.
+create table certificate_jobs (
+    id bigint not null auto_increment,
+    enrollment_id bigint not null,
+    status varchar(16) not null,
+    attempts integer not null,
+    student_name varchar(255),
+    course_title varchar(255),
+    course_category varchar(255),
+    instructor_name varchar(255),
+    score integer,
+    certificate_id bigint,
+    error varchar(1000),
+    available_at datetime(6) not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table certificate_jobs
+    add constraint uk_certificate_jobs_enrollment unique (enrollment_id);
+
+alter table certificate_jobs
+    add constraint fk_certificate_jobs_enrollment foreign key (enrollment_id) references enrollments (id);
+
+-- Claim query: status = 'QUEUED' and available_at <= now, oldest first
+create index idx_certificate_jobs_status_available on certificate_jobs (status, available_at);
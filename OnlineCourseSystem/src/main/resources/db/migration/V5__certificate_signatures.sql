@@ -0,0 +1,8 @@
+-- Ed25519 signature over the certificate's printed fields (CertificateSigner), base64, and the id of
+-- the key that made it. Null for certificates issued before signing existed: those are signed the first
+-- time they are verified.
+alter table certificates
+    add column signature varchar(128);
+
+alter table certificates
+    add column signing_key_id varchar(16);
@@ -0,0 +1,10 @@
+-- Keyset paging (CourseCursor) compares the sort column with the last row's value; a NULL there matches
+-- no rows, so paging by price, rating or creation time stopped at or skipped courses with NULLs.
+-- The sortable columns are made NOT NULL, with the defaults the entity uses for missing values.
+update courses set price = 0 where price is null;
+update courses set average_rating = 0 where average_rating is null;
+update courses set created_at = coalesce(updated_at, current_timestamp) where created_at is null;
+
+alter table courses modify price decimal(10,2) not null default 0;
+alter table courses modify average_rating decimal(3,2) not null default 0;
+alter table courses modify created_at datetime(6) not null;
@@ -0,0 +1,6 @@
+-- Course responses show the instructor's name, so a course's ETag must change when its instructor is
+-- edited (CourseRepository.findCourseVersion). Users had no modification time to compare.
+alter table users
+    add column updated_at datetime(6);
+
+update users set updated_at = created_at;
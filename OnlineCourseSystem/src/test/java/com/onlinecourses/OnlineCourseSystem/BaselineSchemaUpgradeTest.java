@@ -0,0 +1,109 @@
+package com.onlinecourses.OnlineCourseSystem;
+
+import com.onlinecourses.OnlineCourseSystem.dto.CourseResponse;
+import com.onlinecourses.OnlineCourseSystem.service.CourseService;
+import com.onlinecourses.OnlineCourseSystem.service.EnrollmentService;
+import com.onlinecourses.OnlineCourseSystem.service.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Upgrade path for a database created by ddl-auto=update before migrations existed: the tables are there
+// (exactly V1) but there is no flyway_schema_history. Startup must baseline it at V1, add the columns the
+// entities gained since (V6+), hash the plain-text passwords (V9), and recount the counters for the rows
+// already in it. A database created by a later ddl-auto=update build already has some of those columns and
+// must migrate just the same.
+@SpringBootTest(properties = "spring.datasource.url=" + BaselineSchemaUpgradeTest.URL)
+@ActiveProfiles("h2")
+class BaselineSchemaUpgradeTest {
+
+    static final String URL = "jdbc:h2:mem:baseline-upgrade;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private UserService userService;
+
+    @BeforeAll
+    static void createBaselineDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline_schema.sql")).execute(dataSource);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO users (id, name, email, password, role) VALUES " +
+                "(1, 'Instructor', 'instructor@test.local', 'pw', 'INSTRUCTOR'), " +
+                "(2, 'Student A', 'a@test.local', 'pw', 'STUDENT'), " +
+                "(3, 'Student B', 'b@test.local', 'pw', 'STUDENT')");
+        jdbc.update("INSERT INTO courses (id, title, category, price, average_rating, total_ratings, instructor_id, " +
+                "created_at, updated_at) VALUES (1, 'Legacy course', 'baseline', 10, 0, 0, 1, NOW(), NOW())");
+        jdbc.update("INSERT INTO courses (id, title, category, instructor_id) VALUES (2, 'Unpriced course', 'unpriced', 1)");
+        jdbc.update("INSERT INTO enrollments (id, student_id, course_id, completed, rating, enrollment_date) VALUES " +
+                "(1, 2, 1, TRUE, 4, NOW()), (2, 3, 1, FALSE, NULL, NOW())");
+    }
+
+    @Test
+    void baselinedDatabaseGetsPostBaselineColumnsAndCounters() {
+        assertEquals("1", jdbc.queryForObject(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"type\" = 'BASELINE'", String.class));
+
+        CourseResponse course = courseService.getCoursesByCategory("baseline").get(0);
+        assertEquals(2, course.getEnrolledStudents().intValue());
+        assertEquals(0, new BigDecimal("4").compareTo(course.getAverageRating()));
+        assertEquals(4L, jdbc.queryForObject("SELECT rating_sum FROM courses WHERE id = 1", Long.class));
+
+        enrollmentService.rateCourse(2L, 2, "ok");
+        assertNotNull(jdbc.queryForObject("SELECT updated_at FROM enrollments WHERE id = 2", Object.class));
+        assertEquals(0, new BigDecimal("3").compareTo(
+                jdbc.queryForObject("SELECT average_rating FROM courses WHERE id = 1", BigDecimal.class)));
+    }
+
+    @Test
+    void nullSortKeysAreBackfilled() {
+        assertEquals(0, BigDecimal.ZERO.compareTo(
+                jdbc.queryForObject("SELECT price FROM courses WHERE id = 2", BigDecimal.class)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(
+                jdbc.queryForObject("SELECT average_rating FROM courses WHERE id = 2", BigDecimal.class)));
+        assertNotNull(jdbc.queryForObject("SELECT created_at FROM courses WHERE id = 2", Object.class));
+        assertEquals(1, courseService.getCoursePage("unpriced", null, null, 10, "price,asc", null).getContent().size());
+    }
+
+    @Test
+    void plainTextPasswordsAreHashed() {
+        String stored = jdbc.queryForObject("SELECT password FROM users WHERE id = 2", String.class);
+        assertTrue(stored.startsWith("$2a$10$"), stored);
+        assertTrue(userService.authenticate("a@test.local", "pw").isPresent());
+        assertTrue(userService.authenticate("a@test.local", stored).isEmpty());
+    }
+
+    @Test
+    void baselinedDatabaseThatAlreadyHasTheColumnsMigrates() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:baseline-upgrade-later;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline_schema.sql")).execute(dataSource);
+        JdbcTemplate later = new JdbcTemplate(dataSource);
+        later.execute("ALTER TABLE courses ADD COLUMN rating_sum BIGINT");
+        later.execute("ALTER TABLE courses ADD COLUMN enrolled_students INTEGER");
+        later.execute("ALTER TABLE enrollments ADD COLUMN updated_at DATETIME(6)");
+
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertEquals(0, later.queryForObject("SELECT COUNT(*) FROM courses WHERE rating_sum IS NOT NULL " +
+                "OR enrolled_students IS NOT NULL", Integer.class));
+    }
+}
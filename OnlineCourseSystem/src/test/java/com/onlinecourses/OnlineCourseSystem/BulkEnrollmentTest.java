@@ -0,0 +1,116 @@
+package com.onlinecourses.OnlineCourseSystem;
+
+import com.onlinecourses.OnlineCourseSystem.dto.BulkEnrollmentResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.EnrollmentRequest;
+import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import com.onlinecourses.OnlineCourseSystem.entity.Enrollment;
+import com.onlinecourses.OnlineCourseSystem.entity.User;
+import com.onlinecourses.OnlineCourseSystem.entity.UserRole;
+import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.EnrollmentBulkRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.EnrollmentBulkRepository.StudentCourse;
+import com.onlinecourses.OnlineCourseSystem.repository.EnrollmentRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.UserRepository;
+import com.onlinecourses.OnlineCourseSystem.service.EnrollmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class BulkEnrollmentTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private EnrollmentBulkRepository enrollmentBulkRepository;
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    private Course course;
+    private Course other;
+    private List<User> students;
+
+    @BeforeEach
+    void seed() {
+        String run = "bulk-" + System.nanoTime();
+        User instructor = userRepository.save(new User("Ada", run + "-ada@test.local", "pw", UserRole.INSTRUCTOR));
+        course = courseRepository.save(new Course("Compilers", "Programming", "8 weeks", "Batch", "Advanced",
+                BigDecimal.TEN, instructor));
+        other = courseRepository.save(new Course("Databases", "Programming", "8 weeks", "Batch", "Advanced",
+                BigDecimal.TEN, instructor));
+        students = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            students.add(userRepository.save(new User("S" + i, run + "-s" + i + "@test.local", "pw", UserRole.STUDENT)));
+        }
+    }
+
+    @Test
+    void insertSkipsExistingPairsAndReportsRowsInsertedPerCourse() {
+        enrollmentService.enrollStudent(students.get(0).getId(), course.getId());
+
+        // As if another request enrolled student 0 between findExisting and the insert
+        Map<Long, Integer> inserted = enrollmentBulkRepository.insertAll(List.of(
+                new StudentCourse(students.get(0).getId(), course.getId()),
+                new StudentCourse(students.get(1).getId(), course.getId()),
+                new StudentCourse(students.get(0).getId(), other.getId())), LocalDateTime.now());
+
+        assertEquals(Map.of(course.getId(), 1, other.getId(), 1), inserted);
+    }
+
+    @Test
+    void insertedRowsGetTheEntityDefaults() {
+        enrollmentBulkRepository.insertAll(List.of(new StudentCourse(students.get(2).getId(), other.getId())),
+                LocalDateTime.now());
+
+        Enrollment enrollment = enrollmentRepository.findAll().stream()
+                .filter(e -> e.getCourse().getId().equals(other.getId()))
+                .findFirst().orElseThrow();
+        Enrollment defaults = new Enrollment();
+        assertEquals(defaults.isCompleted(), enrollment.isCompleted());
+        assertEquals(defaults.getPassed(), enrollment.getPassed());
+        assertEquals(defaults.getPercentage(), enrollment.getPercentage());
+        assertEquals(defaults.getTestScore(), enrollment.getTestScore());
+        assertEquals(defaults.getTotalQuestions(), enrollment.getTotalQuestions());
+    }
+
+    @Test
+    void bulkEnrollCountsOnlyNewEnrollments() {
+        enrollmentService.enrollStudent(students.get(0).getId(), course.getId());
+
+        BulkEnrollmentResponse response = enrollmentService.bulkEnroll(List.of(
+                request(students.get(0).getId(), course.getId()),
+                request(students.get(1).getId(), course.getId()),
+                request(students.get(1).getId(), course.getId()),
+                request(students.get(2).getId(), other.getId()),
+                request(students.get(2).getId(), 999_999L)));
+
+        assertEquals(2, response.getEnrolled());
+        assertEquals(1, response.getAlreadyEnrolled());
+        assertEquals(1, response.getDuplicatesInRequest());
+        assertEquals(List.of(999_999L), response.getUnknownCourseIds());
+        assertEquals(2, courseRepository.findById(course.getId()).orElseThrow().getEnrolledStudents().intValue());
+        assertEquals(1, courseRepository.findById(other.getId()).orElseThrow().getEnrolledStudents().intValue());
+    }
+
+    private static EnrollmentRequest request(Long studentId, Long courseId) {
+        EnrollmentRequest request = new EnrollmentRequest();
+        request.setStudentId(studentId);
+        request.setCourseId(courseId);
+        return request;
+    }
+}
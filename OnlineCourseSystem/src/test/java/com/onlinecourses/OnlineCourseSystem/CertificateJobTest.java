@@ -0,0 +1,268 @@
+package com.onlinecourses.OnlineCourseSystem;
+
+import com.onlinecourses.OnlineCourseSystem.dto.CertificateBatchResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.CertificateJobResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.CertificateRequest;
+import com.onlinecourses.OnlineCourseSystem.dto.CourseCompletionRequest;
+import com.onlinecourses.OnlineCourseSystem.entity.CertificateJob;
+import com.onlinecourses.OnlineCourseSystem.entity.CertificateJobStatus;
+import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import com.onlinecourses.OnlineCourseSystem.entity.Enrollment;
+import com.onlinecourses.OnlineCourseSystem.entity.User;
+import com.onlinecourses.OnlineCourseSystem.entity.UserRole;
+import com.onlinecourses.OnlineCourseSystem.repository.CertificateJobRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.CertificateRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.EnrollmentRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.UserRepository;
+import com.onlinecourses.OnlineCourseSystem.service.CertificateJobService;
+import com.onlinecourses.OnlineCourseSystem.service.CertificateService;
+import com.onlinecourses.OnlineCourseSystem.service.EnrollmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Certificate jobs end to end: submissions through the API, rendering by the real CertificateJobWorker.
+// Its own database, since every cached context runs a worker and any of them could otherwise take the jobs.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:certificate-jobs;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "app.certificates.jobs.max-queued=3",
+        "app.certificates.jobs.retry-after=7s",
+        "app.certificates.jobs.max-attempts=3",
+        "app.certificates.jobs.retry-backoff=50ms",
+        "app.certificates.jobs.worker.threads=1",
+        "app.certificates.jobs.worker.poll-interval=100ms"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class CertificateJobTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private CertificateRepository certificateRepository;
+    @Autowired
+    private CertificateJobRepository certificateJobRepository;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private CertificateJobService certificateJobService;
+    @SpyBean
+    private CertificateService certificateService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String run;
+    private Course course;
+
+    @BeforeEach
+    void seed() {
+        run = "jobs-" + System.nanoTime();
+        User instructor = userRepository.save(new User("Ada", run + "-ada@test.local", "pw", UserRole.INSTRUCTOR));
+        course = courseRepository.save(new Course("Compilers", "Programming", "8 weeks", "Batch", "Advanced",
+                BigDecimal.TEN, instructor));
+    }
+
+    @Test
+    void submittedJobIsRenderedByTheWorker() throws Exception {
+        Enrollment enrollment = completedEnrollment("Grace");
+
+        mockMvc.perform(post("/api/certificates/jobs").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enrollmentId\":" + enrollment.getId() + ",\"studentName\":\"Grace Hopper\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        CertificateJobResponse done = awaitStatus(enrollment.getId(), CertificateJobStatus.DONE);
+        assertEquals(1, done.getAttempts());
+        assertNotNull(done.getCertificateId());
+        assertEquals(CertificateService.downloadUrl(done.getCertificateId()), done.getCertificateUrl());
+        assertEquals("Grace Hopper", certificateRepository.findByEnrollmentId(enrollment.getId()).orElseThrow().getStudentName());
+
+        // Submitting again returns the finished job rather than rendering another certificate
+        mockMvc.perform(post("/api/certificates/jobs").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enrollmentId\":" + enrollment.getId() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jobId").value(done.getJobId()))
+                .andExpect(jsonPath("$.certificateId").value(done.getCertificateId()));
+    }
+
+    @Test
+    void renderFailuresAreRetriedUntilMaxAttemptsThenFail() {
+        Enrollment enrollment = completedEnrollment("Grace");
+        doThrow(new IllegalStateException("renderer down")).when(certificateService)
+                .issueCertificate(argThat(certificate -> enrollment.getId().equals(certificate.getEnrollment().getId())));
+
+        certificateJobService.submit(request(enrollment));
+
+        CertificateJobResponse failed = awaitStatus(enrollment.getId(), CertificateJobStatus.FAILED);
+        assertEquals(3, failed.getAttempts());
+        assertEquals("renderer down", failed.getError());
+        assertTrue(certificateRepository.findByEnrollmentId(enrollment.getId()).isEmpty());
+    }
+
+    @Test
+    void failedJobsAreRetriedByTheNextCourseSubmission() {
+        Enrollment enrollment = completedEnrollment("Grace");
+        doThrow(new IllegalStateException("renderer down")).when(certificateService)
+                .issueCertificate(argThat(certificate -> enrollment.getId().equals(certificate.getEnrollment().getId())));
+        certificateJobService.submit(request(enrollment));
+        awaitStatus(enrollment.getId(), CertificateJobStatus.FAILED);
+
+        reset(certificateService);
+        CertificateBatchResponse batch = certificateJobService.submitCourse(course.getId());
+
+        assertEquals(0, batch.getQueued());
+        assertEquals(1, batch.getRequeued());
+        CertificateJobResponse done = awaitStatus(enrollment.getId(), CertificateJobStatus.DONE);
+        assertEquals(1, done.getAttempts());
+    }
+
+    @Test
+    void courseSubmissionQueuesEachCompletionOnce() {
+        Enrollment first = completedEnrollment("Grace");
+        Enrollment second = completedEnrollment("Alan");
+        enrollmentService.enrollStudent(student("Barbara").getId(), course.getId());
+
+        CertificateBatchResponse batch = certificateJobService.submitCourse(course.getId());
+        assertEquals(2, batch.getQueued());
+        assertEquals(0, batch.getRequeued());
+
+        // Queued, running or done, a completion that already has a job isn't queued again
+        CertificateBatchResponse again = certificateJobService.submitCourse(course.getId());
+        assertEquals(0, again.getQueued());
+        assertEquals(0, again.getRequeued());
+
+        awaitStatus(first.getId(), CertificateJobStatus.DONE);
+        awaitStatus(second.getId(), CertificateJobStatus.DONE);
+        assertEquals(0, certificateJobService.submitCourse(course.getId()).getQueued());
+        assertEquals(2L, certificateJobService.getCourseSummary(course.getId()).orElseThrow().getJobs().get("DONE"));
+    }
+
+    @Test
+    void fullQueueIsRefusedWith429() throws Exception {
+        List<CertificateJob> parked = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                parked.add(parkedJob(completedEnrollment("Waiting " + i)));
+            }
+            Enrollment enrollment = completedEnrollment("Grace");
+
+            mockMvc.perform(post("/api/certificates/jobs").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"enrollmentId\":" + enrollment.getId() + "}"))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"));
+            mockMvc.perform(post("/api/certificates/jobs/course/" + course.getId()))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"));
+            assertTrue(certificateJobRepository.findByEnrollmentId(enrollment.getId()).isEmpty());
+        } finally {
+            certificateJobRepository.deleteAll(parked);
+        }
+    }
+
+    @Test
+    void claimIsWonOnceAndStaleJobsAreRequeued() {
+        CertificateJob job = parkedJob(completedEnrollment("Grace"));
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            assertEquals(1, certificateJobRepository.claim(job.getId(), now));
+            // The losing worker (or instance) gets 0 and leaves the job alone
+            assertEquals(0, certificateJobRepository.claim(job.getId(), now));
+            CertificateJob claimed = certificateJobRepository.findById(job.getId()).orElseThrow();
+            assertEquals(CertificateJobStatus.RUNNING, claimed.getStatus());
+            assertEquals(1, claimed.getAttempts());
+
+            LocalDateTime later = now.plusDays(1);
+            assertEquals(0, certificateJobRepository.requeueStale(now.minusMinutes(10), later));
+            assertEquals(1, certificateJobRepository.requeueStale(now.plusSeconds(1), later));
+            CertificateJob requeued = certificateJobRepository.findById(job.getId()).orElseThrow();
+            assertEquals(CertificateJobStatus.QUEUED, requeued.getStatus());
+            assertEquals(1, requeued.getAttempts());
+        } finally {
+            certificateJobRepository.deleteById(job.getId());
+        }
+    }
+
+    @Test
+    void unenrollingRemovesTheEnrollmentsJob() {
+        Enrollment enrollment = completedEnrollment("Grace");
+        CertificateJob job = parkedJob(enrollment);
+
+        enrollmentService.unenrollStudent(enrollment.getId());
+
+        assertFalse(enrollmentRepository.existsById(enrollment.getId()));
+        assertFalse(certificateJobRepository.existsById(job.getId()));
+    }
+
+    private User student(String name) {
+        return userRepository.save(new User(name, run + "-" + name.replace(' ', '-') + "@test.local", "pw", UserRole.STUDENT));
+    }
+
+    private Enrollment completedEnrollment(String name) {
+        Enrollment enrollment = enrollmentService.enrollStudent(student(name).getId(), course.getId());
+        return enrollmentService.completeCourse(enrollment.getId(), new CourseCompletionRequest(true, LocalDateTime.now()));
+    }
+
+    private static CertificateRequest request(Enrollment enrollment) {
+        CertificateRequest request = new CertificateRequest();
+        request.setEnrollmentId(enrollment.getId());
+        return request;
+    }
+
+    // A queued job the worker won't reach until tomorrow
+    private CertificateJob parkedJob(Enrollment enrollment) {
+        CertificateJob job = new CertificateJob();
+        job.setEnrollmentId(enrollment.getId());
+        job.setStatus(CertificateJobStatus.QUEUED);
+        job.setAvailableAt(LocalDateTime.now().plusDays(1));
+        return certificateJobRepository.save(job);
+    }
+
+    private CertificateJobResponse awaitStatus(Long enrollmentId, CertificateJobStatus expected) {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        CertificateJobResponse job = null;
+        while (System.nanoTime() < deadline) {
+            job = certificateJobService.getJobByEnrollment(enrollmentId).orElseThrow();
+            if (expected.name().equals(job.getStatus())) {
+                return job;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new AssertionError("job for enrollment " + enrollmentId + " still " + (job == null ? null : job.getStatus())
+                + ", expected " + expected);
+    }
+}
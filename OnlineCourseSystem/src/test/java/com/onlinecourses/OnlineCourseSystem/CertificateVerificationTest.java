@@ -0,0 +1,103 @@
+package com.onlinecourses.OnlineCourseSystem;
+
+import com.onlinecourses.OnlineCourseSystem.dto.CertificateVerificationResponse;
+import com.onlinecourses.OnlineCourseSystem.entity.Certificate;
+import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import com.onlinecourses.OnlineCourseSystem.entity.Enrollment;
+import com.onlinecourses.OnlineCourseSystem.entity.User;
+import com.onlinecourses.OnlineCourseSystem.entity.UserRole;
+import com.onlinecourses.OnlineCourseSystem.repository.CertificateRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.UserRepository;
+import com.onlinecourses.OnlineCourseSystem.service.CertificateIdGenerator;
+import com.onlinecourses.OnlineCourseSystem.service.CertificateService;
+import com.onlinecourses.OnlineCourseSystem.service.CertificateVerificationService;
+import com.onlinecourses.OnlineCourseSystem.service.EnrollmentService;
+import com.onlinecourses.OnlineCourseSystem.support.SqlQueryCount;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class CertificateVerificationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private CertificateRepository certificateRepository;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private CertificateService certificateService;
+    @Autowired
+    private CertificateIdGenerator certificateIdGenerator;
+    @Autowired
+    private CertificateVerificationService verificationService;
+
+    @Test
+    void idsFailingTheCheckSymbolNeverReachTheDatabase() {
+        CertificateVerificationResponse response = SqlQueryCount.assertAtMost(0,
+                () -> verificationService.verify("CERT-00Q2R4V-8J07ZC4"));
+
+        assertEquals(CertificateVerificationService.MALFORMED, response.getStatus());
+        assertFalse(response.isValid());
+    }
+
+    @Test
+    void unknownIdsAreLookedUpOnce() {
+        String id = certificateIdGenerator.next();
+
+        assertEquals(1, SqlQueryCount.count(() -> assertEquals(CertificateVerificationService.NOT_FOUND,
+                verificationService.verify(id).getStatus())));
+        // The miss is cached, in any spelling of the id
+        CertificateVerificationResponse again = SqlQueryCount.assertAtMost(0,
+                () -> verificationService.verify(id.toLowerCase()));
+        assertEquals(CertificateVerificationService.NOT_FOUND, again.getStatus());
+    }
+
+    @Test
+    void unsignedCertificatesAreReportedUntilSigned() {
+        String run = "verify-" + System.nanoTime();
+        User instructor = userRepository.save(new User("Ada", run + "-ada@test.local", "pw", UserRole.INSTRUCTOR));
+        User student = userRepository.save(new User("Grace", run + "-grace@test.local", "pw", UserRole.STUDENT));
+        Course course = courseRepository.save(new Course("Compilers", "Programming", "8 weeks", "Verify",
+                "Advanced", BigDecimal.TEN, instructor));
+        Enrollment enrollment = enrollmentService.enrollStudent(student.getId(), course.getId());
+
+        // As issued before signing existed
+        Certificate legacy = new Certificate(enrollment, "Grace", "Compilers", "Programming", "Ada", 90);
+        legacy.setCertificateId(certificateIdGenerator.next());
+        legacy.setIssueDate(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        legacy = certificateRepository.save(legacy);
+        String id = legacy.getCertificateId();
+
+        CertificateVerificationResponse unsigned = verificationService.verify(id);
+        assertEquals(CertificateVerificationService.UNSIGNED, unsigned.getStatus());
+        assertFalse(unsigned.isValid());
+        assertNull(unsigned.getSignature());
+        // No certificate_url stored: the link comes from the id
+        assertEquals("/api/certificates/" + legacy.getId() + "/download", unsigned.getCertificate().getCertificateUrl());
+        // Verifying didn't sign it
+        assertNull(certificateRepository.findById(legacy.getId()).orElseThrow().getSignature());
+        SqlQueryCount.assertAtMost(0, () -> verificationService.verify(id));
+
+        assertTrue(certificateService.signLegacyCertificates() >= 1);
+
+        CertificateVerificationResponse signed = verificationService.verify(id);
+        assertEquals(CertificateVerificationService.VALID, signed.getStatus());
+        assertTrue(signed.isValid());
+    }
+}
@@ -0,0 +1,135 @@
+package com.onlinecourses.OnlineCourseSystem;
+
+import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import com.onlinecourses.OnlineCourseSystem.entity.User;
+import com.onlinecourses.OnlineCourseSystem.entity.UserRole;
+import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.UserRepository;
+import com.onlinecourses.OnlineCourseSystem.service.EnrollmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Conditional GET on course and enrollment reads: 200 with an ETag, 304 while nothing changed, 200 again
+// once the course or anything shown with it (its instructor) changes.
+@SpringBootTest
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class CourseConditionalGetTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User instructor;
+    private Course course;
+
+    @BeforeEach
+    void seed() {
+        instructor = userRepository.save(new User("Ada", "ada-" + System.nanoTime() + "@test.local", "pw",
+                UserRole.INSTRUCTOR));
+        course = courseRepository.save(new Course("Compilers", "Programming", "8 weeks", "Batch", "Advanced",
+                BigDecimal.TEN, instructor));
+    }
+
+    @Test
+    void courseDetailIsNotModifiedUntilTheCourseChanges() throws Exception {
+        String etag = fetchEtag("/api/courses/" + course.getId());
+        assertNotModified("/api/courses/" + course.getId(), etag);
+
+        mockMvc.perform(put("/api/courses/" + course.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Compilers II\", \"price\": 10}"))
+                .andExpect(status().isOk());
+
+        String changed = mockMvc.perform(get("/api/courses/" + course.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Compilers II"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void courseDetailChangesWhenTheInstructorIsRenamed() throws Exception {
+        String etag = fetchEtag("/api/courses/" + course.getId());
+        assertNotModified("/api/courses/" + course.getId(), etag);
+
+        renameInstructor("Ada Lovelace");
+
+        mockMvc.perform(get("/api/courses/" + course.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.instructorName").value("Ada Lovelace"));
+    }
+
+    @Test
+    void courseListChangesWhenAnInstructorIsRenamed() throws Exception {
+        String etag = fetchEtag("/api/courses");
+        assertNotModified("/api/courses", etag);
+
+        renameInstructor("Countess of Lovelace");
+
+        mockMvc.perform(get("/api/courses").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void studentEnrollmentsChangeWhenTheInstructorIsRenamed() throws Exception {
+        User student = userRepository.save(new User("Grace", "grace-" + System.nanoTime() + "@test.local", "pw",
+                UserRole.STUDENT));
+        enrollmentService.enrollStudent(student.getId(), course.getId());
+        String path = "/api/enrollments/student/" + student.getId();
+        String etag = fetchEtag(path);
+        assertNotModified(path, etag);
+
+        renameInstructor("Augusta Ada King");
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].instructorName").value("Augusta Ada King"));
+    }
+
+    @Test
+    void unknownCourseIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/courses/" + (course.getId() + 1000))).andExpect(status().isNotFound());
+    }
+
+    private String fetchEtag(String path) throws Exception {
+        String etag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private void assertNotModified(String path, String etag) throws Exception {
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private void renameInstructor(String name) throws Exception {
+        mockMvc.perform(put("/api/users/" + instructor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"" + name + "\"}"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,107 @@
+package com.onlinecourses.OnlineCourseSystem;
+
+import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import com.onlinecourses.OnlineCourseSystem.entity.User;
+import com.onlinecourses.OnlineCourseSystem.entity.UserRole;
+import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Enroll, rate and complete return the enrollment entity, serialized after the transaction has ended
+// (open-in-view is off): everything it shows must be loaded by then, and the course counters - moved by
+// SQL updates - must be as they are after the update, not as they were loaded.
+@SpringBootTest
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class EnrollmentWriteResponseTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User student;
+    private Course course;
+
+    @BeforeEach
+    void seed() {
+        String run = "counters-" + System.nanoTime();
+        User instructor = userRepository.save(new User("Ada", run + "-ada@test.local", "pw", UserRole.INSTRUCTOR));
+        student = userRepository.save(new User("Grace", run + "-grace@test.local", "pw", UserRole.STUDENT));
+        course = courseRepository.save(new Course("Compilers", "Programming", "8 weeks", "Batch", "Advanced",
+                BigDecimal.TEN, instructor));
+    }
+
+    @Test
+    void writeEndpointsReturnTheWholeEnrollment() throws Exception {
+        long enrollmentId = enroll().path("id").asLong();
+
+        mockMvc.perform(put("/api/enrollments/" + enrollmentId + "/rate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 4, \"feedback\": \"good\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating").value(4))
+                .andExpect(jsonPath("$.student.name").value("Grace"))
+                .andExpect(jsonPath("$.course.instructor.name").value("Ada"));
+
+        mockMvc.perform(put("/api/enrollments/" + enrollmentId + "/complete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"completed\": true, \"rating\": 2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.course.title").value("Compilers"));
+    }
+
+    @Test
+    void writeEndpointsReturnTheUpdatedCourseCounters() throws Exception {
+        JsonNode enrollment = enroll();
+        assertEquals(1, enrollment.path("course").path("enrolledStudents").asInt());
+        long enrollmentId = enrollment.path("id").asLong();
+
+        mockMvc.perform(put("/api/enrollments/" + enrollmentId + "/rate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 4}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.course.totalRatings").value(1))
+                .andExpect(jsonPath("$.course.averageRating").value(4.0));
+
+        mockMvc.perform(put("/api/enrollments/" + enrollmentId + "/complete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"completed\": true, \"rating\": 2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.course.totalRatings").value(1))
+                .andExpect(jsonPath("$.course.averageRating").value(2.0))
+                .andExpect(jsonPath("$.course.enrolledStudents").value(1));
+    }
+
+    private JsonNode enroll() throws Exception {
+        String body = mockMvc.perform(post("/api/enrollments/enroll")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentId\": " + student.getId() + ", \"courseId\": " + course.getId() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.course.instructor.name").value("Ada"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,140 @@
+package com.onlinecourses.OnlineCourseSystem;
+
+import com.onlinecourses.OnlineCourseSystem.entity.User;
+import com.onlinecourses.OnlineCourseSystem.entity.UserRole;
+import com.onlinecourses.OnlineCourseSystem.repository.UserRepository;
+import com.onlinecourses.OnlineCourseSystem.service.PasswordHasher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Login through the HTTP layer with a one-thread, one-slot hashing pool so saturation is easy to reach
+@SpringBootTest(properties = {
+        "app.security.password.hashing.threads=1",
+        "app.security.password.hashing.queue-capacity=1",
+        "app.security.password.hashing.retry-after=7s"})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class PasswordLoginTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @SpyBean
+    private PasswordHasher passwordHasher;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void loginRehashesAnOlderCostHash() throws Exception {
+        String weakHash = new BCryptPasswordEncoder(4).encode("s3cret!");
+        User user = userRepository.save(new User("Pat", "pat-" + System.nanoTime() + "@test.local", weakHash,
+                UserRole.STUDENT));
+
+        login(user.getEmail(), "wrong").andExpect(status().isBadRequest());
+        assertEquals(weakHash, userRepository.findById(user.getId()).orElseThrow().getPassword());
+
+        login(user.getEmail(), "s3cret!").andExpect(status().isOk());
+        String rehashed = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertTrue(rehashed.startsWith("$2a$10$"), rehashed);
+
+        login(user.getEmail(), "s3cret!").andExpect(status().isOk());
+        assertEquals(rehashed, userRepository.findById(user.getId()).orElseThrow().getPassword());
+    }
+
+    @Test
+    void loginSucceedsWhenThePoolIsTooBusyToRehash() throws Exception {
+        String weakHash = new BCryptPasswordEncoder(4).encode("s3cret!");
+        User user = userRepository.save(new User("Pat", "pat-" + System.nanoTime() + "@test.local", weakHash,
+                UserRole.STUDENT));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // The password has been checked; fill the pool before the rehash gets to it
+            doAnswer(invocation -> {
+                saturate(release);
+                return invocation.callRealMethod();
+            }).when(passwordHasher).needsRehash(anyString());
+
+            login(user.getEmail(), "s3cret!").andExpect(status().isOk());
+            assertEquals(weakHash, userRepository.findById(user.getId()).orElseThrow().getPassword());
+        } finally {
+            release.countDown();
+        }
+
+        // Once there's room, the next login upgrades the hash
+        reset(passwordHasher);
+        login(user.getEmail(), "s3cret!").andExpect(status().isOk());
+        assertTrue(userRepository.findById(user.getId()).orElseThrow().getPassword().startsWith("$2a$10$"));
+    }
+
+    @Test
+    void unknownEmailIsAnOrdinaryFailure() throws Exception {
+        ThreadPoolExecutor executor = executor();
+        long before = executor.getTaskCount();
+
+        login("nobody-" + System.nanoTime() + "@test.local", "s3cret!").andExpect(status().isBadRequest());
+        // The dummy hash ran, like a wrong password would
+        assertEquals(before + 1, executor.getTaskCount());
+    }
+
+    @Test
+    void saturatedHashingPoolAnswers429WithRetryAfter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            saturate(release);
+
+            login("nobody@test.local", "s3cret!")
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "7"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private ResultActions login(String email, String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + email + "\",\"password\":\"" + password + "\"}"));
+    }
+
+    // One task running, one queued: the pool and its queue are full until release
+    private void saturate(CountDownLatch release) throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        Runnable blocked = () -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        executor().execute(blocked);
+        // Only queue the second once the thread has taken the first, or it finds the slot still occupied
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        executor().execute(blocked);
+    }
+
+    private ThreadPoolExecutor executor() {
+        return (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHasher, "executor");
+    }
+}
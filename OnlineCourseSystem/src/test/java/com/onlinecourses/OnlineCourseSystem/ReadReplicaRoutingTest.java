@@ -0,0 +1,171 @@
+package com.onlinecourses.OnlineCourseSystem;
+
+import com.onlinecourses.OnlineCourseSystem.config.ReadReplicaRoutingDataSource;
+import com.onlinecourses.OnlineCourseSystem.config.ReplicaHealthMonitor;
+import com.onlinecourses.OnlineCourseSystem.dto.CourseResponse;
+import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
+import com.onlinecourses.OnlineCourseSystem.service.CourseService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Routing against two embedded databases: the primary (migrated by Flyway on startup) and one replica
+// (migrated here). Rows written straight into only one of them show which database a call read from.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replicas[0].url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.routing.replicas[0].username=sa",
+        "app.datasource.routing.replicas[0].password=",
+        "app.datasource.routing.lag-query=SELECT seconds FROM replica_lag",
+        "app.datasource.routing.max-lag=5s",
+        // the tests trigger health checks themselves
+        "app.datasource.routing.check-interval=1h"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+@Import(ReadReplicaRoutingTest.ReadThenWriteController.class)
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private HikariDataSource primaryDataSource;
+    @Autowired
+    private ReadReplicaRoutingDataSource routingDataSource;
+    @Autowired
+    private ReplicaHealthMonitor replicaHealthMonitor;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeAll
+    static void createReplicaSchema() {
+        DriverManagerDataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(replicaDataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds INT)");
+        jdbc.update("DELETE FROM replica_lag");
+        jdbc.update("INSERT INTO replica_lag VALUES (0)");
+    }
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(routingDataSource.getReplicas().get(0).getDataSource());
+        setReplicaLag(0);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void readOnlyServiceCallsReadFromReplica() {
+        insertCourse(primary, "Primary copy", "read-routing");
+        insertCourse(replica, "Replica copy", "read-routing");
+
+        assertEquals(List.of("Replica copy"), titles(courseService.getCoursesByCategory("read-routing")));
+    }
+
+    @Test
+    void writesAndCallsOutsideReadOnlyTransactionsUsePrimary() {
+        insertCourse(replica, "Replica copy", "write-routing");
+
+        courseService.createCourse(new Course("Written", "write-routing", "8 weeks", "Batch", "Beginner",
+                BigDecimal.TEN, null));
+
+        assertEquals(1, countByCategory(primary, "write-routing"));
+        assertEquals(1, countByCategory(replica, "write-routing"));
+        assertEquals(1, courseRepository.findCatalogByCategory("write-routing").size());
+        assertEquals("Written", courseRepository.findCatalogByCategory("write-routing").get(0).getTitle());
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimaryUntilItCatchesUp() {
+        insertCourse(primary, "Primary copy", "lag-routing");
+        insertCourse(replica, "Replica copy", "lag-routing");
+
+        setReplicaLag(60);
+        assertEquals(List.of("Primary copy"), titles(courseService.getCoursesByCategory("lag-routing")));
+
+        setReplicaLag(1);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        assertEquals(List.of("Replica copy"), titles(courseService.getCoursesByCategory("lag-routing")));
+    }
+
+    // One request, a read-only read then a write: each transaction gets its own connection, so the write
+    // goes to the primary even though the read before it went to the replica
+    @Test
+    void writeAfterReadOnlyReadInTheSameRequestUsesPrimary() throws Exception {
+        insertCourse(replica, "Replica copy", "request-routing");
+
+        mockMvc.perform(post("/test/routing/request-routing"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1"));
+
+        assertEquals(1, countByCategory(primary, "request-routing"));
+        assertEquals(1, countByCategory(replica, "request-routing"));
+    }
+
+    @RestController
+    static class ReadThenWriteController {
+
+        @Autowired
+        private CourseService courseService;
+
+        @PostMapping("/test/routing/{category}")
+        int readThenWrite(@PathVariable String category) {
+            int seen = courseService.getCoursesByCategory(category).size();
+            courseService.createCourse(new Course("Written", category, "8 weeks", "Batch", "Beginner",
+                    BigDecimal.TEN, null));
+            return seen;
+        }
+    }
+
+    private void setReplicaLag(int seconds) {
+        replica.update("UPDATE replica_lag SET seconds = ?", seconds);
+        replicaHealthMonitor.checkAll();
+    }
+
+    private static void insertCourse(JdbcTemplate jdbc, String title, String category) {
+        jdbc.update("INSERT INTO courses (title, category, price, average_rating, total_ratings, rating_sum, " +
+                "enrolled_students, created_at, updated_at) VALUES (?, ?, 10, 0, 0, 0, 0, NOW(), NOW())", title, category);
+    }
+
+    private static int countByCategory(JdbcTemplate jdbc, String category) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM courses WHERE category = ?", Integer.class, category);
+    }
+
+    private static List<String> titles(List<CourseResponse> courses) {
+        return courses.stream().map(CourseResponse::getTitle).toList();
+    }
+}
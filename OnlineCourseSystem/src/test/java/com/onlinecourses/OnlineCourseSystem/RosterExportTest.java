@@ -0,0 +1,89 @@
+package com.onlinecourses.OnlineCourseSystem;
+
+import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import com.onlinecourses.OnlineCourseSystem.entity.User;
+import com.onlinecourses.OnlineCourseSystem.entity.UserRole;
+import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.UserRepository;
+import com.onlinecourses.OnlineCourseSystem.service.EnrollmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class RosterExportTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Course course;
+
+    @BeforeEach
+    void seed() {
+        String run = "export-" + System.nanoTime();
+        User instructor = userRepository.save(new User("Ada", run + "-ada@test.local", "pw", UserRole.INSTRUCTOR));
+        course = courseRepository.save(new Course("Compilers", "Programming", "8 weeks", "Batch", "Advanced",
+                BigDecimal.TEN, instructor));
+        User grace = userRepository.save(new User("Hopper, Grace", run + "-grace@test.local", "pw", UserRole.STUDENT));
+        User formula = userRepository.save(new User("=cmd|' /C calc'!A0", run + "-x@test.local", "pw", UserRole.STUDENT));
+        enrollmentService.enrollStudent(grace.getId(), course.getId());
+        enrollmentService.enrollStudent(formula.getId(), course.getId());
+    }
+
+    @Test
+    void csvRosterIsAQuotedAttachment() throws Exception {
+        String csv = mockMvc.perform(get("/api/enrollments/course/" + course.getId() + "/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"course-" + course.getId() + "-enrollments.csv\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = csv.split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("enrollmentId,studentId,studentName,studentEmail,"));
+        assertTrue(csv.contains(",\"Hopper, Grace\","), csv);
+        assertTrue(csv.contains(",'=cmd|' /C calc'!A0,"), csv);
+    }
+
+    @Test
+    void ndjsonRosterHasOneLinePerEnrollment() throws Exception {
+        String ndjson = mockMvc.perform(get("/api/enrollments/course/" + course.getId() + "/export")
+                        .param("format", "ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(2, ndjson.split("\n").length);
+        assertTrue(ndjson.contains("\"studentName\":\"=cmd|' /C calc'!A0\""), ndjson);
+    }
+
+    @Test
+    void unknownFormatIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/enrollments/course/" + course.getId() + "/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,107 @@
+package com.onlinecourses.OnlineCourseSystem;
+
+import com.onlinecourses.OnlineCourseSystem.config.SqlStatementCounter;
+import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import com.onlinecourses.OnlineCourseSystem.entity.User;
+import com.onlinecourses.OnlineCourseSystem.entity.UserRole;
+import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
+import com.onlinecourses.OnlineCourseSystem.repository.UserRepository;
+import com.onlinecourses.OnlineCourseSystem.service.CourseService;
+import com.onlinecourses.OnlineCourseSystem.service.EnrollmentService;
+import com.onlinecourses.OnlineCourseSystem.support.SqlQueryCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Query-count regression tests: list endpoints must run a constant number of statements
+// no matter how many rows they return (no N+1 in the DTO conversion paths).
+@SpringBootTest(properties = "app.sql-budget.mode=reject")
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class SqlQueryBudgetTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User student;
+    private Course firstCourse;
+
+    @BeforeEach
+    void seed() {
+        String run = String.valueOf(System.nanoTime());
+        student = userRepository.save(new User("Student", "student-" + run + "@test.local", "pw", UserRole.STUDENT));
+        for (int i = 0; i < 25; i++) {
+            User instructor = userRepository.save(
+                    new User("Instructor " + i, "instructor-" + i + "-" + run + "@test.local", "pw", UserRole.INSTRUCTOR));
+            Course course = courseRepository.save(new Course("Course " + i, "Category " + (i % 3), "8 weeks",
+                    "Batch", "Beginner", BigDecimal.TEN, instructor));
+            enrollmentService.enrollStudent(student.getId(), course.getId());
+            if (firstCourse == null) {
+                firstCourse = course;
+            }
+        }
+        User classmate = userRepository.save(new User("Classmate", "classmate-" + run + "@test.local", "pw", UserRole.STUDENT));
+        enrollmentService.enrollStudent(classmate.getId(), firstCourse.getId());
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void getAllCoursesRunsOneStatement() {
+        SqlQueryCount.assertAtMost(1, () -> courseService.getAllCourses());
+    }
+
+    @Test
+    void getStudentEnrollmentsRunsOneStatement() {
+        var enrollments = SqlQueryCount.assertAtMost(1, () -> enrollmentService.getStudentEnrollments(student.getId()));
+        assertTrue(enrollments.size() >= 25);
+    }
+
+    @Test
+    void getCourseEnrollmentsRunsOneStatement() {
+        var enrollments = SqlQueryCount.assertAtMost(1, () -> enrollmentService.getCourseEnrollments(firstCourse.getId()));
+        assertEquals(2, enrollments.size());
+    }
+
+    @Test
+    void courseListEndpointStaysWithinItsBudget() throws Exception {
+        mockMvc.perform(get("/api/courses")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/enrollments/student/" + student.getId())).andExpect(status().isOk());
+    }
+
+    @Test
+    void statementOverBudgetIsRejected() {
+        SqlStatementCounter.begin();
+        try {
+            SqlStatementCounter.setBudget(1, true);
+            courseService.getAllCourses();
+            RuntimeException error = assertThrows(RuntimeException.class,
+                    () -> enrollmentService.getStudentEnrollments(student.getId()));
+            assertTrue(error.getMessage().contains("SQL budget exceeded"), error.getMessage());
+        } finally {
+            SqlStatementCounter.end();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.onlinecourses.OnlineCourseSystem.loadtest;
+
+import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// End-to-end load test: real HTTP against the full app on an embedded H2 (MySQL mode) database.
+// Excluded from the default build; run with
+//   mvn -Ploadtest test
+//   mvn -Ploadtest test -Dloadtest.threads=64 -Dloadtest.duration=60s -Dloadtest.students=20000
+//   mvn -Ploadtest test -Dloadtest.mix=courses:1,student-enrollments:1
+//   mvn -Ploadtest test -Dloadtest.profiles=virtual      (extra application profiles, e.g. virtual threads)
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles(resolver = EndpointLoadTest.LoadTestProfiles.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${loadtest.instructors}")
+    private int instructors;
+    @Value("${loadtest.students}")
+    private int students;
+    @Value("${loadtest.courses}")
+    private int courses;
+    @Value("${loadtest.enrollments-per-student}")
+    private int enrollmentsPerStudent;
+    @Value("${loadtest.completion-ratio}")
+    private double completionRatio;
+    @Value("${loadtest.seed}")
+    private long seed;
+    @Value("${loadtest.threads}")
+    private int threads;
+    @Value("${loadtest.warmup}")
+    private Duration warmup;
+    @Value("${loadtest.duration}")
+    private Duration duration;
+    @Value("${loadtest.mix}")
+    private String mix;
+
+    private LoadTestDataSeeder.Dataset dataset;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @BeforeAll
+    void seedDatabase() {
+        long started = System.nanoTime();
+        dataset = new LoadTestDataSeeder(jdbcTemplate, courseRepository, seed)
+                .seed(instructors, students, courses, enrollmentsPerStudent, completionRatio);
+        System.out.printf("Seeded %d students, %d courses, %d enrollments in %d ms%n",
+                dataset.studentIds().size(), dataset.courseIds().size(), dataset.enrollments().size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Test
+    void endpointMix() throws Exception {
+        Map<String, Function<ThreadLocalRandom, HttpRequest>> endpoints = endpoints();
+        List<String> weighted = weightedMix(endpoints.keySet());
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        List<Future<Map<String, LatencySamples>>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> runWorker(endpoints, weighted, measureFrom, deadline)));
+        }
+
+        Map<String, LatencySamples> totals = new LinkedHashMap<>();
+        for (Future<Map<String, LatencySamples>> worker : workers) {
+            worker.get().forEach((name, samples) ->
+                    totals.computeIfAbsent(name, key -> new LatencySamples()).merge(samples));
+        }
+        pool.shutdown();
+
+        report(totals);
+
+        long requests = totals.values().stream().mapToLong(LatencySamples::count).sum();
+        long errors = totals.values().stream().mapToLong(LatencySamples::errors).sum();
+        assertTrue(requests > 0, "No requests completed during the measurement window");
+        assertEquals(0, errors, "Requests failed during the load test");
+    }
+
+    private Map<String, LatencySamples> runWorker(Map<String, Function<ThreadLocalRandom, HttpRequest>> endpoints,
+                                                  List<String> weighted, long measureFrom, long deadline) {
+        Map<String, LatencySamples> samples = new LinkedHashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            String name = weighted.get(random.nextInt(weighted.size()));
+            HttpRequest request = endpoints.get(name).apply(random);
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                success = response.statusCode() < 400;
+            } catch (Exception e) {
+                success = false;
+            }
+            long end = System.nanoTime();
+            if (start >= measureFrom) {
+                samples.computeIfAbsent(name, key -> new LatencySamples()).record(end - start, success);
+            }
+        }
+        return samples;
+    }
+
+    private Map<String, Function<ThreadLocalRandom, HttpRequest>> endpoints() {
+        Map<String, Function<ThreadLocalRandom, HttpRequest>> endpoints = new LinkedHashMap<>();
+        endpoints.put("courses", random -> get("/api/courses"));
+        endpoints.put("student-enrollments", random ->
+                get("/api/enrollments/student/" + pick(dataset.studentIds(), random)));
+        endpoints.put("login", random -> {
+            int student = random.nextInt(dataset.studentIds().size());
+            return post("/api/auth/login", "{\"username\":\"" + LoadTestDataSeeder.studentEmail(student) +
+                    "\",\"password\":\"" + LoadTestDataSeeder.STUDENT_PASSWORD + "\"}");
+        });
+        endpoints.put("test-results-save", random -> {
+            long[] enrollment = dataset.enrollments().get(random.nextInt(dataset.enrollments().size()));
+            int score = random.nextInt(11);
+            return post("/api/test-results/save", "{\"enrollmentId\":" + enrollment[0] + ",\"studentId\":" + enrollment[1] +
+                    ",\"courseId\":" + enrollment[2] + ",\"testScore\":" + score + ",\"totalQuestions\":10" +
+                    ",\"percentage\":" + (score * 10.0) + ",\"passed\":" + (score >= 7) + "}");
+        });
+        return endpoints;
+    }
+
+    // "courses:40,login:10" -> list where each endpoint appears weight times
+    private List<String> weightedMix(Iterable<String> known) {
+        List<String> weighted = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            String name = parts[0].trim();
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            boolean exists = false;
+            for (String endpoint : known) {
+                exists |= endpoint.equals(name);
+            }
+            if (!exists) {
+                throw new IllegalArgumentException("Unknown endpoint in loadtest.mix: " + name + " (known: " + known + ")");
+            }
+            for (int i = 0; i < weight; i++) {
+                weighted.add(name);
+            }
+        }
+        return weighted;
+    }
+
+    private void report(Map<String, LatencySamples> totals) {
+        double seconds = duration.toNanos() / 1_000_000_000.0;
+        System.out.println();
+        System.out.printf("Load test: %d threads, %s warmup, %s measured, mix=%s, profiles=%s%n",
+                threads, warmup, duration, mix, Arrays.toString(environment.getActiveProfiles()));
+        System.out.printf("%-22s %10s %8s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        LatencySamples all = new LatencySamples();
+        totals.forEach((name, samples) -> {
+            printRow(name, samples, seconds);
+            all.merge(samples);
+        });
+        printRow("TOTAL", all, seconds);
+        System.out.println();
+    }
+
+    private void printRow(String name, LatencySamples samples, double seconds) {
+        System.out.printf("%-22s %10d %8d %10.1f %10.2f %10.2f %10.2f%n", name, samples.count(), samples.errors(),
+                samples.count() / seconds, samples.percentileMillis(50), samples.percentileMillis(99),
+                samples.percentileMillis(100));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static Long pick(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    // Always 'loadtest', plus any comma-separated profiles from -Dloadtest.profiles
+    static class LoadTestProfiles implements ActiveProfilesResolver {
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            List<String> profiles = new ArrayList<>(List.of("loadtest"));
+            Arrays.stream(System.getProperty("loadtest.profiles", "").split(","))
+                    .map(String::trim)
+                    .filter(profile -> !profile.isEmpty())
+                    .forEach(profiles::add);
+            return profiles.toArray(new String[0]);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.onlinecourses.OnlineCourseSystem.loadtest;
+
+import java.util.Arrays;
+
+// Per-thread latency buffer (nanoseconds); merged once the run is over, so recording needs no locking
+class LatencySamples {
+
+    private long[] samples = new long[1_024];
+    private int count;
+    private long errors;
+
+    void record(long nanos, boolean success) {
+        if (!success) {
+            errors++;
+        }
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    void merge(LatencySamples other) {
+        if (count + other.count > samples.length) {
+            samples = Arrays.copyOf(samples, Math.max(samples.length * 2, count + other.count));
+        }
+        System.arraycopy(other.samples, 0, samples, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    int count() { return count; }
+    long errors() { return errors; }
+
+    // Nearest-rank percentile in milliseconds
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,112 @@
+package com.onlinecourses.OnlineCourseSystem.loadtest;
+
+import com.onlinecourses.OnlineCourseSystem.repository.CourseRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Seeds a synthetic dataset with JDBC batch inserts (much faster than going through JPA),
+// then lets CourseRepository.backfillCounters() compute the course counters like production does.
+class LoadTestDataSeeder {
+
+    static final String STUDENT_PASSWORD = "loadtest-password";
+
+    private static final String[] CATEGORIES = {"Programming", "Design", "Business", "Data Science", "Marketing"};
+    private static final String[] LEVELS = {"Beginner", "Intermediate", "Advanced"};
+    private static final int BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CourseRepository courseRepository;
+    private final Random random;
+
+    LoadTestDataSeeder(JdbcTemplate jdbcTemplate, CourseRepository courseRepository, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.courseRepository = courseRepository;
+        this.random = new Random(seed);
+    }
+
+    Dataset seed(int instructors, int students, int courses, int enrollmentsPerStudent, double completionRatio) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nowTs = Timestamp.valueOf(now);
+
+        // Stored like production stores them: one bcrypt hash, at the loadtest profile's strength, shared by all students
+        String studentPasswordHash = new BCryptPasswordEncoder(4).encode(STUDENT_PASSWORD);
+        List<Object[]> userRows = new ArrayList<>();
+        for (int i = 0; i < instructors; i++) {
+            userRows.add(new Object[]{"Instructor " + i, "instructor" + i + "@loadtest.local", "secret", "INSTRUCTOR", nowTs, i % 20});
+        }
+        for (int i = 0; i < students; i++) {
+            userRows.add(new Object[]{"Student " + i, studentEmail(i), studentPasswordHash, "STUDENT", nowTs, i % 20});
+        }
+        batch("INSERT INTO users (name, email, password, role, created_at, avatar_index) VALUES (?, ?, ?, ?, ?, ?)", userRows);
+
+        List<Long> instructorIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE role = 'INSTRUCTOR' ORDER BY id", Long.class);
+        List<Long> studentIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE role = 'STUDENT' ORDER BY id", Long.class);
+
+        // Counter columns are left NULL so backfillCounters() recomputes them from the seeded enrollments
+        List<Object[]> courseRows = new ArrayList<>();
+        for (int i = 0; i < courses; i++) {
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(courses - i));
+            courseRows.add(new Object[]{"Course " + i, CATEGORIES[i % CATEGORIES.length], (4 + i % 8) + " weeks",
+                    "Batch " + (i % 12), LEVELS[i % LEVELS.length], 19.99 + (i % 100),
+                    instructorIds.get(i % instructorIds.size()), createdAt, createdAt});
+        }
+        batch("INSERT INTO courses (title, category, duration, batch, level, price, instructor_id, created_at, updated_at) " +
+              "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", courseRows);
+        List<Long> courseIds = jdbcTemplate.queryForList("SELECT id FROM courses ORDER BY id", Long.class);
+
+        List<Object[]> enrollmentRows = new ArrayList<>();
+        int perStudent = Math.min(enrollmentsPerStudent, courseIds.size());
+        for (Long studentId : studentIds) {
+            int offset = random.nextInt(courseIds.size());
+            for (int j = 0; j < perStudent; j++) {
+                Long courseId = courseIds.get((offset + j * 7) % courseIds.size());
+                boolean completed = random.nextDouble() < completionRatio;
+                Timestamp enrolledAt = Timestamp.valueOf(now.minusDays(60).plusMinutes(random.nextInt(60 * 24 * 30)));
+                int score = completed ? 7 + random.nextInt(4) : 0;
+                enrollmentRows.add(new Object[]{studentId, courseId, enrolledAt, enrolledAt,
+                        completed ? Timestamp.valueOf(now.minusDays(random.nextInt(20))) : null,
+                        completed, completed ? 1 + random.nextInt(5) : null, score, 10, score * 10.0, completed});
+            }
+        }
+        batch("INSERT INTO enrollments (student_id, course_id, enrollment_date, updated_at, completion_date, completed, " +
+              "rating, test_score, total_questions, percentage, passed) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+              enrollmentRows);
+
+        List<long[]> enrollments = jdbcTemplate.query("SELECT id, student_id, course_id FROM enrollments ORDER BY id",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)});
+
+        jdbcTemplate.update("INSERT INTO test_results (enrollment_id, course_id, student_id, test_score, total_questions, " +
+                "percentage, passed, completed, created_at, updated_at) " +
+                "SELECT id, course_id, student_id, test_score, total_questions, percentage, passed, completed, ?, ? " +
+                "FROM enrollments WHERE completed = TRUE", nowTs, nowTs);
+        jdbcTemplate.update("INSERT INTO certificates (certificate_id, enrollment_id, student_name, course_title, " +
+                "course_category, instructor_name, issue_date, completion_date, score) " +
+                "SELECT CONCAT('CERT-LT-', e.id), e.id, s.name, c.title, c.category, i.name, ?, e.completion_date, " +
+                "e.test_score * 10 FROM enrollments e JOIN users s ON s.id = e.student_id " +
+                "JOIN courses c ON c.id = e.course_id JOIN users i ON i.id = c.instructor_id " +
+                "WHERE e.completed = TRUE", nowTs);
+
+        courseRepository.backfillCounters();
+        return new Dataset(studentIds, courseIds, enrollments);
+    }
+
+    static String studentEmail(int index) {
+        return "student" + index + "@loadtest.local";
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    record Dataset(List<Long> studentIds, List<Long> courseIds, List<long[]> enrollments) {}
+}
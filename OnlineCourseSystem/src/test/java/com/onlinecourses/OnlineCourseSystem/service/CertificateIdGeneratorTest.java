@@ -0,0 +1,176 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CertificateIdGeneratorTest {
+
+    private static final String BODY_SYMBOLS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+
+    @Test
+    void idsAreUniqueOrderedAndCarryTheirIssueTime() {
+        CertificateIdGenerator generator = generator(7);
+        Instant before = Instant.now();
+        Set<String> ids = new HashSet<>();
+        String previous = "";
+        for (int i = 0; i < 10_000; i++) {
+            String id = generator.next();
+            assertTrue(id.matches("CERT-[0-9A-Z]{7}-[0-9A-Z*~$=]{7}"), id);
+            assertTrue(CertificateIdGenerator.isValid(id), id);
+            assertTrue(id.substring(0, 19).compareTo(previous) > 0, id + " after " + previous);
+            assertTrue(ids.add(id));
+            previous = id.substring(0, 19);
+        }
+        Instant issued = CertificateIdGenerator.issuedAt(generator.next());
+        assertTrue(Duration.between(before, issued).abs().toSeconds() < 10);
+    }
+
+    @Test
+    void idsFromConcurrentThreadsAreUniqueAndIncreasingPerThread() throws Exception {
+        CertificateIdGenerator generator = generator(7);
+        int threads = 8;
+        int idsPerThread = 20_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    String previous = "";
+                    for (int i = 0; i < idsPerThread; i++) {
+                        String id = generator.next();
+                        assertTrue(id.substring(0, 19).compareTo(previous) > 0, id + " after " + previous);
+                        assertTrue(ids.add(id), "duplicate " + id);
+                        previous = id.substring(0, 19);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                // Rethrows a thread's assertion failure
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threads * idsPerThread, ids.size());
+    }
+
+    @Test
+    void exhaustedSequenceRollsIntoTheNextMillisecond() {
+        CertificateIdGenerator generator = generator(7);
+        generator.next();
+        // Park the last id just before a millisecond one minute ahead of the clock: every id from here on comes
+        // from the counter, as if more than 4096 were asked for within one millisecond
+        AtomicLong last = (AtomicLong) ReflectionTestUtils.getField(generator, "last");
+        last.set((((last.get() >>> 12) + 60_000) << 12) - 1);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 3 * 4096; i++) {
+            ids.add(generator.next());
+        }
+
+        Instant millisecond = CertificateIdGenerator.issuedAt(ids.get(0));
+        assertTrue(millisecond.isAfter(Instant.now().plusSeconds(50)));
+        assertEquals(millisecond, CertificateIdGenerator.issuedAt(ids.get(4095)));
+        assertEquals(millisecond.plusMillis(1), CertificateIdGenerator.issuedAt(ids.get(4096)));
+        assertEquals(millisecond.plusMillis(1), CertificateIdGenerator.issuedAt(ids.get(2 * 4096 - 1)));
+        assertEquals(millisecond.plusMillis(2), CertificateIdGenerator.issuedAt(ids.get(2 * 4096)));
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(CertificateIdGenerator.isValid(ids.get(i)), ids.get(i));
+            assertTrue(ids.get(i).substring(0, 19).compareTo(ids.get(i - 1).substring(0, 19)) > 0,
+                    ids.get(i) + " after " + ids.get(i - 1));
+        }
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+    }
+
+    @Test
+    void typedInIdsAreNormalized() {
+        String id = generator(1).next();
+        String body = id.substring(5).replace("-", "");
+
+        assertEquals(Optional.of(id), CertificateIdGenerator.normalize(id.toLowerCase(Locale.ROOT)));
+        assertEquals(Optional.of(id), CertificateIdGenerator.normalize("  " + body + " "));
+        assertEquals(Optional.of(id), CertificateIdGenerator.normalize("cert" + body.toLowerCase(Locale.ROOT)));
+        // O, I and L are read as 0 and 1
+        if (id.contains("0") || id.contains("1")) {
+            String lookalikes = id.substring(0, 5) + id.substring(5).replace('0', 'O').replace('1', 'l');
+            assertEquals(Optional.of(id), CertificateIdGenerator.normalize(lookalikes));
+        }
+    }
+
+    @Test
+    void checkSymbolCatchesEverySingleTypo() {
+        String id = generator(3).next();
+        String body = id.substring(5).replace("-", "");
+
+        for (int i = 0; i < body.length(); i++) {
+            for (char symbol : BODY_SYMBOLS.toCharArray()) {
+                if (symbol != body.charAt(i)) {
+                    String typo = body.substring(0, i) + symbol + body.substring(i + 1);
+                    assertFalse(CertificateIdGenerator.isValid(typo), "substitution accepted: " + typo);
+                }
+            }
+        }
+    }
+
+    @Test
+    void checkSymbolCatchesAdjacentSwaps() {
+        String id = generator(3).next();
+        String body = id.substring(5).replace("-", "");
+
+        // Within the 13 digits; the check symbol itself is the last character
+        for (int i = 0; i + 2 < body.length(); i++) {
+            if (body.charAt(i) != body.charAt(i + 1)) {
+                String swapped = body.substring(0, i) + body.charAt(i + 1) + body.charAt(i) + body.substring(i + 2);
+                assertFalse(CertificateIdGenerator.isValid(swapped), "swap accepted: " + swapped);
+            }
+        }
+    }
+
+    @Test
+    void foreignIdsAreRejected() {
+        assertFalse(CertificateIdGenerator.isValid(null));
+        assertFalse(CertificateIdGenerator.isValid("CERT-1700000000000-42"));
+        assertFalse(CertificateIdGenerator.isValid("CERT-00Q2R4V-8J07Z"));
+        assertFalse(CertificateIdGenerator.isValid("CERT-00Q2R4V-8J07ZC3X"));
+        assertFalse(CertificateIdGenerator.isValid("CERT-U0Q2R4V-8J07ZC3"));
+        assertThrows(IllegalArgumentException.class, () -> CertificateIdGenerator.issuedAt("nope"));
+    }
+
+    @Test
+    void nodeIdOutOfRangeFailsStartup() {
+        assertThrows(IllegalStateException.class, () -> generator(1024));
+    }
+
+    private static CertificateIdGenerator generator(long nodeId) {
+        CertificateIdGenerator generator = new CertificateIdGenerator();
+        ReflectionTestUtils.setField(generator, "configuredNodeId", nodeId);
+        generator.init();
+        return generator;
+    }
+}
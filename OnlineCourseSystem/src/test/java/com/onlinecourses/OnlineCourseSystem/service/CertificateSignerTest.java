@@ -0,0 +1,113 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.entity.Certificate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CertificateSignerTest {
+
+    @TempDir
+    Path keyDir;
+
+    @Test
+    void missingKeyFailsStartupUnlessGenerationIsAllowed() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> signer(keyDir, false));
+        assertTrue(e.getMessage().contains("generate-if-missing"));
+        assertFalse(Files.exists(keyDir.resolve("certificate-signing.key")));
+
+        CertificateSigner generated = signer(keyDir, true);
+        // Once created, the same key is loaded without the flag
+        assertEquals(generated.getKeyId(), signer(keyDir, false).getKeyId());
+    }
+
+    @Test
+    void signatureCoversThePrintedFields() {
+        CertificateSigner signer = signer(keyDir, true);
+        Certificate certificate = certificate();
+        signer.sign(certificate);
+
+        assertEquals(signer.getKeyId(), certificate.getSigningKeyId());
+        assertTrue(signer.verify(certificate));
+        // A reloaded signer (another instance sharing the key) verifies it too
+        assertTrue(signer(keyDir, false).verify(certificate));
+
+        certificate.setScore(100);
+        assertFalse(signer.verify(certificate));
+    }
+
+    @Test
+    void unsignedOrUnknownKeyCertificatesDoNotVerify() {
+        CertificateSigner signer = signer(keyDir, true);
+        Certificate certificate = certificate();
+        assertFalse(signer.verify(certificate));
+
+        signer.sign(certificate);
+        certificate.setSigningKeyId("0000000000000000");
+        assertFalse(signer.verify(certificate));
+    }
+
+    @Test
+    void retiredKeysKeepVerifyingWhatTheySigned() throws Exception {
+        CertificateSigner old = signer(keyDir, true);
+        Certificate signedBefore = certificate();
+        old.sign(signedBefore);
+
+        // Rotate: keep the old public key under retired/, replace the pair
+        Files.createDirectories(keyDir.resolve("retired"));
+        Files.move(keyDir.resolve("certificate-signing.pub"), keyDir.resolve("retired/" + old.getKeyId() + ".pub"));
+        Files.delete(keyDir.resolve("certificate-signing.key"));
+        CertificateSigner current = signer(keyDir, true);
+
+        assertNotEquals(old.getKeyId(), current.getKeyId());
+        assertTrue(current.verify(signedBefore));
+        assertEquals(old.getPublicKey(), current.getPublicKey(old.getKeyId()).orElseThrow());
+        assertTrue(current.getPublicKey("0000000000000000").isEmpty());
+
+        // The old signature doesn't pass as one made with the new key
+        signedBefore.setSigningKeyId(current.getKeyId());
+        assertFalse(current.verify(signedBefore));
+    }
+
+    @Test
+    void mismatchedKeyPairFailsStartup() throws Exception {
+        signer(keyDir, true);
+        Path otherDir = Files.createDirectories(keyDir.resolve("other"));
+        signer(otherDir, true);
+        Files.copy(otherDir.resolve("certificate-signing.pub"), keyDir.resolve("certificate-signing.pub"),
+                java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+
+        assertThrows(IllegalStateException.class, () -> signer(keyDir, false));
+    }
+
+    private static CertificateSigner signer(Path keyDir, boolean generateIfMissing) {
+        CertificateSigner signer = new CertificateSigner();
+        ReflectionTestUtils.setField(signer, "keyDir", keyDir);
+        ReflectionTestUtils.setField(signer, "generateIfMissing", generateIfMissing);
+        signer.init();
+        return signer;
+    }
+
+    private static Certificate certificate() {
+        Certificate certificate = new Certificate();
+        certificate.setCertificateId("CERT-00Q2R4V-8J07ZC3");
+        certificate.setStudentName("Grace Hopper");
+        certificate.setCourseTitle("Compilers");
+        certificate.setCourseCategory("Programming");
+        certificate.setInstructorName("Ada");
+        certificate.setScore(92);
+        certificate.setCompletionDate(LocalDateTime.of(2026, 3, 1, 10, 0));
+        certificate.setIssueDate(LocalDateTime.of(2026, 3, 2, 9, 30, 15));
+        return certificate;
+    }
+}
@@ -0,0 +1,188 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Drives adjust() with synthetic Hikari meter deltas: 10 s intervals, pool 20 within 10-60, step 5,
+// target wait 10 ms, latency tolerance 1.5, shrink after 3 calm intervals.
+class ConnectionPoolMonitorTest {
+
+    private static final String POOL = "test-pool";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StubPool pool = new StubPool();
+    private HikariDataSource dataSource;
+    private ConnectionPoolMonitor monitor;
+
+    @BeforeEach
+    void start() {
+        dataSource = new HikariDataSource() {
+            @Override
+            public HikariPoolMXBean getHikariPoolMXBean() {
+                return pool;
+            }
+        };
+        dataSource.setPoolName(POOL);
+        dataSource.setMaximumPoolSize(20);
+        dataSource.setMinimumIdle(20);
+
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("dataSource", dataSource));
+        monitor = new ConnectionPoolMonitor();
+        ReflectionTestUtils.setField(monitor, "hikariDataSources", beans.getBeanProvider(HikariDataSource.class));
+        ReflectionTestUtils.setField(monitor, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(monitor, "adaptive", true);
+        ReflectionTestUtils.setField(monitor, "minSize", 10);
+        ReflectionTestUtils.setField(monitor, "maxSize", 60);
+        ReflectionTestUtils.setField(monitor, "step", 5);
+        // The scheduled round would first run after one interval; the tests call adjust() themselves
+        ReflectionTestUtils.setField(monitor, "interval", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(monitor, "targetWait", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(monitor, "latencyTolerance", 1.5);
+        ReflectionTestUtils.setField(monitor, "shrinkAfter", 3);
+        monitor.start();
+    }
+
+    @AfterEach
+    void stop() {
+        monitor.stop();
+    }
+
+    @Test
+    void growsWhenBorrowersWaitAndHoldTimeIsFlat() {
+        interval(100, 1, 100, 50);     // calm: sets the 50 ms hold baseline
+        assertEquals(20, dataSource.getMaximumPoolSize());
+
+        interval(100, 30, 100, 55);    // 30 ms waits, hold within tolerance
+        assertEquals(25, dataSource.getMaximumPoolSize());
+        assertEquals(1.0, resizes("grow"));
+    }
+
+    @Test
+    void growsStraightToTheMeasuredDemand() {
+        interval(100, 1, 100, 50);
+
+        // 6400 x 50 ms = 320 s of connection time in 10 s: 32 busy connections, x1.25 headroom = 40
+        interval(6400, 30, 6400, 50);
+        assertEquals(40, dataSource.getMaximumPoolSize());
+
+        // 100 busy connections: capped at max-size, where it then holds
+        interval(20000, 30, 20000, 50);
+        assertEquals(60, dataSource.getMaximumPoolSize());
+        interval(20000, 30, 20000, 50);
+        assertEquals(60, dataSource.getMaximumPoolSize());
+        assertTrue(lastDecision().reason().contains("at max-size"), lastDecision().reason());
+    }
+
+    @Test
+    void pendingThreadsCountAsWaiting() {
+        interval(100, 1, 100, 50);
+        pool.pending = 3;
+
+        interval(100, 1, 100, 50);
+        assertEquals(25, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    void holdsWhenHoldTimeClimbsPastTheTolerance() {
+        interval(100, 1, 100, 50);
+
+        interval(100, 30, 100, 80);    // 80 ms > 1.5 x 50 ms: the database is the bottleneck
+        assertEquals(20, dataSource.getMaximumPoolSize());
+        ConnectionPoolMonitor.Decision decision = lastDecision();
+        assertEquals(20, decision.from());
+        assertEquals(20, decision.to());
+        assertTrue(decision.reason().contains("database-bound"), decision.reason());
+        assertEquals(0.0, resizes("grow"));
+    }
+
+    @Test
+    void shrinksOneStepAfterShrinkAfterCalmIntervals() {
+        interval(100, 1, 100, 50);
+        interval(100, 1, 100, 50);
+        assertEquals(20, dataSource.getMaximumPoolSize());
+
+        interval(100, 1, 100, 50);     // third calm interval
+        assertEquals(15, dataSource.getMaximumPoolSize());
+        assertEquals(15, dataSource.getMinimumIdle());
+        assertEquals(1.0, resizes("shrink"));
+
+        // The count starts over after a shrink
+        interval(100, 1, 100, 50);
+        interval(100, 1, 100, 50);
+        assertEquals(15, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    void aWaitResetsTheCalmCountAndShrinkingStopsAtMinSize() {
+        interval(100, 1, 100, 50);
+        interval(100, 1, 100, 50);
+        interval(100, 30, 100, 50);    // grows to 25 and resets the count
+        assertEquals(25, dataSource.getMaximumPoolSize());
+
+        for (int i = 0; i < 3 * 4; i++) {
+            interval(100, 1, 100, 50);
+        }
+        assertEquals(10, dataSource.getMaximumPoolSize());
+        for (int i = 0; i < 3; i++) {
+            interval(100, 1, 100, 50);
+        }
+        assertEquals(10, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    void busyButCalmPoolDoesNotShrink() {
+        // 1000 x 150 ms = 15 busy connections, x1.25 = 19: a 15-connection pool would be too small
+        for (int i = 0; i < 6; i++) {
+            interval(1000, 1, 1000, 150);
+        }
+        assertEquals(20, dataSource.getMaximumPoolSize());
+    }
+
+    // One sizing round after `acquires` borrows waiting waitMillis each and `usages` holds of holdMillis each
+    private void interval(int acquires, long waitMillis, int usages, long holdMillis) {
+        Timer acquire = Timer.builder("hikaricp.connections.acquire").tag("pool", POOL).register(meterRegistry);
+        Timer usage = Timer.builder("hikaricp.connections.usage").tag("pool", POOL).register(meterRegistry);
+        for (int i = 0; i < acquires; i++) {
+            acquire.record(Duration.ofMillis(waitMillis));
+        }
+        for (int i = 0; i < usages; i++) {
+            usage.record(Duration.ofMillis(holdMillis));
+        }
+        monitor.adjust();
+    }
+
+    private double resizes(String direction) {
+        return meterRegistry.get("app.datasource.pool.resizes").tag("direction", direction).counter().count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConnectionPoolMonitor.Decision lastDecision() {
+        Map<String, Object> adaptive = (Map<String, Object>) monitor.snapshot().get("adaptive");
+        return (ConnectionPoolMonitor.Decision) adaptive.get("lastDecision");
+    }
+
+    private static class StubPool implements HikariPoolMXBean {
+        int pending;
+
+        @Override public int getIdleConnections() { return 0; }
+        @Override public int getActiveConnections() { return 0; }
+        @Override public int getTotalConnections() { return 0; }
+        @Override public int getThreadsAwaitingConnection() { return pending; }
+        @Override public void softEvictConnections() {}
+        @Override public void suspendPool() {}
+        @Override public void resumePool() {}
+    }
+}
@@ -0,0 +1,119 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.dto.CourseCatalogFilter;
+import com.onlinecourses.OnlineCourseSystem.dto.CourseCatalogResponse;
+import com.onlinecourses.OnlineCourseSystem.dto.CourseResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseCatalogSnapshotTest {
+
+    private static final BigDecimal[] BOUNDS = {new BigDecimal("25"), new BigDecimal("50"), new BigDecimal("100")};
+
+    private final CourseCatalogSnapshot snapshot = CourseCatalogSnapshot.of(List.of(
+            course(1L, "Programming", "Beginner", "10.00", "4.5", 100L),
+            course(2L, "programming", "Advanced", "25.00", "3.0", 100L),
+            course(3L, "Art", "Beginner", "49.99", "5.0", 200L),
+            course(4L, "Art", "Intermediate", "150.00", "2.0", 200L),
+            course(5L, "Data", "Beginner", null, "4.0", 300L)), BOUNDS);
+
+    @Test
+    void unfilteredQueryCountsEveryFacetValue() {
+        CourseCatalogResponse response = snapshot.query(new CourseCatalogFilter(), 0, 20);
+
+        assertEquals(5L, response.getTotalElements());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(response));
+        // Category matching is case-insensitive; the first spelling is the label
+        assertEquals(Map.of("Programming", 2, "Art", 2, "Data", 1), response.getFacets().get("category"));
+        assertEquals(Map.of("Beginner", 3, "Advanced", 1, "Intermediate", 1), response.getFacets().get("level"));
+    }
+
+    @Test
+    void priceBucketsAreLowerInclusiveAndUnpricedCoursesAreNotCounted() {
+        Map<String, Integer> price = snapshot.query(new CourseCatalogFilter(), 0, 20).getFacets().get("price");
+
+        assertEquals(List.of("0-25", "25-50", "50-100", "100+"), List.copyOf(price.keySet()));
+        // 10 | 25, 49.99 | - | 150; the null-price course is in no bucket, in particular not "0-25"
+        assertEquals(List.of(1, 2, 0, 1), List.copyOf(price.values()));
+    }
+
+    @Test
+    void unpricedCoursesNeverMatchAPriceFilter() {
+        CourseCatalogFilter filter = new CourseCatalogFilter();
+        filter.setMaxPrice(new BigDecimal("1000"));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(snapshot.query(filter, 0, 20)));
+    }
+
+    @Test
+    void filtersAreAndedAndValuesWithinAFilterAreOred() {
+        CourseCatalogFilter filter = new CourseCatalogFilter();
+        filter.setCategory(List.of("PROGRAMMING", "data"));
+        filter.setLevel(List.of("Beginner"));
+
+        assertEquals(List.of(1L, 5L), ids(snapshot.query(filter, 0, 20)));
+
+        filter.setMinRating(new BigDecimal("4.2"));
+        assertEquals(List.of(1L), ids(snapshot.query(filter, 0, 20)));
+    }
+
+    @Test
+    void eachFacetIgnoresItsOwnFilter() {
+        CourseCatalogFilter filter = new CourseCatalogFilter();
+        filter.setCategory(List.of("Art"));
+        filter.setLevel(List.of("Beginner"));
+
+        CourseCatalogResponse response = snapshot.query(filter, 0, 20);
+
+        assertEquals(List.of(3L), ids(response));
+        // Categories are counted among beginners, levels among art courses
+        assertEquals(Map.of("Programming", 1, "Art", 1, "Data", 1), response.getFacets().get("category"));
+        assertEquals(Map.of("Beginner", 1, "Advanced", 0, "Intermediate", 1), response.getFacets().get("level"));
+        assertEquals(List.of(0, 1, 0, 0), List.copyOf(response.getFacets().get("price").values()));
+    }
+
+    @Test
+    void unknownValuesAndInstructorsMatchNothing() {
+        CourseCatalogFilter filter = new CourseCatalogFilter();
+        filter.setCategory(List.of("Cooking"));
+        assertEquals(0L, snapshot.query(filter, 0, 20).getTotalElements());
+
+        filter = new CourseCatalogFilter();
+        filter.setInstructorId(999L);
+        assertEquals(0L, snapshot.query(filter, 0, 20).getTotalElements());
+
+        filter.setInstructorId(200L);
+        assertEquals(List.of(3L, 4L), ids(snapshot.query(filter, 0, 20)));
+    }
+
+    @Test
+    void pagesWalkTheMatchingRowsInOrder() {
+        CourseCatalogResponse first = snapshot.query(new CourseCatalogFilter(), 0, 2);
+        CourseCatalogResponse last = snapshot.query(new CourseCatalogFilter(), 2, 2);
+
+        assertEquals(List.of(1L, 2L), ids(first));
+        assertEquals(3, first.getTotalPages());
+        assertTrue(first.isHasNext());
+        assertEquals(List.of(5L), ids(last));
+        assertFalse(last.isHasNext());
+        assertTrue(snapshot.query(new CourseCatalogFilter(), 5, 2).getContent().isEmpty());
+    }
+
+    private static List<Long> ids(CourseCatalogResponse response) {
+        return response.getContent().stream().map(CourseResponse::getId).toList();
+    }
+
+    private static CourseResponse course(Long id, String category, String level, String price, String rating,
+                                         Long instructorId) {
+        return new CourseResponse(id, "Course " + id, category, "8 weeks", "Batch", level,
+                price != null ? new BigDecimal(price) : null, "Instructor", instructorId, null,
+                new BigDecimal(rating), 0, 0);
+    }
+}
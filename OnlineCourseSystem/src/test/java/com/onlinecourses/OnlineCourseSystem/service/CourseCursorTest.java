@@ -0,0 +1,86 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.entity.Course;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CourseCursorTest {
+
+    @Test
+    void roundTripsEverySortField() {
+        Course course = course(42L, new BigDecimal("19.99"));
+        course.setAverageRating(new BigDecimal("4.25"));
+        course.setCreatedAt(LocalDateTime.of(2026, 3, 1, 12, 30, 15, 123456000));
+
+        assertRoundTrip(course, "price", Sort.Direction.DESC, new BigDecimal("19.99"));
+        assertRoundTrip(course, "averageRating", Sort.Direction.ASC, new BigDecimal("4.25"));
+        assertRoundTrip(course, "createdAt", Sort.Direction.DESC, LocalDateTime.of(2026, 3, 1, 12, 30, 15, 123456000));
+        assertRoundTrip(course, "id", Sort.Direction.ASC, 42L);
+    }
+
+    @Test
+    void missingPriceIsStoredAndPagedAsZero() {
+        Course course = course(7L, null);
+
+        assertRoundTrip(course, "price", Sort.Direction.ASC, BigDecimal.ZERO);
+    }
+
+    @Test
+    void sortAlwaysBreaksTiesOnId() {
+        assertEquals(Sort.by(Sort.Direction.DESC, "price").and(Sort.by(Sort.Direction.DESC, "id")),
+                CourseCursor.parseSort("price,desc"));
+        assertEquals(Sort.by(Sort.Direction.ASC, "id"), CourseCursor.parseSort(null));
+        assertThrows(IllegalArgumentException.class, () -> CourseCursor.parseSort("title,asc"));
+    }
+
+    @Test
+    void rejectsTamperedCursors() {
+        String valid = CourseCursor.after(course(42L, BigDecimal.TEN), CourseCursor.parseSort("price")).encode();
+
+        assertInvalid(valid.substring(0, valid.length() - 3) + "!!!");
+        assertInvalid("not a cursor");
+        assertInvalid(encode("title,ASC,x,42"));
+        assertInvalid(encode("price,SIDEWAYS,10,42"));
+        assertInvalid(encode("price,ASC,ten,42"));
+        assertInvalid(encode("price,ASC,,42"));
+        assertInvalid(encode("price,ASC,10,"));
+        assertInvalid(encode("price,ASC,10,42,43"));
+        assertInvalid(encode("createdAt,ASC,yesterday,42"));
+    }
+
+    private static void assertRoundTrip(Course course, String field, Sort.Direction direction, Object expectedValue) {
+        Sort sort = CourseCursor.toSort(field, direction);
+        CourseCursor decoded = CourseCursor.decode(CourseCursor.after(course, sort).encode());
+
+        assertEquals(field, decoded.getField());
+        assertEquals(direction, decoded.getDirection());
+        assertEquals(sort, decoded.toSort());
+        Map<String, Object> keys = ((KeysetScrollPosition) decoded.toScrollPosition()).getKeys();
+        assertEquals(expectedValue, keys.get(field));
+        assertEquals(course.getId(), keys.get("id"));
+    }
+
+    private static void assertInvalid(String token) {
+        assertThrows(IllegalArgumentException.class, () -> CourseCursor.decode(token));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Course course(Long id, BigDecimal price) {
+        Course course = new Course("Course " + id, "Category", "8 weeks", "Batch", "Beginner", price, null);
+        course.setId(id);
+        return course;
+    }
+}
@@ -0,0 +1,114 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.onlinecourses.OnlineCourseSystem.dto.CourseResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseSearchIndexTest {
+
+    private CourseSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CourseSearchIndex();
+        index.replaceAll(List.of(
+                course(1L, "Introduction to Java", "Programming", "Beginner", "Grace Hopper", 10),
+                course(2L, "Advanced Java Concurrency", "Programming", "Advanced", "Brian Goetz", 50),
+                course(3L, "Watercolour Basics", "Art", "Beginner", "Java Smith", 5),
+                course(4L, "Café Photography", "Art", "Intermediate", "Ansel Adams", 20),
+                course(5L, "Statistics for Data Science", "Data", "Intermediate", "Florence Nightingale", 30)));
+    }
+
+    @Test
+    void tokenizeLowerCasesFoldsAccentsAndSplitsOnPunctuation() {
+        assertEquals(List.of("intro", "a", "java", "21"), CourseSearchIndex.tokenize("Intro à Java-21"));
+        assertEquals(List.of("cafe", "creme"), CourseSearchIndex.tokenize("  CAFÉ,  crème!! "));
+        assertEquals(List.of(), CourseSearchIndex.tokenize("  -- "));
+        assertEquals(List.of(), CourseSearchIndex.tokenize(null));
+    }
+
+    @Test
+    void trigramsArePaddedAtWordEdges() {
+        assertEquals(Set.of("$ja", "jav", "ava", "va$"), CourseSearchIndex.trigramsOf("java"));
+        assertEquals(Set.of("$a$"), CourseSearchIndex.trigramsOf("a"));
+    }
+
+    @Test
+    void editDistanceCountsEditsAndStopsPastTheLimit() {
+        assertEquals(0, CourseSearchIndex.editDistance("java", "java", 2));
+        assertEquals(1, CourseSearchIndex.editDistance("jva", "java", 2));
+        assertEquals(1, CourseSearchIndex.editDistance("javas", "java", 2));
+        assertEquals(1, CourseSearchIndex.editDistance("statistcs", "statistics", 2));
+        // A swap is two edits
+        assertEquals(2, CourseSearchIndex.editDistance("jaav", "java", 2));
+        assertEquals(2, CourseSearchIndex.editDistance("", "ab", 2));
+        // Anything beyond maxDistance reports maxDistance + 1
+        assertEquals(2, CourseSearchIndex.editDistance("python", "java", 1));
+    }
+
+    @Test
+    void titleMatchesRankAboveInstructorMatchesAndTiesGoToTheMorePopularCourse() {
+        // "java" is in two titles (50 and 10 enrolled) and one instructor name
+        assertEquals(List.of(2L, 1L, 3L), ids(index.search("java", 10)));
+        assertEquals(List.of(2L, 1L), ids(index.search("java", 2)));
+    }
+
+    @Test
+    void everyQueryTokenMustMatch() {
+        assertEquals(List.of(1L, 3L), ids(index.search("java beginner", 10)));
+        assertEquals(List.of(), ids(index.search("java photography", 10)));
+    }
+
+    @Test
+    void prefixesMatchWordStarts() {
+        assertEquals(List.of(2L), ids(index.search("concur", 10)));
+        assertEquals(List.of(5L), ids(index.search("stat sci", 10)));
+        assertEquals(List.of(2L, 1L, 3L), ids(index.search("jav", 10)));
+    }
+
+    @Test
+    void exactMatchesRankAbovePrefixMatches() {
+        index.replaceAll(List.of(
+                course(1L, "Java Streams", "Programming", "Beginner", "A", 0),
+                course(2L, "Javascript Essentials", "Programming", "Beginner", "B", 100)));
+        assertEquals(List.of(1L, 2L), ids(index.search("java", 10)));
+    }
+
+    @Test
+    void typosAreToleratedByLength() {
+        // One edit allowed from four letters, two from eight
+        assertEquals(List.of(4L), ids(index.search("fotography", 10)));
+        assertEquals(List.of(5L), ids(index.search("statistcs", 10)));
+        assertEquals(List.of(2L), ids(index.search("advanved", 10)));
+        assertEquals(List.of(), ids(index.search("jvaa", 10)));
+        // Too short for fuzzy matching
+        assertEquals(List.of(), ids(index.search("jva", 10)));
+        assertEquals(List.of(4L), ids(index.search("cafe", 10)));
+    }
+
+    @Test
+    void replacingTheIndexDropsRemovedCourses() {
+        index.replaceAll(List.of(course(9L, "Java Again", "Programming", "Beginner", "X", 0)));
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(9L), ids(index.search("java", 10)));
+        assertTrue(index.search("watercolour", 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<CourseResponse> courses) {
+        return courses.stream().map(CourseResponse::getId).toList();
+    }
+
+    private static CourseResponse course(Long id, String title, String category, String level, String instructor,
+                                         int enrolled) {
+        return new CourseResponse(id, title, category, "8 weeks", "Batch", level, BigDecimal.TEN, instructor, 100L + id,
+                null, BigDecimal.ZERO, 0, enrolled);
+    }
+}
@@ -0,0 +1,55 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class FileResponsesTest {
+
+    private static final long LENGTH = 1000;
+
+    @Test
+    void closedRangeIsClampedToTheFile() {
+        assertArrayEquals(new long[] {0, 99}, FileResponses.parseRange("bytes=0-99", LENGTH));
+        assertArrayEquals(new long[] {500, 999}, FileResponses.parseRange("bytes=500-5000", LENGTH));
+        assertArrayEquals(new long[] {999, 999}, FileResponses.parseRange(" BYTES=999-999 ", LENGTH));
+    }
+
+    @Test
+    void openEndedRangeRunsToTheLastByte() {
+        assertArrayEquals(new long[] {100, 999}, FileResponses.parseRange("bytes=100-", LENGTH));
+        assertArrayEquals(new long[] {0, 999}, FileResponses.parseRange("bytes=0-", LENGTH));
+    }
+
+    @Test
+    void suffixRangeIsTheLastNBytes() {
+        assertArrayEquals(new long[] {900, 999}, FileResponses.parseRange("bytes=-100", LENGTH));
+        // A suffix longer than the file is the whole file
+        assertArrayEquals(new long[] {0, 999}, FileResponses.parseRange("bytes=-5000", LENGTH));
+    }
+
+    @Test
+    void rangesOutsideTheFileAreUnsatisfiable() {
+        assertSame(FileResponses.UNSATISFIABLE, FileResponses.parseRange("bytes=1000-", LENGTH));
+        assertSame(FileResponses.UNSATISFIABLE, FileResponses.parseRange("bytes=2000-3000", LENGTH));
+        assertSame(FileResponses.UNSATISFIABLE, FileResponses.parseRange("bytes=-0", LENGTH));
+        assertSame(FileResponses.UNSATISFIABLE, FileResponses.parseRange("bytes=-10", 0));
+    }
+
+    @Test
+    void multipleRangesAreIgnored() {
+        assertNull(FileResponses.parseRange("bytes=0-99,200-299", LENGTH));
+        assertNull(FileResponses.parseRange("bytes=0-99, -100", LENGTH));
+    }
+
+    @Test
+    void malformedRangesAreIgnored() {
+        assertNull(FileResponses.parseRange("items=0-99", LENGTH));
+        assertNull(FileResponses.parseRange("bytes=100", LENGTH));
+        assertNull(FileResponses.parseRange("bytes=abc-def", LENGTH));
+        assertNull(FileResponses.parseRange("bytes=99-0", LENGTH));
+        assertNull(FileResponses.parseRange("bytes=-", LENGTH));
+    }
+}
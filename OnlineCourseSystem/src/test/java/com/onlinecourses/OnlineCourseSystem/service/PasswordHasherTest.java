@@ -0,0 +1,119 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        hasher.shutdown();
+    }
+
+    @Test
+    void hashesMatchOnlyTheirPassword() {
+        hasher = hasher(4, Duration.ofSeconds(5));
+        String hash = hasher.hash("s3cret!");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(hasher.matches("s3cret!", hash));
+        assertFalse(hasher.matches("s3cret", hash));
+    }
+
+    @Test
+    void unknownUserCostsOneHashOnThePool() {
+        hasher = hasher(4, Duration.ofSeconds(5));
+        long before = executor().getTaskCount();
+
+        assertFalse(hasher.matches("s3cret!", null));
+        assertEquals(before + 1, executor().getTaskCount());
+    }
+
+    @Test
+    void plainTextIsNeverAccepted() {
+        hasher = hasher(4, Duration.ofSeconds(5));
+        long before = executor().getTaskCount();
+
+        assertFalse(hasher.matches("s3cret!", "s3cret!"));
+        // Same work as a wrong password, so the answer takes as long
+        assertEquals(before + 1, executor().getTaskCount());
+    }
+
+    @Test
+    void hashesBelowTheConfiguredStrengthNeedRehash() {
+        hasher = hasher(5, Duration.ofSeconds(5));
+
+        assertTrue(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("s3cret!")));
+        assertFalse(hasher.needsRehash(new BCryptPasswordEncoder(5).encode("s3cret!")));
+        assertFalse(hasher.needsRehash(new BCryptPasswordEncoder(6).encode("s3cret!")));
+    }
+
+    @Test
+    void fullPoolAndQueueAreRefusedStraightAway() {
+        hasher = hasher(4, Duration.ofSeconds(30));
+        occupy(2);  // one running, one queued
+
+        long started = System.nanoTime();
+        PasswordHashingBusyException e = assertThrows(PasswordHashingBusyException.class, () -> hasher.hash("s3cret!"));
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toSeconds() < 5);
+        assertEquals(Duration.ofSeconds(3), e.getRetryAfter());
+        assertEquals(1.0, meterRegistry.counter("app.security.password.hashing.rejected").count());
+    }
+
+    @Test
+    void waitLongerThanMaxWaitIsRefused() {
+        hasher = hasher(4, Duration.ofMillis(100));
+        occupy(1);  // the only thread is busy; the hash waits in the queue
+
+        assertThrows(PasswordHashingBusyException.class, () -> hasher.matches("s3cret!", null));
+        assertEquals(1.0, meterRegistry.counter("app.security.password.hashing.rejected").count());
+        // The abandoned hash doesn't hold its queue slot
+        assertEquals(0, executor().getQueue().size());
+    }
+
+    private PasswordHasher hasher(int strength, Duration maxWait) {
+        PasswordHasher hasher = new PasswordHasher();
+        ReflectionTestUtils.setField(hasher, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(hasher, "strength", strength);
+        ReflectionTestUtils.setField(hasher, "threads", 1);
+        ReflectionTestUtils.setField(hasher, "queueCapacity", 1);
+        ReflectionTestUtils.setField(hasher, "maxWait", maxWait);
+        ReflectionTestUtils.setField(hasher, "retryAfter", Duration.ofSeconds(3));
+        hasher.init();
+        return hasher;
+    }
+
+    // Tasks that hold the pool until the test ends
+    private void occupy(int tasks) {
+        for (int i = 0; i < tasks; i++) {
+            executor().execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+    }
+
+    private ThreadPoolExecutor executor() {
+        return (ThreadPoolExecutor) ReflectionTestUtils.getField(hasher, "executor");
+    }
+}
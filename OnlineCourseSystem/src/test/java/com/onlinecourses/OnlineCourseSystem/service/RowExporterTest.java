@@ -0,0 +1,106 @@
+package com.onlinecourses.OnlineCourseSystem.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowExporterTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final RowExporter<List<Object>> exporter = new RowExporter<List<Object>>()
+            .column("id", row -> row.get(0))
+            .column("value", row -> row.get(1));
+
+    @Test
+    void csvHasAHeaderAndCrlfRows() throws IOException {
+        assertEquals("id,value\r\n1,plain\r\n2,42\r\n", csv(row(1, "plain"), row(2, 42)));
+        assertEquals("id,value\r\n", csv());
+    }
+
+    @Test
+    void csvQuotesCommasQuotesAndLineBreaks() throws IOException {
+        assertEquals("id,value\r\n"
+                        + "1,\"a,b\"\r\n"
+                        + "2,\"say \"\"hi\"\"\"\r\n"
+                        + "3,\"two\nlines\"\r\n"
+                        + "4,\"two\r\nlines\"\r\n",
+                csv(row(1, "a,b"), row(2, "say \"hi\""), row(3, "two\nlines"), row(4, "two\r\nlines")));
+    }
+
+    @Test
+    void csvNullCellsAreEmpty() throws IOException {
+        assertEquals("id,value\r\n1,\r\n,x\r\n", csv(row(1, null), row(null, "x")));
+    }
+
+    @Test
+    void csvNeutralisesFormulaPrefixes() throws IOException {
+        assertEquals("id,value\r\n"
+                        + "1,'=SUM(A1:A9)\r\n"
+                        + "2,'+1\r\n"
+                        + "3,'-1+2\r\n"
+                        + "4,'@cmd\r\n"
+                        + "5,'\t=1\r\n"
+                        + "6,\"'\r=1\"\r\n"
+                        + "7,\"'=HYPERLINK(\"\"x\"\",\"\"y\"\")\"\r\n",
+                csv(row(1, "=SUM(A1:A9)"), row(2, "+1"), row(3, "-1+2"), row(4, "@cmd"), row(5, "\t=1"),
+                        row(6, "\r=1"), row(7, "=HYPERLINK(\"x\",\"y\")")));
+    }
+
+    @Test
+    void csvLeavesNegativeNumbersAlone() throws IOException {
+        assertEquals("id,value\r\n1,-5\r\n2,-0.5\r\n", csv(row(1, -5), row(2, new BigDecimal("-0.5"))));
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        String ndjson = write(ExportFormat.NDJSON, row(1, "a,b"), row(2, "two\nlines"), row(3, null));
+
+        assertTrue(ndjson.endsWith("\n"));
+        String[] lines = ndjson.split("\n", -1);
+        assertEquals(4, lines.length);
+        assertEquals("", lines[3]);
+        JsonNode first = OBJECT_MAPPER.readTree(lines[0]);
+        assertEquals(1, first.get("id").asInt());
+        assertEquals("a,b", first.get("value").asText());
+        // An embedded newline is escaped, so it can't split a record
+        assertEquals("two\nlines", OBJECT_MAPPER.readTree(lines[1]).get("value").asText());
+        assertTrue(OBJECT_MAPPER.readTree(lines[2]).get("value").isNull());
+        // Formula neutralisation is a CSV concern only
+        assertEquals("{\"id\":4,\"value\":\"=1\"}\n", write(ExportFormat.NDJSON, row(4, "=1")));
+    }
+
+    @Test
+    void writeReturnsTheRowCount() throws IOException {
+        assertEquals(3, exporter.write(Stream.of(row(1, "a"), row(2, "b"), row(3, "c")), ExportFormat.CSV,
+                new ByteArrayOutputStream(), OBJECT_MAPPER));
+        assertEquals(2, exporter.write(Stream.of(row(1, "a"), row(2, "b")), ExportFormat.NDJSON,
+                new ByteArrayOutputStream(), OBJECT_MAPPER));
+    }
+
+    private String csv(List<?>... rows) throws IOException {
+        return write(ExportFormat.CSV, rows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String write(ExportFormat format, List<?>... rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.write(Arrays.stream(rows).map(row -> (List<Object>) row), format, out, OBJECT_MAPPER);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static List<Object> row(Object id, Object value) {
+        return Arrays.asList(id, value);
+    }
+}
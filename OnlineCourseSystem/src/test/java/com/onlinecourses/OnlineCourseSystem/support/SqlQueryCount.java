@@ -0,0 +1,37 @@
+package com.onlinecourses.OnlineCourseSystem.support;
+
+import com.onlinecourses.OnlineCourseSystem.config.SqlStatementCounter;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Test helper: counts the SQL statements Hibernate runs inside a block, using the same
+// StatementInspector as the per-request budget guard.
+//
+//   int statements = SqlQueryCount.count(() -> courseService.getAllCourses());
+//   SqlQueryCount.assertAtMost(1, () -> enrollmentService.getStudentEnrollments(studentId));
+public final class SqlQueryCount {
+
+    private SqlQueryCount() {}
+
+    public static int count(Runnable block) {
+        SqlStatementCounter.begin();
+        try {
+            block.run();
+            return SqlStatementCounter.current();
+        } finally {
+            SqlStatementCounter.end();
+        }
+    }
+
+    public static <T> T assertAtMost(int maxStatements, Supplier<T> block) {
+        Object[] result = new Object[1];
+        int statements = count(() -> result[0] = block.get());
+        assertTrue(statements <= maxStatements,
+                "Expected at most " + maxStatements + " SQL statements but " + statements + " were executed");
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+}